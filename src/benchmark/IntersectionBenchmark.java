@@ -0,0 +1,175 @@
+package benchmark;
+
+import geometries.*;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This program benchmarks the intersection kernels of the basic geometries: {@link Intersectable#findGeoIntersections(
+ * Ray, double)} of a sphere, plane, triangle, polygon, tube and cylinder, with rays which hit, miss or graze the
+ * geometry and with maximum distances beyond the geometry (no limit, and a far limit) and before it. Every kernel is
+ * reported in nanoseconds and allocated bytes per operation, so optimizations of the kernels are backed by numbers.
+ * <p>
+ * Usage: {@code java benchmark.IntersectionBenchmark [geometry names...]}, e.g. {@code Sphere Triangle} to run only
+ * these geometries. The harness is set by the system properties "benchmark.warmup" and "benchmark.iterations"
+ * (amounts of iterations) and "benchmark.time" (milliseconds per iteration). See {@link Microbenchmark} for what the
+ * harness doesn't measure
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class IntersectionBenchmark {
+    /**
+     * Kinds of ray distributions
+     */
+    enum Rays {
+        /** Rays which hit the geometry */
+        HIT,
+        /** Rays which miss the geometry, passing around it */
+        MISS,
+        /** Rays which pass along the silhouette or edges of the geometry, on either side of it */
+        GRAZING
+    }
+
+    /**
+     * Amount of rays of a distribution - a power of 2, so a ray is picked by a mask
+     */
+    private static final int RAYS_COUNT = 1 << 10;
+
+    /**
+     * Distance of the rays' start points from the center of the geometries
+     */
+    private static final double RAYS_DISTANCE = 10;
+
+    /**
+     * Maximum distances of the benchmarks: no limit, beyond the geometries, and before them
+     */
+    private static final double[] MAX_DISTANCES = { Double.POSITIVE_INFINITY, 2 * RAYS_DISTANCE, RAYS_DISTANCE / 2 };
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private IntersectionBenchmark() {}
+
+    /**
+     * Creates the benchmarked geometries, all of about a unit size around the origin
+     *
+     * @return the geometries by name
+     */
+    static Map<String, Intersectable> geometries() {
+        Map<String, Intersectable> geometries = new LinkedHashMap<>();
+        geometries.put("Sphere", new Sphere(new Point(0, 0, 0), 1));
+        geometries.put("Plane", new Plane(new Point(0, 0, 0), new Vector(0, 0, 1)));
+        geometries.put("Triangle", new Triangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(0, 1, 0)));
+        Point[] hexagon = new Point[6];
+        for (int i = 0; i < hexagon.length; i++)
+            hexagon[i] = new Point(Math.cos(i * Math.PI / 3), Math.sin(i * Math.PI / 3), 0);
+        geometries.put("Polygon", new Polygon(hexagon));
+        geometries.put("Tube", new Tube(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1));
+        geometries.put("Cylinder", new Cylinder(2, new Ray(new Point(0, 0, -1), new Vector(0, 0, 1)), 1));
+        return geometries;
+    }
+
+    /**
+     * Creates rays of a distribution for a geometry. Rays start at random points around the geometry and are aimed at
+     * random points near it, and are sorted by whether they hit it. Grazing rays are found by bisection between a
+     * hitting and a missing ray from the same start point, so they cross the boundary of the geometry's silhouette
+     *
+     * @param geometry geometry
+     * @param distribution kind of the rays
+     * @param random random numbers generator
+     * @return the rays
+     */
+    static Ray[] rays(Intersectable geometry, Rays distribution, Random random) {
+        List<Ray> rays = new ArrayList<>(RAYS_COUNT);
+        while (rays.size() < RAYS_COUNT) {
+            Point start = randomPoint(random, RAYS_DISTANCE, RAYS_DISTANCE);
+            Vector first = randomPoint(random, 0, 2).subtract(start);
+            boolean hit = hits(geometry, new Ray(start, first));
+            if (distribution != Rays.GRAZING) {
+                if (hit == (distribution == Rays.HIT))
+                    rays.add(new Ray(start, first));
+                continue;
+            }
+
+            // Find a ray of the other kind from the same start point, and bisect between the two directions
+            Vector second = randomPoint(random, 0, 2).subtract(start);
+            if (hits(geometry, new Ray(start, second)) == hit)
+                continue;
+            Vector hitting = hit ? first.normalize() : second.normalize();
+            Vector missing = hit ? second.normalize() : first.normalize();
+            for (int k = 0; k < 50; k++) {
+                Vector middle = hitting.add(missing).normalize();
+                if (hits(geometry, new Ray(start, middle)))
+                    hitting = middle;
+                else
+                    missing = middle;
+            }
+            rays.add(new Ray(start, rays.size() % 2 == 0 ? hitting : missing));
+        }
+        return rays.toArray(new Ray[0]);
+    }
+
+    /**
+     * Creates a random point in a spherical shell around the origin
+     *
+     * @param random random numbers generator
+     * @param minRadius minimal distance from the origin
+     * @param maxRadius maximal distance from the origin
+     * @return the point
+     */
+    private static Point randomPoint(Random random, double minRadius, double maxRadius) {
+        double z = 2 * random.nextDouble() - 1;
+        double angle = 2 * Math.PI * random.nextDouble();
+        double r = Math.sqrt(1 - z * z);
+        double distance = minRadius + (maxRadius - minRadius) * random.nextDouble();
+        return new Point(distance * r * Math.cos(angle), distance * r * Math.sin(angle), distance * z);
+    }
+
+    /**
+     * Checks whether a ray hits a geometry
+     *
+     * @param geometry geometry
+     * @param ray ray
+     * @return true if the ray hits the geometry
+     */
+    private static boolean hits(Intersectable geometry, Ray ray) {
+        return geometry.findGeoIntersections(ray) != null;
+    }
+
+    /**
+     * Runs the benchmarks
+     *
+     * @param args names of the geometries to benchmark (all if none is given)
+     */
+    public static void main(String[] args) {
+        Microbenchmark harness = new Microbenchmark()
+                .setWarmupIterations(Integer.getInteger("benchmark.warmup", 3))
+                .setMeasurementIterations(Integer.getInteger("benchmark.iterations", 5))
+                .setIterationTime(Long.getLong("benchmark.time", 200));
+        List<String> selected = List.of(args);
+
+        Random random = new Random(1);
+        for (Map.Entry<String, Intersectable> entry : geometries().entrySet()) {
+            if (!selected.isEmpty() && !selected.contains(entry.getKey()))
+                continue;
+
+            Intersectable geometry = entry.getValue();
+            for (Rays distribution : Rays.values()) {
+                Ray[] rays = rays(geometry, distribution, random);
+                for (double maxDistance : MAX_DISTANCES) {
+                    String name = String.format("%s %s max=%s", entry.getKey(), distribution,
+                            Double.isInfinite(maxDistance) ? "inf" : String.valueOf((int) maxDistance));
+                    System.out.println(harness.run(name,
+                            i -> geometry.findGeoIntersections(rays[i & (RAYS_COUNT - 1)], maxDistance)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * This class is a small microbenchmark harness. An operation is run in timed iterations on the current thread: warmup
+ * iterations first, so the JIT compiler optimizes it, then measured iterations, each reporting the average time of an
+ * operation. The results of the operations are consumed, so the compiler can't drop them as unused, and the bytes
+ * allocated by the thread during the measurement are reported per operation.
+ * <p>
+ * The harness stands in for JMH, which the project can't depend on, and is weaker than it: the benchmarks run in
+ * the JVM of the caller rather than in forked JVMs, so profiles of earlier benchmarks leak into later ones; results
+ * are only stored in a field, so there is no guarantee against dead code elimination of work which doesn't reach the
+ * result; and there is no GC profiler - only the allocation of the measuring thread, with no collection counts or
+ * times. Compare results of the same run, or of runs of a single benchmark
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class Microbenchmark {
+    /**
+     * A measured operation
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the operation once
+         *
+         * @param invocation number of the invocation, e.g. to pick the input of the operation
+         * @return the result of the operation, which is consumed
+         */
+        Object run(int invocation);
+    }
+
+    /**
+     * Result of a benchmark
+     */
+    public static class Result {
+        private final String name;
+        private final double nsPerOp;
+        private final double error;
+        private final double bytesPerOp;
+        private final long operations;
+
+        /**
+         * Constructor to initialize a result
+         *
+         * @param name name of the benchmark
+         * @param nsPerOp average time of an operation in nanoseconds
+         * @param error standard deviation of the iterations' averages in nanoseconds
+         * @param bytesPerOp average bytes allocated by an operation, or NaN if unknown
+         * @param operations amount of measured operations
+         */
+        Result(String name, double nsPerOp, double error, double bytesPerOp, long operations) {
+            this.name = name;
+            this.nsPerOp = nsPerOp;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+            this.operations = operations;
+        }
+
+        /**
+         * Gets the name of the benchmark
+         *
+         * @return name of the benchmark
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Gets the average time of an operation
+         *
+         * @return average time in nanoseconds
+         */
+        public double getNsPerOp() {
+            return this.nsPerOp;
+        }
+
+        /**
+         * Gets the standard deviation of the average time between the measured iterations
+         *
+         * @return standard deviation in nanoseconds
+         */
+        public double getError() {
+            return this.error;
+        }
+
+        /**
+         * Gets the average amount of bytes allocated by an operation
+         *
+         * @return bytes per operation, or NaN if the JVM does not measure allocations
+         */
+        public double getBytesPerOp() {
+            return this.bytesPerOp;
+        }
+
+        /**
+         * Gets the amount of measured operations
+         *
+         * @return amount of operations
+         */
+        public long getOperations() {
+            return this.operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %10.2f +- %7.2f ns/op %10.1f B/op",
+                    this.name, this.nsPerOp, this.error, this.bytesPerOp);
+        }
+    }
+
+    /**
+     * Amount of operations between two checks of the clock
+     */
+    private static final int BATCH_SIZE = 256;
+
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private long iterationTime = 200;
+    // Every result is stored here (a black hole), so the compiler can neither drop the results nor avoid allocating
+    // them. The store costs less than a nanosecond, which is part of every measured operation
+    private Object sink = null;
+
+    /**
+     * Sets the amount of warmup iterations
+     *
+     * @param iterations amount of warmup iterations
+     * @return this Microbenchmark object
+     * @throws IllegalArgumentException if the amount is negative
+     */
+    public Microbenchmark setWarmupIterations(int iterations) {
+        if (iterations < 0)
+            throw new IllegalArgumentException("The amount of warmup iterations can't be negative");
+        this.warmupIterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the amount of measured iterations
+     *
+     * @param iterations amount of measured iterations
+     * @return this Microbenchmark object
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public Microbenchmark setMeasurementIterations(int iterations) {
+        if (iterations <= 0)
+            throw new IllegalArgumentException("The amount of measured iterations must be positive");
+        this.measurementIterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the minimal duration of an iteration
+     *
+     * @param millis duration in milliseconds
+     * @return this Microbenchmark object
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public Microbenchmark setIterationTime(long millis) {
+        if (millis <= 0)
+            throw new IllegalArgumentException("The iteration time must be positive");
+        this.iterationTime = millis;
+        return this;
+    }
+
+    /**
+     * Runs a benchmark of an operation
+     *
+     * @param name name of the benchmark
+     * @param operation operation
+     * @return the result
+     */
+    public Result run(String name, Operation operation) {
+        for (int i = 0; i < this.warmupIterations; i++)
+            iterate(operation, new long[1]);
+
+        long allocatedBefore = allocatedBytes();
+        double[] averages = new double[this.measurementIterations];
+        long totalOperations = 0;
+        double totalTime = 0;
+        for (int i = 0; i < this.measurementIterations; i++) {
+            long[] operations = new long[1];
+            long time = iterate(operation, operations);
+            averages[i] = (double) time / operations[0];
+            totalOperations += operations[0];
+            totalTime += time;
+        }
+        long allocatedAfter = allocatedBytes();
+
+        double mean = totalTime / totalOperations;
+        double variance = 0;
+        for (double average : averages)
+            variance += (average - mean) * (average - mean);
+        double error = averages.length > 1 ? Math.sqrt(variance / (averages.length - 1)) : 0;
+        double bytesPerOp = allocatedBefore < 0 || allocatedAfter < 0 ? Double.NaN
+                : (double) (allocatedAfter - allocatedBefore) / totalOperations;
+        return new Result(name, mean, error, bytesPerOp, totalOperations);
+    }
+
+    /**
+     * Runs an operation in batches for the iteration time
+     *
+     * @param operation operation
+     * @param operations array to write the amount of operations run into
+     * @return duration of the iteration in nanoseconds
+     */
+    private long iterate(Operation operation, long[] operations) {
+        int invocation = 0;
+        long start = System.nanoTime();
+        long end = start + this.iterationTime * 1_000_000;
+        long now;
+        do {
+            for (int k = 0; k < BATCH_SIZE; k++)
+                this.sink = operation.run(invocation++);
+            now = System.nanoTime();
+        } while (now < end);
+
+        operations[0] = invocation;
+        return now - start;
+    }
+
+    /**
+     * Gets the amount of bytes the current thread allocated so far
+     *
+     * @return allocated bytes, or -1 if the JVM does not measure allocations
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        return -1;
+    }
+}
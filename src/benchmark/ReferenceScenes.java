@@ -0,0 +1,241 @@
+package benchmark;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.SpotLight;
+import primitives.*;
+import renderer.Camera;
+import scene.Scene;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.awt.Color.*;
+
+/**
+ * This class defines the reference scenes of the render benchmark: the scenes rendered by the unit tests (the damka
+ * board of MiniProject1Test, and the scenes of ReflectionRefractionTests), defined again here since the benchmark
+ * can't depend on the tests. A scene is defined by its builder, its acceleration and its camera; the resolution and
+ * anti aliasing of the render are set by the benchmark
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class ReferenceScenes {
+    /**
+     * A reference scene
+     */
+    public static class ReferenceScene {
+        private final String name;
+        private final Supplier<Scene> builder;
+        private final Geometries.Acceleration acceleration;
+        private final Supplier<Camera> camera;
+
+        /**
+         * Constructor to initialize a reference scene
+         *
+         * @param name name of the scene
+         * @param builder builder of the scene, without its acceleration
+         * @param acceleration acceleration of the scene's geometries
+         * @param camera builder of the camera, without its image writer and ray tracer
+         */
+        ReferenceScene(String name, Supplier<Scene> builder, Geometries.Acceleration acceleration,
+                       Supplier<Camera> camera) {
+            this.name = name;
+            this.builder = builder;
+            this.acceleration = acceleration;
+            this.camera = camera;
+        }
+
+        /**
+         * Gets the name of the scene
+         *
+         * @return name of the scene
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Builds a new instance of the scene, without its acceleration
+         *
+         * @return the scene
+         */
+        public Scene buildScene() {
+            return this.builder.get();
+        }
+
+        /**
+         * Gets the acceleration of the scene's geometries, to be set after the scene is built
+         *
+         * @return kind of the spatial index
+         */
+        public Geometries.Acceleration getAcceleration() {
+            return this.acceleration;
+        }
+
+        /**
+         * Builds the camera of the scene, without its image writer and ray tracer
+         *
+         * @return the camera
+         */
+        public Camera buildCamera() {
+            return this.camera.get();
+        }
+    }
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private ReferenceScenes() {}
+
+    /**
+     * Creates the reference scenes
+     *
+     * @return the scenes by name, in the order they are benchmarked
+     */
+    public static Map<String, ReferenceScene> scenes() {
+        Map<String, ReferenceScene> scenes = new LinkedHashMap<>();
+        add(scenes, new ReferenceScene("damka", ReferenceScenes::damka, Geometries.Acceleration.GRID,
+                () -> new Camera(new Point(-2, -6, 5), new Vector(2, 6, -5), new Vector(2, 6, 8))
+                        .setVPSize(600, 600).setVPDistance(300)));
+        add(scenes, new ReferenceScene("customReflectionShadow1", ReferenceScenes::reflectionShadow,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(0, 0, 10), new Vector(8.5, 0, -9), new Vector(9, 0, 8.5))
+                        .setVPSize(200, 200).setVPDistance(300).rotateX(10)));
+        add(scenes, new ReferenceScene("customReflectionShadow2", ReferenceScenes::reflectionShadow,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(1, -6, 10), new Vector(7.5, 6, -9), new Vector(9, 0, 7.5))
+                        .setVPSize(200, 200).setVPDistance(300)));
+        add(scenes, new ReferenceScene("customReflectionShadow3", ReferenceScenes::reflectionShadow,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(8, -8, 10), new Vector(0.5, 8, -9), new Vector(0, 9, 8))
+                        .setVPSize(200, 200).setVPDistance(300)));
+        add(scenes, new ReferenceScene("customReflectionShadow4", ReferenceScenes::reflectionShadow,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(6, 10, 8), new Vector(2.5, -10, -7),
+                        new Vector(2.5, -10, 15.178571428571429))
+                        .setVPSize(200, 200).setVPDistance(300)));
+        add(scenes, new ReferenceScene("customReflectionShadow5", ReferenceScenes::reflectionShadow,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(0, 6, 5), new Vector(8.5, -6, -4), new Vector(8.5, -6, 27.0625))
+                        .setVPSize(200, 200).setVPDistance(300).rotateX(-3).rotateY(-7.5).rotateZ(-5)));
+        add(scenes, new ReferenceScene("refractionTwoSpheres", ReferenceScenes::twoSpheres,
+                Geometries.Acceleration.NONE,
+                () -> new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                        .setVPSize(150, 150).setVPDistance(1000)));
+        return scenes;
+    }
+
+    /**
+     * Adds a scene to the scenes by its name
+     *
+     * @param scenes scenes by name
+     * @param scene scene
+     */
+    private static void add(Map<String, ReferenceScene> scenes, ReferenceScene scene) {
+        scenes.put(scene.getName(), scene);
+    }
+
+    /**
+     * Builds the damka board: 64 slots, each an instance of one of two shared boxes, and 24 soldiers, each an
+     * instance of one of two shared spheres
+     *
+     * @return the scene
+     */
+    private static Scene damka() {
+        Scene scene = new Scene("damka");
+
+        Geometries slots = new Geometries();
+        Geometries whiteSlot = boardSlot(new Color(WHITE));
+        Geometries blackSlot = boardSlot(Color.BLACK);
+        for (int y = 0; y < 8; y++)
+            for (int x = 0; x < 8; x++)
+                slots.add(new Instance((x + y) % 2 != 0 ? whiteSlot : blackSlot,
+                        Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1))));
+
+        Geometries soldiers = new Geometries();
+        Material soldierMaterial = new Material().setKd(0.2).setKs(0.5).setShininess(60);
+        Geometry whiteSoldier = new Sphere(new Point(0, 0, 0), 0.25)
+                .setEmission(new Color(247, 241, 227)).setMaterial(soldierMaterial);
+        Geometry redSoldier = new Sphere(new Point(0, 0, 0), 0.25)
+                .setEmission(new Color(RED)).setMaterial(soldierMaterial);
+        for (int y = 0; y < 3; y++)
+            for (int x = y % 2; x < 8; x += 2)
+                soldiers.add(new Instance(whiteSoldier, Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1.25))));
+        for (int y = 7; y >= 5; y--)
+            for (int x = y % 2; x < 8; x += 2)
+                soldiers.add(new Instance(redSoldier, Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1.25))));
+
+        scene.geometries.add(slots, soldiers);
+        scene.lights.add(new SpotLight(new Color(WHITE), new Point(0, 0, 6), new Vector(0, 0, -1)));
+        scene.lights.add(new DirectionalLight(new Color(WHITE), new Vector(-1, -1, 0)));
+        scene.lights.add(new DirectionalLight(new Color(WHITE), new Vector(-1, -1, 0)));
+        return scene.setBackground(new Color(179, 57, 57).reduce(2))
+                .setAmbientLight(new AmbientLight(Color.BLACK, 0.15));
+    }
+
+    /**
+     * Builds a slot of the damka board, centered at the origin
+     *
+     * @param emission color of the slot
+     * @return the slot
+     */
+    private static Geometries boardSlot(Color emission) {
+        return new Box(new Point(0, 0, 0), 1, 1, 0.5, new Vector(0, 0, 1), new Vector(-1, 0, 0), emission,
+                new Material().setShininess(80).setKd(0.05).setKs(0.1)).getBox();
+    }
+
+    /**
+     * Builds the scene of the reflection and shadow test: a pyramid of reflecting and transparent triangles over a
+     * transparent sphere with a sphere inside it
+     *
+     * @return the scene
+     */
+    private static Scene reflectionShadow() {
+        Scene scene = new Scene("customReflectionShadow")
+                .setAmbientLight(new AmbientLight(new Color(WHITE), 0.15))
+                .setBackground(new Color(149, 175, 192));
+
+        Point p1 = new Point(5, -3, 0);
+        Point p2 = new Point(12, -3, 0);
+        Point p3 = new Point(8.5, 3, 0);
+        Point p4 = new Point(8.5, 0, 5.5);
+        scene.geometries.add(
+                new Triangle(p1, p2, p3).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(60)),
+                new Triangle(p1, p2, p4).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.05).setKs(0.5).setKr(0.3).setKt(0.1).setShininess(10)),
+                new Triangle(p1, p3, p4).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.05).setKs(0.5).setKt(0.5).setShininess(10)),
+                new Triangle(p2, p3, p4).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.05).setKs(0.5).setKr(0.3).setShininess(10)),
+                new Sphere(new Point(8.5, 0, 1.1), 1).setEmission(new Color(RED))
+                        .setMaterial(new Material().setKd(0.01).setKs(0.2).setKt(0.35).setShininess(30)),
+                new Sphere(new Point(8.5, 0, 1), 0.25).setEmission(new Color(GREEN))
+                        .setMaterial(new Material().setKd(0.01).setKs(0.2).setShininess(10))
+        );
+        scene.lights.add(new SpotLight(new Color(700, 400, 400), new Point(0, 5, 10), new Vector(8.5, -5, -9))
+                .setKl(0.0001).setKq(0.0001));
+        return scene;
+    }
+
+    /**
+     * Builds the scene of the refraction test: a transparent sphere with a sphere inside it
+     *
+     * @return the scene
+     */
+    private static Scene twoSpheres() {
+        Scene scene = new Scene("refractionTwoSpheres");
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -50), 50d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.4).setKs(0.3).setShininess(100).setKt(0.3)),
+                new Sphere(new Point(0, 0, -50), 25d).setEmission(new Color(RED))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(100))
+        );
+        scene.lights.add(new SpotLight(new Color(1000, 600, 0), new Point(-100, -100, 500), new Vector(-1, -1, -2))
+                .setKl(0.0004).setKq(0.0000006));
+        return scene;
+    }
+}
@@ -0,0 +1,474 @@
+package benchmark;
+
+import benchmark.ReferenceScenes.ReferenceScene;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+import renderer.TracingStatistics;
+import scene.Scene;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This program benchmarks whole renders of the reference scenes ({@link ReferenceScenes}): every scene is built,
+ * accelerated, rendered and written at a given resolution and anti aliasing, and the time of every phase, the rays
+ * traced per second (of all the types), the peak heap usage and the statistics of the tracer are reported. The
+ * rendered image is compared to a stored reference image of the same scene and settings, so optimizations can't
+ * change pixels unnoticed; references are only written with "-record", and a missing reference fails the render.
+ * <p>
+ * Usage: {@code java benchmark.RenderBenchmark [options] [scene names...]}, e.g. {@code -size 600 -aa 4 damka}.
+ * The options are "-size" (width and height of the images in pixels), "-aa" (anti aliasing grid size), "-threads"
+ * (rendering threads), "-runs" (renders of every scene), "-tolerance" (allowed difference of a color component from
+ * the reference), "-references" (directory of the reference images), "-record" (overwrite the reference images) and
+ * "-intersections" (count the intersection tests of the geometries).
+ * The program exits with status 1 if an image differs from its reference or has no reference
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class RenderBenchmark {
+    /**
+     * Result of a render
+     */
+    public static class Result {
+        private final String name;
+        private final long buildTime;
+        private final long accelerationTime;
+        private final long renderTime;
+        private final long writeTime;
+        private final TracingStatistics statistics;
+        private final long peakHeap;
+        private final int differentPixels;
+        private final int maxDifference;
+        private final boolean recorded;
+        private final boolean missing;
+
+        /**
+         * Constructor to initialize a result
+         *
+         * @param name name of the rendered image
+         * @param buildTime time of building the scene in nanoseconds
+         * @param accelerationTime time of building the spatial index of the scene in nanoseconds
+         * @param renderTime time of rendering the image in nanoseconds
+         * @param writeTime time of writing the image file in nanoseconds
+         * @param statistics statistics of the rays traced by the render
+         * @param peakHeap peak heap usage in bytes, or -1 if unknown
+         * @param differentPixels amount of pixels which differ from the reference beyond the tolerance
+         * @param maxDifference maximal difference of a color component from the reference
+         * @param recorded whether the image was recorded as the reference instead of being compared to it
+         * @param missing whether the image has no reference to be compared to
+         */
+        Result(String name, long buildTime, long accelerationTime, long renderTime, long writeTime,
+               TracingStatistics statistics, long peakHeap, int differentPixels, int maxDifference, boolean recorded,
+               boolean missing) {
+            this.name = name;
+            this.buildTime = buildTime;
+            this.accelerationTime = accelerationTime;
+            this.renderTime = renderTime;
+            this.writeTime = writeTime;
+            this.statistics = statistics;
+            this.peakHeap = peakHeap;
+            this.differentPixels = differentPixels;
+            this.maxDifference = maxDifference;
+            this.recorded = recorded;
+            this.missing = missing;
+        }
+
+        /**
+         * Gets the name of the rendered image
+         *
+         * @return name of the image
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Gets the time of building the scene
+         *
+         * @return time in nanoseconds
+         */
+        public long getBuildTime() {
+            return this.buildTime;
+        }
+
+        /**
+         * Gets the time of building the spatial index of the scene
+         *
+         * @return time in nanoseconds
+         */
+        public long getAccelerationTime() {
+            return this.accelerationTime;
+        }
+
+        /**
+         * Gets the time of rendering the image
+         *
+         * @return time in nanoseconds
+         */
+        public long getRenderTime() {
+            return this.renderTime;
+        }
+
+        /**
+         * Gets the time of writing the image file
+         *
+         * @return time in nanoseconds
+         */
+        public long getWriteTime() {
+            return this.writeTime;
+        }
+
+        /**
+         * Gets the wall time of all the phases
+         *
+         * @return time in nanoseconds
+         */
+        public long getWallTime() {
+            return this.buildTime + this.accelerationTime + this.renderTime + this.writeTime;
+        }
+
+        /**
+         * Gets the statistics of the rays traced by the render
+         *
+         * @return the statistics
+         */
+        public TracingStatistics getStatistics() {
+            return this.statistics;
+        }
+
+        /**
+         * Gets the rate of tracing rays of all the types during the render
+         *
+         * @return rays per second
+         */
+        public double getRaysPerSecond() {
+            return this.statistics.getTotalRays() * 1e9 / this.renderTime;
+        }
+
+        /**
+         * Gets the peak heap usage during the phases
+         *
+         * @return usage in bytes, or -1 if unknown
+         */
+        public long getPeakHeap() {
+            return this.peakHeap;
+        }
+
+        /**
+         * Gets the amount of pixels which differ from the reference image beyond the tolerance
+         *
+         * @return amount of pixels
+         */
+        public int getDifferentPixels() {
+            return this.differentPixels;
+        }
+
+        /**
+         * Gets the maximal difference of a color component from the reference image
+         *
+         * @return difference in the range 0 - 255
+         */
+        public int getMaxDifference() {
+            return this.maxDifference;
+        }
+
+        /**
+         * Checks whether the image was recorded as the reference instead of being compared to it
+         *
+         * @return true if the image was recorded
+         */
+        public boolean isRecorded() {
+            return this.recorded;
+        }
+
+        /**
+         * Checks whether the image has no reference image to be compared to
+         *
+         * @return true if the reference is missing
+         */
+        public boolean isMissing() {
+            return this.missing;
+        }
+
+        /**
+         * Checks whether the image matches its reference within the tolerance. A recorded image matches, and an image
+         * without a reference doesn't
+         *
+         * @return true if the reference exists and no pixel differs beyond the tolerance
+         */
+        public boolean matchesReference() {
+            return !this.missing && this.differentPixels == 0;
+        }
+
+        @Override
+        public String toString() {
+            String reference = this.recorded ? "recorded reference"
+                    : this.missing ? "MISSING reference (run with -record to record it)"
+                    : this.differentPixels == 0 ? "matches reference (max diff " + this.maxDifference + ")"
+                    : "DIFFERS from reference: " + this.differentPixels + " pixels, max diff " + this.maxDifference;
+            return String.format(Locale.ROOT,
+                    "%-36s build %8.1f ms, accelerate %8.1f ms, render %9.1f ms, write %7.1f ms, wall %9.1f ms,"
+                            + " %12d rays, %10.0f rays/s, peak heap %7.1f MB, %s",
+                    this.name, this.buildTime / 1e6, this.accelerationTime / 1e6, this.renderTime / 1e6,
+                    this.writeTime / 1e6, getWallTime() / 1e6, this.statistics.getTotalRays(), getRaysPerSecond(),
+                    this.peakHeap / (1024.0 * 1024), reference);
+        }
+    }
+
+    /**
+     * Directory of the images, the directory {@link ImageWriter} writes into
+     */
+    private static final Path IMAGES = Path.of(System.getProperty("user.dir"), "images");
+
+    /**
+     * Subdirectory of the images the rendered images are written into
+     */
+    private static final String OUTPUT = "benchmark";
+
+    private int size = 300;
+    private int antiAliasing = 1;
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+    private int tolerance = 1;
+    private Path references = IMAGES.resolve("reference");
+    private boolean record = false;
+    private boolean countIntersections = false;
+
+    /**
+     * Sets the width and height of the rendered images
+     *
+     * @param size size in pixels
+     * @return this RenderBenchmark object
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public RenderBenchmark setSize(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("The image size must be positive");
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Sets the anti aliasing grid size of the renders
+     *
+     * @param antiAliasing width and height of the grid of rays of a pixel
+     * @return this RenderBenchmark object
+     * @throws IllegalArgumentException if the grid size is not positive
+     */
+    public RenderBenchmark setAntiAliasing(int antiAliasing) {
+        if (antiAliasing <= 0)
+            throw new IllegalArgumentException("The anti aliasing grid size must be positive");
+        this.antiAliasing = antiAliasing;
+        return this;
+    }
+
+    /**
+     * Sets the amount of rendering threads
+     *
+     * @param threadsCount amount of threads
+     * @return this RenderBenchmark object
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public RenderBenchmark setThreadsCount(int threadsCount) {
+        if (threadsCount <= 0)
+            throw new IllegalArgumentException("Threads count must be positive");
+        this.threadsCount = threadsCount;
+        return this;
+    }
+
+    /**
+     * Sets the allowed difference of a color component of a pixel from the reference image
+     *
+     * @param tolerance difference in the range 0 - 255
+     * @return this RenderBenchmark object
+     * @throws IllegalArgumentException if the tolerance is out of range
+     */
+    public RenderBenchmark setTolerance(int tolerance) {
+        if (tolerance < 0 || tolerance > 255)
+            throw new IllegalArgumentException("The tolerance must be in the range 0 - 255");
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * Sets the directory of the reference images
+     *
+     * @param references directory path
+     * @return this RenderBenchmark object
+     */
+    public RenderBenchmark setReferences(Path references) {
+        this.references = references;
+        return this;
+    }
+
+    /**
+     * Sets whether the rendered images replace the reference images instead of being compared to them
+     *
+     * @param record true to record the references
+     * @return this RenderBenchmark object
+     */
+    public RenderBenchmark setRecord(boolean record) {
+        this.record = record;
+        return this;
+    }
+
+    /**
+     * Sets whether the intersection tests of the geometries are counted during the renders. Counting them slows the
+     * renders down
+     *
+     * @param countIntersections true to count the intersection tests
+     * @return this RenderBenchmark object
+     */
+    public RenderBenchmark setCountIntersections(boolean countIntersections) {
+        this.countIntersections = countIntersections;
+        return this;
+    }
+
+    /**
+     * Renders a reference scene, writes the image and compares it to the reference image
+     *
+     * @param reference reference scene
+     * @return the result
+     * @throws IOException if an image can't be written or a reference image can't be read
+     */
+    public Result run(ReferenceScene reference) throws IOException {
+        String name = String.format("%s_%d_AA%d", reference.getName(), this.size, this.antiAliasing);
+        Files.createDirectories(IMAGES.resolve(OUTPUT));
+        List<MemoryPoolMXBean> heap = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP && pool.isValid())
+                heap.add(pool);
+        System.gc();
+        for (MemoryPoolMXBean pool : heap)
+            pool.resetPeakUsage();
+
+        long start = System.nanoTime();
+        Scene scene = reference.buildScene();
+        Camera camera = reference.buildCamera().setAntiAliasing(this.antiAliasing).setThreadsCount(this.threadsCount);
+        long built = System.nanoTime();
+        scene.setAcceleration(reference.getAcceleration());
+        long accelerated = System.nanoTime();
+        ImageWriter imageWriter = new ImageWriter(OUTPUT + "/" + name, this.size, this.size);
+        RayTracerBasic tracer = new RayTracerBasic(scene).setCountIntersections(this.countIntersections);
+        camera.setImageWriter(imageWriter).setRayTracer(tracer).renderImage();
+        long rendered = System.nanoTime();
+        camera.writeToImage();
+        long written = System.nanoTime();
+        tracer.setCountIntersections(false);
+
+        long peakHeap = heap.isEmpty() ? -1 : 0;
+        for (MemoryPoolMXBean pool : heap)
+            peakHeap += pool.getPeakUsage().getUsed();
+
+        // Compare to the reference image, or record the image as the reference. A missing reference is never
+        // recorded implicitly, so a deleted or renamed reference can't disable the comparison
+        Path referenceFile = this.references.resolve(name + ".png");
+        int differentPixels = 0;
+        int maxDifference = 0;
+        boolean missing = !this.record && !Files.exists(referenceFile);
+        if (this.record) {
+            Files.createDirectories(this.references);
+            ImageIO.write(imageWriter.getImage(), "png", referenceFile.toFile());
+        } else if (!missing) {
+            BufferedImage image = imageWriter.getImage();
+            BufferedImage expected = ImageIO.read(referenceFile.toFile());
+            if (expected == null)
+                throw new IOException("Reference image " + referenceFile + " can't be read");
+            if (expected.getWidth() != image.getWidth() || expected.getHeight() != image.getHeight()) {
+                differentPixels = image.getWidth() * image.getHeight();
+                maxDifference = 255;
+            } else
+                for (int y = 0; y < image.getHeight(); y++)
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        int difference = difference(image.getRGB(x, y), expected.getRGB(x, y));
+                        if (difference > this.tolerance)
+                            differentPixels++;
+                        maxDifference = Math.max(maxDifference, difference);
+                    }
+        }
+
+        return new Result(name, built - start, accelerated - built, rendered - accelerated, written - rendered,
+                tracer.getStatistics(), peakHeap, differentPixels, maxDifference, this.record, missing);
+    }
+
+    /**
+     * Calculates the difference between two colors
+     *
+     * @param rgb first color, packed RGB
+     * @param other second color, packed RGB
+     * @return the maximal difference of a color component
+     */
+    static int difference(int rgb, int other) {
+        int difference = 0;
+        for (int shift = 0; shift <= 16; shift += 8)
+            difference = Math.max(difference, Math.abs((rgb >> shift & 0xFF) - (other >> shift & 0xFF)));
+        return difference;
+    }
+
+    /**
+     * Runs the benchmarks
+     *
+     * @param args options and names of the scenes to benchmark (all if none is given)
+     * @throws IOException if an image can't be written or a reference image can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        RenderBenchmark benchmark = new RenderBenchmark();
+        int runs = 1;
+        List<String> selected = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-")) {
+                selected.add(args[i]);
+                continue;
+            }
+            if (args[i].equals("-record")) {
+                benchmark.setRecord(true);
+                continue;
+            }
+            if (args[i].equals("-intersections")) {
+                benchmark.setCountIntersections(true);
+                continue;
+            }
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value of option " + args[i]);
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "-size" -> benchmark.setSize(Integer.parseInt(value));
+                case "-aa" -> benchmark.setAntiAliasing(Integer.parseInt(value));
+                case "-threads" -> benchmark.setThreadsCount(Integer.parseInt(value));
+                case "-runs" -> runs = Integer.parseInt(value);
+                case "-tolerance" -> benchmark.setTolerance(Integer.parseInt(value));
+                case "-references" -> benchmark.setReferences(Path.of(value));
+                default -> throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+            }
+        }
+
+        Map<String, ReferenceScene> scenes = ReferenceScenes.scenes();
+        for (String name : selected)
+            if (!scenes.containsKey(name))
+                throw new IllegalArgumentException("Unknown scene " + name);
+
+        boolean matching = true;
+        for (ReferenceScene scene : scenes.values()) {
+            if (!selected.isEmpty() && !selected.contains(scene.getName()))
+                continue;
+            for (int run = 0; run < runs; run++) {
+                Result result = benchmark.run(scene);
+                System.out.println(result);
+                matching &= result.matchesReference();
+            }
+        }
+
+        if (!matching)
+            System.exit(1);
+    }
+}
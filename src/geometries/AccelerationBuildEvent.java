@@ -0,0 +1,31 @@
+package geometries;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of building a spatial index, of a collection of geometries
+ * (see {@link Geometries#buildIndex(Geometries.Acceleration)}) or of the triangles of a {@link TriangleMesh}
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+@Name("raytracer.AccelerationBuild")
+@Label("Acceleration Build")
+@Category({ "Ray Tracer", "Scene" })
+@Description("Building of a spatial index over geometries")
+class AccelerationBuildEvent extends Event {
+    @Label("Acceleration")
+    @Description("Kind of the index, or MESH for the hierarchy of a triangle mesh")
+    String acceleration;
+
+    @Label("Indexed")
+    @Description("Amount of geometries or triangles in the index")
+    int indexed;
+
+    @Label("Unbounded")
+    @Description("Amount of unbounded geometries kept out of the index")
+    int unbounded;
+}
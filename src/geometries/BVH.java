@@ -0,0 +1,735 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is a bounding volume hierarchy (BVH) over indexed primitives, stored in flat arrays: the bounds of the
+ * nodes, the structure of the nodes and the indices of the primitives in the leaves. The hierarchy is traversed with
+ * an explicit stack instead of recursion.
+ * The hierarchy is built with the surface area heuristic (SAH) over binned primitive centers, and big subtrees are
+ * built in parallel. Its build time and quality are logged (at {@link Level#FINE}) to the "BVH" logger.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class BVH implements SpatialIndex {
+    /**
+     * Tolerance of the slab test, as in {@link BoundingBox}
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Maximal amount of primitives in a leaf, unless they can not be split
+     */
+    private static final int MAX_LEAF_SIZE = 8;
+
+    /**
+     * Amount of bins the primitive centers are sorted into along an axis to evaluate the splits
+     */
+    private static final int BINS = 16;
+
+    /**
+     * Cost of traversing a node, relatively to the cost of intersecting a primitive
+     */
+    private static final double TRAVERSAL_COST = 1;
+
+    /**
+     * Minimal amount of primitives in a subtree to build its children in parallel
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final Logger LOGGER = Logger.getLogger("BVH");
+
+    // Bounds of the nodes - 6 numbers per node: minimal x, y, z and maximal x, y, z
+    private final double[] bounds;
+    // Structure of the nodes - 2 numbers per node: for a leaf, the position of its first primitive in the primitives
+    // array and the amount of its primitives; for an inner node, the index of its second child and 0 (its first
+    // child is the node following it)
+    private final int[] nodes;
+    // Indices of the primitives, ordered so every leaf's primitives are consecutive
+    private final int[] primitives;
+    // Maximal depth of a leaf, bounding the size of the traversal stack
+    private int depth = 0;
+    // Quality of the tree: its SAH cost, and the sizes of its leaves
+    private double cost = 0;
+    private int maxLeafSize = 0;
+    private int leavesCount = 0;
+    // Build time in milliseconds
+    private final double buildTime;
+
+    /**
+     * Constructor to build the hierarchy over primitives
+     *
+     * @param boxes bounding boxes of the primitives, which must be finite, by primitive index
+     */
+    public BVH(BoundingBox[] boxes) {
+        this(pack(boxes));
+    }
+
+    /**
+     * Constructor to build the hierarchy over primitives whose bounds are packed in an array, so big primitive sets
+     * (e.g. the faces of a mesh) need no bounding box objects
+     *
+     * @param boxes bounds of the primitives, which must be finite, by primitive index - 6 numbers per primitive:
+     *              minimal x, y, z and maximal x, y, z
+     */
+    public BVH(double[] boxes) {
+        long start = System.nanoTime();
+
+        int count = boxes.length / 6;
+        this.primitives = new int[count];
+        for (int i = 0; i < count; i++)
+            this.primitives[i] = i;
+
+        Builder builder = new Builder(boxes);
+        Builder.Node root = count == 0 ? null : ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(
+                () -> builder.build(0, count)));
+
+        int nodesCount = root == null ? 0 : root.nodesCount;
+        this.bounds = new double[6 * nodesCount];
+        this.nodes = new int[2 * nodesCount];
+        if (root != null)
+            this.flatten(root);
+        this.measure();
+
+        this.buildTime = (System.nanoTime() - start) / 1e6;
+        LOGGER.log(Level.FINE, () -> String.format(
+                "Built BVH of %d primitives in %.1f ms: %d nodes, depth %d, SAH cost %.2f, leaf size %.2f avg %d max",
+                count, this.buildTime, nodesCount, this.depth, this.cost, this.getAverageLeafSize(), this.maxLeafSize
+        ));
+    }
+
+    /**
+     * Constructor to initialize a hierarchy with its flat arrays, as given by {@link #getBounds()}, {@link #getNodes()}
+     * and {@link #getPrimitives()} of a built hierarchy (e.g. stored in a file), so it is used without being built
+     * again. The arrays are used as is, not copied
+     *
+     * @param bounds bounds of the nodes, 6 numbers per node
+     * @param nodes structure of the nodes, 2 numbers per node
+     * @param primitives indices of the primitives in the order of the leaves
+     * @throws IllegalArgumentException if the arrays are not a hierarchy over all the primitives
+     */
+    public BVH(double[] bounds, int[] nodes, int[] primitives) {
+        long start = System.nanoTime();
+        if (nodes.length % 2 != 0 || bounds.length != 3 * nodes.length)
+            throw new IllegalArgumentException("Every node must have 6 bounds and 2 structure numbers");
+        if (nodes.length == 0 && primitives.length != 0)
+            throw new IllegalArgumentException("A hierarchy of primitives must have nodes");
+
+        boolean[] seen = new boolean[primitives.length];
+        for (int primitive : primitives) {
+            if (primitive < 0 || primitive >= primitives.length || seen[primitive])
+                throw new IllegalArgumentException("The primitives must be a permutation of their indices");
+            seen[primitive] = true;
+        }
+
+        this.bounds = bounds;
+        this.nodes = nodes;
+        this.primitives = primitives;
+        this.measure();
+
+        this.buildTime = (System.nanoTime() - start) / 1e6;
+        LOGGER.log(Level.FINE, () -> String.format(
+                "Loaded BVH of %d primitives in %.1f ms: %d nodes, depth %d, SAH cost %.2f, leaf size %.2f avg %d max",
+                primitives.length, this.buildTime, this.getNodesCount(), this.depth, this.cost,
+                this.getAverageLeafSize(), this.maxLeafSize
+        ));
+    }
+
+    /**
+     * Packs the bounds of bounding boxes in an array
+     *
+     * @param boxes bounding boxes
+     * @return 6 numbers per box: minimal x, y, z and maximal x, y, z
+     */
+    private static double[] pack(BoundingBox[] boxes) {
+        double[] packed = new double[6 * boxes.length];
+        for (int i = 0; i < boxes.length; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                packed[6 * i + axis] = boxes[i].getMin(axis);
+                packed[6 * i + 3 + axis] = boxes[i].getMax(axis);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Stores the built nodes in the flat arrays, depth first, so the first child of a node follows it
+     *
+     * @param root root node
+     */
+    private void flatten(Builder.Node root) {
+        Deque<Builder.Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        int size = 0;
+        while (!pending.isEmpty()) {
+            Builder.Node node = pending.pop();
+            int index = size++;
+            System.arraycopy(node.bounds, 0, this.bounds, 6 * index, 6);
+            if (node.left == null) {
+                this.nodes[2 * index] = node.start;
+                this.nodes[2 * index + 1] = node.count;
+            } else {
+                // The second child follows the whole subtree of the first child
+                this.nodes[2 * index] = index + 1 + node.left.nodesCount;
+                this.nodes[2 * index + 1] = 0;
+                pending.push(node.right);
+                pending.push(node.left);
+            }
+        }
+    }
+
+    /**
+     * Measures the depth and the quality of the tree in the flat arrays. The structure of the nodes is checked on the
+     * way, so arrays which did not come from a build are safe to traverse: every node is reached once from the root,
+     * the children of a node follow it, and the leaves cover every position of the primitives array once
+     *
+     * @throws IllegalArgumentException if the nodes are not a tree over the primitives
+     */
+    private void measure() {
+        int nodesCount = this.nodes.length / 2;
+        if (nodesCount == 0)
+            return;
+
+        double rootArea = Math.max(area(this.bounds, 0), Double.MIN_NORMAL);
+        boolean[] visited = new boolean[nodesCount];
+        boolean[] covered = new boolean[this.primitives.length];
+        int coveredCount = 0;
+        // Nodes waiting to be measured, with their depths
+        int[] stack = new int[nodesCount + 1];
+        int[] levels = new int[nodesCount + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int level = levels[top];
+            if (visited[node])
+                throw new IllegalArgumentException("Node " + node + " is reached twice");
+            visited[node] = true;
+            this.depth = Math.max(this.depth, level);
+
+            double area = area(this.bounds, node) / rootArea;
+            int first = this.nodes[2 * node];
+            int count = this.nodes[2 * node + 1];
+            if (count == 0) {
+                if (first <= node + 1 || first >= nodesCount)
+                    throw new IllegalArgumentException("Node " + node + " has a misplaced child");
+                this.cost += area * TRAVERSAL_COST;
+                stack[top] = first;
+                levels[top++] = level + 1;
+                stack[top] = node + 1;
+                levels[top++] = level + 1;
+            } else {
+                if (count < 0 || first < 0 || first > this.primitives.length - count)
+                    throw new IllegalArgumentException("Leaf " + node + " is out of the primitives");
+                for (int k = first; k < first + count; k++) {
+                    if (covered[k])
+                        throw new IllegalArgumentException("Leaf " + node + " overlaps another leaf");
+                    covered[k] = true;
+                }
+                coveredCount += count;
+                this.cost += area * count;
+                this.maxLeafSize = Math.max(this.maxLeafSize, count);
+                this.leavesCount++;
+            }
+        }
+
+        if (coveredCount != this.primitives.length)
+            throw new IllegalArgumentException("The leaves do not cover all the primitives");
+    }
+
+    /**
+     * Calculates the surface area of bounds in an array
+     *
+     * @param bounds array of bounds, 6 numbers each
+     * @param index index of the bounds in their array
+     * @return surface area, 0 for empty bounds
+     */
+    private static double area(double[] bounds, int index) {
+        double dx = bounds[6 * index + 3] - bounds[6 * index];
+        double dy = bounds[6 * index + 4] - bounds[6 * index + 1];
+        double dz = bounds[6 * index + 5] - bounds[6 * index + 2];
+        if (dx < 0 || dy < 0 || dz < 0)
+            return 0;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Gets the bounds of the nodes. The array is the hierarchy's own, not a copy
+     *
+     * @return bounds of the nodes, 6 numbers per node: minimal x, y, z and maximal x, y, z
+     */
+    public double[] getBounds() {
+        return this.bounds;
+    }
+
+    /**
+     * Gets the structure of the nodes, in depth first order. The array is the hierarchy's own, not a copy
+     *
+     * @return 2 numbers per node: for a leaf, the position of its first primitive and the amount of its primitives;
+     *         for an inner node, the index of its second child and 0
+     */
+    public int[] getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gets the indices of the primitives, in the order of the leaves. The array is the hierarchy's own, not a copy
+     *
+     * @return indices of the primitives
+     */
+    public int[] getPrimitives() {
+        return this.primitives;
+    }
+
+    /**
+     * Gets the amount of nodes
+     *
+     * @return amount of nodes
+     */
+    public int getNodesCount() {
+        return this.nodes.length / 2;
+    }
+
+    /**
+     * Gets the maximal depth of a leaf (the root is at depth 0)
+     *
+     * @return maximal depth
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the SAH cost of the tree - the expected cost of a ray crossing the root's box, in primitive intersections
+     *
+     * @return SAH cost
+     */
+    public double getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Gets the maximal amount of primitives in a leaf
+     *
+     * @return maximal leaf size
+     */
+    public int getMaxLeafSize() {
+        return this.maxLeafSize;
+    }
+
+    /**
+     * Gets the average amount of primitives in a leaf
+     *
+     * @return average leaf size
+     */
+    public double getAverageLeafSize() {
+        return this.leavesCount == 0 ? 0 : (double) this.primitives.length / this.leavesCount;
+    }
+
+    /**
+     * Gets the time it took to build the hierarchy
+     *
+     * @return build time in milliseconds
+     */
+    public double getBuildTime() {
+        return this.buildTime;
+    }
+
+    @Override
+    public boolean forEach(Ray ray, double maxDistance, Visitor visitor) {
+        if (this.nodes.length == 0)
+            return true;
+
+        Point p0 = ray.getStartPoint();
+        Vector dir = ray.getDirection();
+        double ox = p0.getX(), oy = p0.getY(), oz = p0.getZ();
+        double ix = 1 / dir.getX(), iy = 1 / dir.getY(), iz = 1 / dir.getZ();
+
+        int[] stack = new int[this.depth + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (entryDistance(node, ox, oy, oz, ix, iy, iz, maxDistance) == Double.POSITIVE_INFINITY)
+                continue;
+
+            int count = this.nodes[2 * node + 1];
+            if (count == 0) {
+                stack[top++] = this.nodes[2 * node];
+                stack[top++] = node + 1;
+                continue;
+            }
+
+            for (int k = this.nodes[2 * node], end = k + count; k < end; k++)
+                if (!visitor.visit(this.primitives[k]))
+                    return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public double findClosest(Ray ray, double maxDistance, ClosestVisitor visitor) {
+        if (this.nodes.length == 0)
+            return maxDistance;
+
+        Point p0 = ray.getStartPoint();
+        Vector dir = ray.getDirection();
+        double ox = p0.getX(), oy = p0.getY(), oz = p0.getZ();
+        double ix = 1 / dir.getX(), iy = 1 / dir.getY(), iz = 1 / dir.getZ();
+
+        double entry = entryDistance(0, ox, oy, oz, ix, iy, iz, maxDistance);
+        if (entry == Double.POSITIVE_INFINITY)
+            return maxDistance;
+
+        // Far children waiting to be visited, with the distances the ray enters them
+        int[] stack = new int[this.depth + 1];
+        double[] stackEntries = new double[this.depth + 1];
+        int top = 0;
+        int node = 0;
+        while (true) {
+            int count = this.nodes[2 * node + 1];
+            if (count == 0) {
+                int first = node + 1;
+                int second = this.nodes[2 * node];
+                double firstEntry = entryDistance(first, ox, oy, oz, ix, iy, iz, maxDistance);
+                double secondEntry = entryDistance(second, ox, oy, oz, ix, iy, iz, maxDistance);
+                if (secondEntry < firstEntry) {
+                    int tempNode = first; first = second; second = tempNode;
+                    double tempEntry = firstEntry; firstEntry = secondEntry; secondEntry = tempEntry;
+                }
+
+                if (firstEntry != Double.POSITIVE_INFINITY) {
+                    if (secondEntry != Double.POSITIVE_INFINITY) {
+                        stack[top] = second;
+                        stackEntries[top++] = secondEntry;
+                    }
+                    node = first;
+                    continue;
+                }
+            } else {
+                for (int k = this.nodes[2 * node], end = k + count; k < end; k++)
+                    maxDistance = visitor.visit(this.primitives[k], maxDistance);
+            }
+
+            // Pop the nearest waiting node the ray enters before the closest hit
+            do {
+                if (top == 0)
+                    return maxDistance;
+                node = stack[--top];
+            } while (stackEntries[top] > maxDistance + EPSILON);
+        }
+    }
+
+    /**
+     * Finds the distance a ray enters the box of a node (slab test)
+     *
+     * @param node node index
+     * @param ox x of the ray's start point
+     * @param oy y of the ray's start point
+     * @param oz z of the ray's start point
+     * @param ix inverse of the x of the ray's direction
+     * @param iy inverse of the y of the ray's direction
+     * @param iz inverse of the z of the ray's direction
+     * @param maxDistance maximum distance
+     * @return the entry distance (0 if the ray starts inside), or positive infinity if the ray misses the box
+     */
+    private double entryDistance(int node, double ox, double oy, double oz,
+                                 double ix, double iy, double iz, double maxDistance) {
+        int b = 6 * node;
+        double tMin = 0;
+        double tMax = maxDistance;
+
+        // NOTE: a NaN slab distance never narrows the range, as in BoundingBox.intersects
+        double t1 = (this.bounds[b] - ox) * ix;
+        double t2 = (this.bounds[b + 3] - ox) * ix;
+        if (ix < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        if (tMin > tMax + EPSILON)
+            return Double.POSITIVE_INFINITY;
+
+        t1 = (this.bounds[b + 1] - oy) * iy;
+        t2 = (this.bounds[b + 4] - oy) * iy;
+        if (iy < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        if (tMin > tMax + EPSILON)
+            return Double.POSITIVE_INFINITY;
+
+        t1 = (this.bounds[b + 2] - oz) * iz;
+        t2 = (this.bounds[b + 5] - oz) * iz;
+        if (iz < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        return tMin <= tMax + EPSILON ? tMin : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Builds the nodes of the hierarchy top down. At every node, the primitive centers are sorted into bins along each
+     * axis and the split between bins with the lowest SAH cost is chosen, unless keeping the node as a leaf is cheaper.
+     * The primitives of the two children are disjoint ranges of the primitives array, so big children are built in
+     * parallel
+     */
+    private class Builder {
+        /**
+         * A node of the hierarchy during the build
+         */
+        private static class Node {
+            private final double[] bounds;
+            private final int start;
+            private final int count;
+            private Node left = null;
+            private Node right = null;
+            // Amount of nodes in the subtree of this node
+            private int nodesCount = 1;
+
+            /**
+             * Constructor to initialize a node
+             *
+             * @param bounds bounds of the node
+             * @param start position of the first primitive of the node in the primitives array
+             * @param count amount of primitives of the node
+             */
+            Node(double[] bounds, int start, int count) {
+                this.bounds = bounds;
+                this.start = start;
+                this.count = count;
+            }
+        }
+
+        // Bounds (6 numbers) and centers (3 numbers) of the primitives, by primitive index
+        private final double[] boxes;
+        private final double[] centers;
+
+        /**
+         * Constructor to initialize the builder
+         *
+         * @param boxes bounds of the primitives, 6 numbers per primitive
+         */
+        Builder(double[] boxes) {
+            this.boxes = boxes;
+            this.centers = new double[boxes.length / 2];
+            for (int i = 0; i < boxes.length / 6; i++)
+                for (int axis = 0; axis < 3; axis++)
+                    this.centers[3 * i + axis] = (boxes[6 * i + axis] + boxes[6 * i + 3 + axis]) / 2;
+        }
+
+        /**
+         * Builds the node of a range of the primitives array, and its descendants
+         *
+         * @param start start of the range
+         * @param end end of the range (exclusive)
+         * @return the node
+         */
+        Node build(int start, int end) {
+            int count = end - start;
+
+            // Bounds of the node and of its primitives' centers
+            double[] bounds = emptyBounds();
+            double[] centerBounds = emptyBounds();
+            for (int k = start; k < end; k++) {
+                int primitive = primitives[k];
+                for (int axis = 0; axis < 3; axis++) {
+                    double center = this.centers[3 * primitive + axis];
+                    bounds[axis] = Math.min(bounds[axis], this.boxes[6 * primitive + axis]);
+                    bounds[axis + 3] = Math.max(bounds[axis + 3], this.boxes[6 * primitive + 3 + axis]);
+                    centerBounds[axis] = Math.min(centerBounds[axis], center);
+                    centerBounds[axis + 3] = Math.max(centerBounds[axis + 3], center);
+                }
+            }
+
+            Node node = new Node(bounds, start, count);
+            if (count == 1)
+                return node;
+
+            // Find the cheapest split between bins: cost is measured in primitive intersections times node area
+            double nodeArea = area(bounds);
+            double bestCost = count * nodeArea;
+            int bestAxis = -1;
+            int bestBin = 0;
+            double[] binBounds = new double[6 * BINS];
+            int[] binCounts = new int[BINS];
+            double[] rightAreas = new double[BINS];
+            for (int axis = 0; axis < 3; axis++) {
+                double min = centerBounds[axis];
+                double extent = centerBounds[axis + 3] - min;
+                if (extent <= 0)
+                    continue;
+
+                for (int bin = 0; bin < BINS; bin++) {
+                    System.arraycopy(emptyBounds(), 0, binBounds, 6 * bin, 6);
+                    binCounts[bin] = 0;
+                }
+                for (int k = start; k < end; k++) {
+                    int primitive = primitives[k];
+                    int bin = bin(primitive, axis, min, extent);
+                    binCounts[bin]++;
+                    for (int i = 0; i < 3; i++) {
+                        binBounds[6 * bin + i] = Math.min(binBounds[6 * bin + i], this.boxes[6 * primitive + i]);
+                        binBounds[6 * bin + 3 + i] =
+                                Math.max(binBounds[6 * bin + 3 + i], this.boxes[6 * primitive + 3 + i]);
+                    }
+                }
+
+                // Sweep from the right for the areas right of every split, then from the left evaluating the splits
+                double[] sweep = emptyBounds();
+                for (int bin = BINS - 1; bin > 0; bin--) {
+                    unite(sweep, binBounds, bin);
+                    rightAreas[bin] = area(sweep);
+                }
+                sweep = emptyBounds();
+                int leftCount = 0;
+                for (int bin = 0; bin < BINS - 1; bin++) {
+                    unite(sweep, binBounds, bin);
+                    leftCount += binCounts[bin];
+                    if (leftCount == 0 || leftCount == count)
+                        continue;
+
+                    double cost = TRAVERSAL_COST * nodeArea
+                            + leftCount * area(sweep) + (count - leftCount) * rightAreas[bin + 1];
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestAxis = axis;
+                        bestBin = bin;
+                    }
+                }
+            }
+
+            int middle;
+            if (bestAxis >= 0) {
+                // Partition the primitives by the chosen split
+                double min = centerBounds[bestAxis];
+                double extent = centerBounds[bestAxis + 3] - min;
+                int i = start;
+                int j = end - 1;
+                while (i <= j) {
+                    if (bin(primitives[i], bestAxis, min, extent) <= bestBin)
+                        i++;
+                    else {
+                        int temp = primitives[i];
+                        primitives[i] = primitives[j];
+                        primitives[j--] = temp;
+                    }
+                }
+                middle = i;
+            } else if (count > MAX_LEAF_SIZE) {
+                // A leaf would be cheaper, but too big: split at the median center along the widest axis of the centers
+                int widest = 0;
+                for (int axis = 1; axis < 3; axis++)
+                    if (centerBounds[axis + 3] - centerBounds[axis] > centerBounds[widest + 3] - centerBounds[widest])
+                        widest = axis;
+                middle = (start + end) / 2;
+                selectMedian(start, end, middle, widest);
+            } else
+                return node;
+
+            if (count >= PARALLEL_THRESHOLD) {
+                ForkJoinTask<Node> left = ForkJoinTask.adapt(() -> build(start, middle)).fork();
+                node.right = build(middle, end);
+                node.left = left.join();
+            } else {
+                node.left = build(start, middle);
+                node.right = build(middle, end);
+            }
+            node.nodesCount += node.left.nodesCount + node.right.nodesCount;
+            return node;
+        }
+
+        /**
+         * Partially sorts a range of the primitives array by their centers along an axis (quickselect), so the
+         * primitive at a position has the center it would have if the range were sorted, with smaller or equal centers
+         * before it and greater or equal centers after it
+         *
+         * @param start start of the range
+         * @param end end of the range (exclusive)
+         * @param position position to select
+         * @param axis axis
+         */
+        private void selectMedian(int start, int end, int position, int axis) {
+            int low = start;
+            int high = end - 1;
+            while (low < high) {
+                double pivot = this.centers[3 * primitives[(low + high) >>> 1] + axis];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (this.centers[3 * primitives[i] + axis] < pivot)
+                        i++;
+                    while (this.centers[3 * primitives[j] + axis] > pivot)
+                        j--;
+                    if (i <= j) {
+                        int temp = primitives[i];
+                        primitives[i++] = primitives[j];
+                        primitives[j--] = temp;
+                    }
+                }
+                if (position <= j)
+                    high = j;
+                else if (position >= i)
+                    low = i;
+                else
+                    return;
+            }
+        }
+
+        /**
+         * Finds the bin of a primitive's center along an axis
+         *
+         * @param primitive primitive index
+         * @param axis axis
+         * @param min minimal center along the axis
+         * @param extent extent of the centers along the axis
+         * @return bin index
+         */
+        private int bin(int primitive, int axis, double min, double extent) {
+            int bin = (int) ((this.centers[3 * primitive + axis] - min) / extent * BINS);
+            return Math.min(bin, BINS - 1);
+        }
+
+        /**
+         * Creates empty bounds, the identity of {@link #unite(double[], double[], int)}
+         *
+         * @return empty bounds
+         */
+        private static double[] emptyBounds() {
+            return new double[] {
+                    Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+            };
+        }
+
+        /**
+         * Extends bounds to contain other bounds
+         *
+         * @param bounds bounds to extend
+         * @param others array of other bounds
+         * @param index index of the other bounds in their array
+         */
+        private static void unite(double[] bounds, double[] others, int index) {
+            for (int i = 0; i < 3; i++) {
+                bounds[i] = Math.min(bounds[i], others[6 * index + i]);
+                bounds[i + 3] = Math.max(bounds[i + 3], others[6 * index + 3 + i]);
+            }
+        }
+
+        /**
+         * Calculates the surface area of bounds
+         *
+         * @param bounds bounds
+         * @return surface area, 0 for empty bounds
+         */
+        private static double area(double[] bounds) {
+            return BVH.area(bounds, 0);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * This class represents an axis-aligned bounding box (AABB)
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class BoundingBox {
+    /**
+     * Tolerance of the slab test, so flat boxes (e.g. of axis-aligned polygons) are not missed because of
+     * floating point rounding
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Infinite box, bounding unbounded geometries such as planes and tubes
+     */
+    public static final BoundingBox INFINITE = new BoundingBox(
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY
+    );
+
+    /**
+     * Empty box, bounding nothing. It is the identity of {@link #union(BoundingBox)} and is never intersected
+     */
+    public static final BoundingBox EMPTY = new BoundingBox(
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+    );
+
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double maxX;
+    private final double maxY;
+    private final double maxZ;
+    private final boolean infinite;
+
+    /**
+     * Constructor to initialize a bounding box with its minimal and maximal coordinates
+     *
+     * @param minX minimal x value
+     * @param minY minimal y value
+     * @param minZ minimal z value
+     * @param maxX maximal x value
+     * @param maxY maximal y value
+     * @param maxZ maximal z value
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.infinite = isUnbounded(minX, maxX) || isUnbounded(minY, maxY) || isUnbounded(minZ, maxZ);
+    }
+
+    /**
+     * Constructor to initialize the smallest bounding box containing all the given points
+     *
+     * @param points points to contain
+     * @throws IllegalArgumentException if no points are provided
+     */
+    public BoundingBox(Point... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("A bounding box must contain at least one point");
+
+        double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY, z1 = Double.POSITIVE_INFINITY;
+        double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY, z2 = Double.NEGATIVE_INFINITY;
+        for (Point point : points) {
+            x1 = Math.min(x1, point.getX());
+            y1 = Math.min(y1, point.getY());
+            z1 = Math.min(z1, point.getZ());
+            x2 = Math.max(x2, point.getX());
+            y2 = Math.max(y2, point.getY());
+            z2 = Math.max(z2, point.getZ());
+        }
+
+        this.minX = x1;
+        this.minY = y1;
+        this.minZ = z1;
+        this.maxX = x2;
+        this.maxY = y2;
+        this.maxZ = z2;
+        this.infinite = isUnbounded(x1, x2) || isUnbounded(y1, y2) || isUnbounded(z1, z2);
+    }
+
+    /**
+     * Checks whether the range of an axis is unbounded
+     *
+     * @param min minimal value of the axis
+     * @param max maximal value of the axis
+     * @return true if the range is unbounded
+     */
+    private static boolean isUnbounded(double min, double max) {
+        return min == Double.NEGATIVE_INFINITY || max == Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks whether the box is infinite on at least one axis
+     *
+     * @return true if the box is infinite
+     */
+    public boolean isInfinite() {
+        return this.infinite;
+    }
+
+    /**
+     * Gets the minimal value of the box on an axis
+     *
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return minimal value
+     */
+    public double getMin(int axis) {
+        return axis == 0 ? this.minX : axis == 1 ? this.minY : this.minZ;
+    }
+
+    /**
+     * Gets the maximal value of the box on an axis
+     *
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return maximal value
+     */
+    public double getMax(int axis) {
+        return axis == 0 ? this.maxX : axis == 1 ? this.maxY : this.maxZ;
+    }
+
+    /**
+     * Gets the center of the box on an axis
+     *
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return center value
+     */
+    public double getCenter(int axis) {
+        return (getMin(axis) + getMax(axis)) / 2;
+    }
+
+    /**
+     * Creates the smallest bounding box containing both this box and another box
+     *
+     * @param other other box
+     * @return united box
+     */
+    public BoundingBox union(BoundingBox other) {
+        if (this == INFINITE || other == EMPTY)
+            return this;
+        if (other == INFINITE || this == EMPTY)
+            return other;
+
+        return new BoundingBox(
+                Math.min(this.minX, other.minX),
+                Math.min(this.minY, other.minY),
+                Math.min(this.minZ, other.minZ),
+                Math.max(this.maxX, other.maxX),
+                Math.max(this.maxY, other.maxY),
+                Math.max(this.maxZ, other.maxZ)
+        );
+    }
+
+    /**
+     * Checks whether a ray crosses the box before a maximum distance (slab test)
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @return true if the ray crosses the box
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        if (this == INFINITE)
+            return true;
+
+        Point p0 = ray.getStartPoint();
+        Vector dir = ray.getDirection();
+
+        double tMin = 0;
+        double tMax = maxDistance;
+
+        // NOTE: a NaN slab distance (ray parallel to the slab and starting on its border) fails every comparison
+        //       below, so it never narrows the [tMin, tMax] range
+        double inverse = 1 / dir.getX();
+        double t1 = (this.minX - p0.getX()) * inverse;
+        double t2 = (this.maxX - p0.getX()) * inverse;
+        if (inverse < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        if (tMin > tMax + EPSILON)
+            return false;
+
+        inverse = 1 / dir.getY();
+        t1 = (this.minY - p0.getY()) * inverse;
+        t2 = (this.maxY - p0.getY()) * inverse;
+        if (inverse < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        if (tMin > tMax + EPSILON)
+            return false;
+
+        inverse = 1 / dir.getZ();
+        t1 = (this.minZ - p0.getZ()) * inverse;
+        t2 = (this.maxZ - p0.getZ()) * inverse;
+        if (inverse < 0) { double temp = t1; t1 = t2; t2 = temp; }
+        if (t1 > tMin) tMin = t1;
+        if (t2 < tMax) tMax = t2;
+        return tMin <= tMax + EPSILON;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BoundingBox {Min: (%s,%s,%s), Max: (%s,%s,%s)}",
+                this.minX, this.minY, this.minZ, this.maxX, this.maxY, this.maxZ
+        );
+    }
+}
@@ -2,6 +2,9 @@ package geometries;
 
 import primitives.*;
 
+import java.util.LinkedList;
+import java.util.List;
+
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
@@ -12,6 +15,7 @@ import static primitives.Util.isZero;
  */
 public class Cylinder extends Tube {
     private final double height;
+    private final BoundingBox boundingBox;
 
     /**
      * Constructor to initialize Cylinder object with its parameters
@@ -27,6 +31,23 @@ public class Cylinder extends Tube {
         if (height <= 0)
             throw new IllegalArgumentException("The height must be greater than 0");
         this.height = height;
+
+        // The caps are discs, so on each axis they extend by the radius scaled by the sine of the angle between the
+        // axis and the cylinder direction
+        Point bottom = axisRay.getStartPoint();
+        Point top = axisRay.getPoint(height);
+        Vector dir = axisRay.getDirection();
+        double extentX = radius * Math.sqrt(Math.max(0, 1 - dir.getX() * dir.getX()));
+        double extentY = radius * Math.sqrt(Math.max(0, 1 - dir.getY() * dir.getY()));
+        double extentZ = radius * Math.sqrt(Math.max(0, 1 - dir.getZ() * dir.getZ()));
+        this.boundingBox = new BoundingBox(
+                Math.min(bottom.getX(), top.getX()) - extentX,
+                Math.min(bottom.getY(), top.getY()) - extentY,
+                Math.min(bottom.getZ(), top.getZ()) - extentZ,
+                Math.max(bottom.getX(), top.getX()) + extentX,
+                Math.max(bottom.getY(), top.getY()) + extentY,
+                Math.max(bottom.getZ(), top.getZ()) + extentZ
+        );
     }
 
     /**
@@ -38,6 +59,11 @@ public class Cylinder extends Tube {
         return this.height;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
+    }
+
     @Override
     public Vector getNormal(Point point) {
         Point bottomPoint = this.axisRay.getStartPoint();
@@ -67,6 +93,58 @@ public class Cylinder extends Tube {
         return point.subtract(bottomPoint).normalize();
     }
 
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        Point bottomPoint = this.axisRay.getStartPoint();
+        Vector dir = this.axisRay.getDirection();
+        List<GeoPoint> intersections = new LinkedList<>();
+
+        // Side - the intersections with the tube which are between the bases
+        List<GeoPoint> tubeIntersections = super.findGeoIntersectionsHelper(ray, maxDistance);
+        if (tubeIntersections != null)
+            for (GeoPoint geoPoint : tubeIntersections) {
+                double projection = alignZero(dir.dotProduct(geoPoint.point.subtract(bottomPoint)));
+                if (projection > 0 && alignZero(projection - this.height) < 0)
+                    intersections.add(geoPoint);
+            }
+
+        // Bases
+        addBaseIntersection(intersections, ray, bottomPoint, maxDistance);
+        addBaseIntersection(intersections, ray, this.axisRay.getPoint(this.height), maxDistance);
+
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    /**
+     * Adds the intersection of a ray with a base of the cylinder, if there is one
+     *
+     * @param intersections intersections list to add to
+     * @param ray ray
+     * @param center center point of the base
+     * @param maxDistance maximum distance
+     */
+    private void addBaseIntersection(List<GeoPoint> intersections, Ray ray, Point center, double maxDistance) {
+        Vector dir = this.axisRay.getDirection();
+        double nv = dir.dotProduct(ray.getDirection());
+        if (isZero(nv))
+            return;
+
+        double t;
+        try {
+            t = alignZero(dir.dotProduct(center.subtract(ray.getStartPoint())) / nv);
+        }
+        catch (IllegalArgumentException e) {
+            return; // The ray starts at the center of the base
+        }
+
+        if (t <= 0 || alignZero(t - maxDistance) > 0)
+            return;
+
+        Point point = ray.getPoint(t);
+        if (alignZero(point.distanceSquared(center) - this.radius * this.radius) < 0)
+            intersections.add(new GeoPoint(this, point));
+    }
+
     @Override
     public String toString() {
         return String.format("Cylinder {Height = %s, %s}", this.height, super.toString());
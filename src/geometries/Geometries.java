@@ -1,7 +1,11 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Ray;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -11,7 +15,28 @@ import java.util.List;
  * @author Benjamin Mamistvalov, Eyal Nathan
  */
 public class Geometries extends Intersectable {
+    /**
+     * Spatial index organizing the geometries of a collection
+     */
+    public enum Acceleration {
+        /** No index - every ray tests all the geometries */
+        NONE,
+        /** Bounding volume hierarchy, see {@link BVH} */
+        BVH,
+        /** Uniform grid, best for evenly distributed geometries, see {@link UniformGrid} */
+        GRID
+    }
+
+    // Bounded geometries which are not in the index
     private final List<Intersectable> geometries;
+    // Unbounded geometries (e.g. planes), which every ray tests before the bounded geometries
+    private final List<Intersectable> unbounded = new ArrayList<>();
+    private BoundingBox boundingBox = BoundingBox.EMPTY;
+    // Collections this collection is nested in, whose bounding boxes grow with it
+    private final List<Geometries> parents = new ArrayList<>();
+    // Spatial index over the bounded geometries, and the geometries by their index in it
+    private SpatialIndex index = null;
+    private Intersectable[] indexed = null;
 
     /**
      * Default constructor to initialize a Geometries object
@@ -26,7 +51,8 @@ public class Geometries extends Intersectable {
      * @param geometries given geometries
      */
     public Geometries(Intersectable... geometries) {
-        this.geometries = List.of(geometries);
+        this.geometries = new LinkedList<>();
+        this.add(geometries);
     }
 
     /**
@@ -35,7 +61,8 @@ public class Geometries extends Intersectable {
      * @param geometries geometries to add
      */
     public void add(Intersectable... geometries) {
-        this.geometries.addAll(List.of(geometries));
+        for (Intersectable geometry : geometries)
+            this.addGeometry(geometry);
     }
 
     /**
@@ -45,26 +72,279 @@ public class Geometries extends Intersectable {
      */
     public void add(Geometries... others) {
         for (Geometries other : others) {
-            this.geometries.addAll(other.geometries);
+            for (Intersectable geometry : other.unbounded)
+                this.addGeometry(geometry);
+            for (Intersectable geometry : other.geometries)
+                this.addGeometry(geometry);
+            if (other.indexed != null)
+                for (Intersectable geometry : other.indexed)
+                    this.addGeometry(geometry);
+        }
+    }
+
+    /**
+     * Adds a single geometry to the collection and updates the bounding box of the collection. Unbounded geometries
+     * are kept in a separate list. A nested collection may still be added to, so it extends the bounding box of this
+     * collection as it grows
+     *
+     * @param geometry geometry to add
+     */
+    private void addGeometry(Intersectable geometry) {
+        BoundingBox box = geometry.getBoundingBox();
+        (box.isInfinite() ? this.unbounded : this.geometries).add(geometry);
+        if (geometry instanceof Geometries nested)
+            nested.parents.add(this);
+        this.extend(box);
+    }
+
+    /**
+     * Extends the bounding box of the collection, and of the collections it is nested in
+     *
+     * @param box bounding box to include
+     */
+    private void extend(BoundingBox box) {
+        this.boundingBox = this.boundingBox.union(box);
+        for (Geometries parent : this.parents)
+            parent.extend(box);
+    }
+
+    /**
+     * Gets the unbounded geometries of the collection, which every ray tests
+     *
+     * @return unmodifiable list of the unbounded geometries
+     */
+    public List<Intersectable> getUnbounded() {
+        return Collections.unmodifiableList(this.unbounded);
+    }
+
+    /**
+     * Gets the geometries in the spatial index of the collection
+     *
+     * @return unmodifiable list of the indexed geometries, by their index in the spatial index (empty if there is no
+     *         index)
+     */
+    public List<Intersectable> getIndexed() {
+        return this.indexed == null ? List.of() : Collections.unmodifiableList(Arrays.asList(this.indexed));
+    }
+
+    /**
+     * Gets the bounded geometries of the collection which are not in its spatial index
+     *
+     * @return unmodifiable list of the bounded geometries which are not indexed
+     */
+    public List<Intersectable> getUnindexed() {
+        return Collections.unmodifiableList(this.geometries);
+    }
+
+    /**
+     * Gets the spatial index of the collection
+     *
+     * @return the spatial index, or null if the collection is not indexed
+     */
+    public SpatialIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the kind of the spatial index of the collection
+     *
+     * @return kind of the index
+     */
+    public Acceleration getAcceleration() {
+        if (this.index instanceof BVH)
+            return Acceleration.BVH;
+        return this.index instanceof UniformGrid ? Acceleration.GRID : Acceleration.NONE;
+    }
+
+    /**
+     * Adds geometries organized in a prebuilt spatial index (e.g. one loaded from a file), instead of building the
+     * index with {@link #buildIndex(Acceleration)}. The geometries must be bounded, and the index must be over their
+     * bounding boxes by their order in the array
+     *
+     * @param geometries indexed geometries, by their index in the spatial index
+     * @param index spatial index over the geometries
+     * @return this Geometries object
+     * @throws IllegalArgumentException if the collection already has an index, or a geometry is unbounded
+     */
+    public Geometries setIndex(Intersectable[] geometries, SpatialIndex index) {
+        if (this.index != null)
+            throw new IllegalArgumentException("The collection already has an index");
+
+        BoundingBox boundingBox = BoundingBox.EMPTY;
+        for (Intersectable geometry : geometries) {
+            BoundingBox box = geometry.getBoundingBox();
+            if (box.isInfinite())
+                throw new IllegalArgumentException("An unbounded geometry can't be indexed");
+            boundingBox = boundingBox.union(box);
         }
+
+        this.indexed = geometries.clone();
+        this.index = index;
+        this.extend(boundingBox);
+        return this;
+    }
+
+    /**
+     * Gets the bounding box of the collection - the union of the bounding boxes of its geometries
+     *
+     * @return bounding box of the collection
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
+    }
+
+    /**
+     * Reorganizes the collection as a bounding volume hierarchy (BVH), see {@link #buildIndex(Acceleration)}
+     *
+     * @return this Geometries object
+     */
+    public Geometries buildBVH() {
+        return this.buildIndex(Acceleration.BVH);
+    }
+
+    /**
+     * Reorganizes the collection as a uniform grid, see {@link #buildIndex(Acceleration)}
+     *
+     * @return this Geometries object
+     */
+    public Geometries buildGrid() {
+        return this.buildIndex(Acceleration.GRID);
+    }
+
+    /**
+     * Reorganizes the collection in a spatial index, so a ray only visits the geometries whose bounding boxes it
+     * crosses. Nested collections are flattened into the index, and unbounded geometries, which would make every node
+     * of the index unbounded, are kept in a side list and tested by every ray.
+     * The geometries should all be added before building the index, i.e. once before rendering.
+     *
+     * @param acceleration kind of the index ({@link Acceleration#NONE} flattens the collection into the list)
+     * @return this Geometries object
+     */
+    public Geometries buildIndex(Acceleration acceleration) {
+        AccelerationBuildEvent event = new AccelerationBuildEvent();
+        event.begin();
+        List<Intersectable> bounded = new ArrayList<>();
+        List<Intersectable> unbounded = new ArrayList<>();
+        this.collect(bounded, unbounded);
+
+        this.geometries.clear();
+        this.unbounded.clear();
+        this.unbounded.addAll(unbounded);
+        this.index = null;
+        this.indexed = null;
+        if (acceleration == Acceleration.NONE)
+            this.geometries.addAll(bounded);
+        else {
+            this.indexed = bounded.toArray(new Intersectable[0]);
+            BoundingBox[] boxes = new BoundingBox[this.indexed.length];
+            for (int i = 0; i < boxes.length; i++)
+                boxes[i] = this.indexed[i].getBoundingBox();
+            this.index = acceleration == Acceleration.GRID ? new UniformGrid(boxes) : new BVH(boxes);
+        }
+
+        if (event.shouldCommit()) {
+            event.acceleration = acceleration.name();
+            event.indexed = bounded.size();
+            event.unbounded = unbounded.size();
+            event.commit();
+        }
+        return this;
+    }
+
+    /**
+     * Collects the geometries of the collection and of its nested collections
+     *
+     * @param bounded list to add the bounded geometries to
+     * @param unbounded list to add the unbounded geometries to
+     */
+    private void collect(List<Intersectable> bounded, List<Intersectable> unbounded) {
+        for (Intersectable geometry : this.unbounded) {
+            if (geometry instanceof Geometries nested)
+                nested.collect(bounded, unbounded);
+            else
+                unbounded.add(geometry);
+        }
+
+        for (Intersectable geometry : this.geometries) {
+            if (geometry instanceof Geometries nested)
+                nested.collect(bounded, unbounded);
+            else
+                bounded.add(geometry);
+        }
+
+        if (this.indexed != null)
+            bounded.addAll(List.of(this.indexed));
     }
 
     @Override
     protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        List<GeoPoint> result = null;
+        List<GeoPoint> result = new LinkedList<>();
 
-        for (Intersectable geometry: this.geometries) {
+        for (Intersectable geometry : this.unbounded) {
             List<GeoPoint> points = geometry.findGeoIntersections(ray, maxDistance);
+            if (points != null)
+                result.addAll(points);
+        }
 
-            if (points == null)
-                continue;
+        if (this.index != null)
+            this.index.forEach(ray, maxDistance, i -> {
+                List<GeoPoint> points = this.indexed[i].findGeoIntersections(ray, maxDistance);
+                if (points != null)
+                    result.addAll(points);
+                return true;
+            });
 
-            if (result == null)
-                result = new LinkedList<>(points);
-            else
+        for (Intersectable geometry : this.geometries) {
+            List<GeoPoint> points = geometry.findGeoIntersections(ray, maxDistance);
+            if (points != null)
                 result.addAll(points);
         }
 
-        return result;
+        return result.isEmpty() ? null : result;
+    }
+
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        // The nearest hit of the unbounded geometries clips the search among the bounded ones
+        for (Intersectable geometry : this.unbounded)
+            maxDistance = geometry.findClosestIntersection(ray, maxDistance, closest);
+
+        if (this.index != null)
+            maxDistance = this.index.findClosest(ray, maxDistance,
+                    (i, distance) -> this.indexed[i].findClosestIntersection(ray, distance, closest));
+
+        for (Intersectable geometry : this.geometries)
+            maxDistance = geometry.findClosestIntersection(ray, maxDistance, closest);
+
+        return maxDistance;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        for (Intersectable geometry : this.unbounded) {
+            ktr = geometry.findTransparency(ray, maxDistance, ktr, minK);
+            if (ktr.lowerThan(minK))
+                return Double3.ZERO;
+        }
+
+        if (this.index != null) {
+            Double3[] transparency = { ktr };
+            boolean transparent = this.index.forEach(ray, maxDistance, i -> {
+                transparency[0] = this.indexed[i].findTransparency(ray, maxDistance, transparency[0], minK);
+                return !transparency[0].lowerThan(minK);
+            });
+            if (!transparent)
+                return Double3.ZERO;
+            ktr = transparency[0];
+        }
+
+        for (Intersectable geometry : this.geometries) {
+            ktr = geometry.findTransparency(ray, maxDistance, ktr, minK);
+            if (ktr.lowerThan(minK))
+                return Double3.ZERO;
+        }
+
+        return ktr;
     }
 }
@@ -2,6 +2,8 @@ package geometries;
 
 import primitives.*;
 
+import java.util.List;
+
 /**
  * This interface is the base for all geometric classes
  *
@@ -58,4 +60,31 @@ public abstract class Geometry extends Intersectable {
         this.material = material;
         return this;
     }
+
+    @Override
+    public List<GeoPoint> findGeoIntersections(Ray ray, double maxDistance) {
+        IntersectionCounter.count(this);
+        return super.findGeoIntersections(ray, maxDistance);
+    }
+
+    @Override
+    protected double findClosestIntersection(Ray ray, double maxDistance, GeoPoint closest) {
+        IntersectionCounter.count(this);
+        return super.findClosestIntersection(ray, maxDistance, closest);
+    }
+
+    @Override
+    protected Double3 findTransparency(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        IntersectionCounter.count(this);
+        return super.findTransparency(ray, maxDistance, ktr, minK);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        // Any intersection with an opaque geometry blocks the light, so there is nothing to accumulate
+        if (getMaterial().kT.lowerThan(minK))
+            return findGeoIntersectionsHelper(ray, maxDistance) == null ? ktr : Double3.ZERO;
+
+        return super.findTransparencyHelper(ray, maxDistance, ktr, minK);
+    }
 }
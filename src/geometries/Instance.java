@@ -0,0 +1,211 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents a transformed instance of a shared intersectable object (usually a {@link Geometries}).
+ * The object is kept once in its own coordinate system (object space), and every instance places it in the scene
+ * with an affine transformation: rays are transformed into object space instead of the object into the scene, so a
+ * scene of many repeated objects holds a single copy of them. Instances have a bounding box in the scene, so a
+ * {@link Geometries} of instances indexes them as any other geometry. Every geometry of the object is wrapped once
+ * per instance, when a ray first hits it, so the hits of an instanced geometry share its wrapper. Geometries created
+ * per intersection (the faces of a {@link TriangleMesh}) are wrapped by equality, once per face.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class Instance extends Intersectable {
+    private final Intersectable object;
+    private final Transform toWorld;
+    private final Transform toObject;
+    private final BoundingBox boundingBox;
+    private final Map<Geometry, InstanceGeometry> wrappers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to initialize an instance of an object. The object must be complete - its bounding box is taken
+     * when the instance is created
+     *
+     * @param object shared object, in object space
+     * @param transform transformation from object space to the scene
+     */
+    public Instance(Intersectable object, Transform transform) {
+        this.object = object;
+        this.toWorld = transform;
+        this.toObject = transform.inverse();
+        this.boundingBox = transformBox(object.getBoundingBox(), transform);
+    }
+
+    /**
+     * Transforms a bounding box - the box containing its 8 transformed corners
+     *
+     * @param box box in object space
+     * @param transform transformation from object space to the scene
+     * @return box in the scene
+     */
+    private static BoundingBox transformBox(BoundingBox box, Transform transform) {
+        if (box.isInfinite())
+            return BoundingBox.INFINITE;
+        if (box.getMin(0) > box.getMax(0))
+            return BoundingBox.EMPTY;
+
+        Point[] corners = new Point[8];
+        for (int i = 0; i < 8; i++)
+            corners[i] = transform.transformPoint(new Point(
+                    (i & 1) == 0 ? box.getMin(0) : box.getMax(0),
+                    (i & 2) == 0 ? box.getMin(1) : box.getMax(1),
+                    (i & 4) == 0 ? box.getMin(2) : box.getMax(2)
+            ));
+        return new BoundingBox(corners);
+    }
+
+    /**
+     * Gets the shared object
+     *
+     * @return shared object
+     */
+    public Intersectable getObject() {
+        return this.object;
+    }
+
+    /**
+     * Gets the transformation from object space to the scene
+     *
+     * @return transformation
+     */
+    public Transform getTransform() {
+        return this.toWorld;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
+    }
+
+    /**
+     * Transforms a ray into object space. The transformation may scale, so a distance along the ray in object space
+     * is the distance in the scene multiplied by the length of the transformed direction
+     *
+     * @param ray ray in the scene
+     * @return ray in object space
+     */
+    private Ray objectRay(Ray ray) {
+        return new Ray(this.toObject.transformPoint(ray.getStartPoint()),
+                this.toObject.transformVector(ray.getDirection()));
+    }
+
+    /**
+     * Gets the ratio between distances in object space and distances in the scene along a ray
+     *
+     * @param ray ray in the scene
+     * @return scale of the distances
+     */
+    private double distanceScale(Ray ray) {
+        return this.toObject.transformVector(ray.getDirection()).length();
+    }
+
+    /**
+     * Gets the wrapper of a geometry of the shared object, wrapping it on its first hit
+     *
+     * @param geometry geometry in object space
+     * @return the geometry as placed by the instance
+     */
+    private InstanceGeometry wrapper(Geometry geometry) {
+        InstanceGeometry wrapper = this.wrappers.get(geometry);
+        return wrapper != null ? wrapper : this.wrappers.computeIfAbsent(geometry, InstanceGeometry::new);
+    }
+
+    /**
+     * Gets the amount of geometries of the shared object wrapped so far
+     *
+     * @return amount of wrappers
+     */
+    int getWrappersCount() {
+        return this.wrappers.size();
+    }
+
+    /**
+     * Transforms intersections found in object space into the scene
+     *
+     * @param intersections intersections in object space, or null if there are none
+     * @return intersections in the scene with the wrapped geometries, or null if there are none
+     */
+    private List<GeoPoint> worldIntersections(List<GeoPoint> intersections) {
+        if (intersections == null)
+            return null;
+
+        return intersections.stream()
+                .map(gp -> new GeoPoint(wrapper(gp.geometry), this.toWorld.transformPoint(gp.point)))
+                .toList();
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        return worldIntersections(this.object.findGeoIntersections(objectRay(ray), maxDistance * distanceScale(ray)));
+    }
+
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        double scale = distanceScale(ray);
+        GeoPoint local = new GeoPoint(null, null);
+        double distance = this.object.findClosestIntersection(objectRay(ray), maxDistance * scale, local);
+        if (local.geometry == null)
+            return maxDistance;
+
+        closest.geometry = wrapper(local.geometry);
+        return distance / scale;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        return this.object.findTransparency(objectRay(ray), maxDistance * distanceScale(ray), ktr, minK);
+    }
+
+    /**
+     * A geometry of the shared object as placed by the instance, so the ray tracer sees the material and emission of
+     * the original geometry and its normal transformed into the scene. It is intersected as the original geometry
+     * transformed into the scene
+     */
+    private class InstanceGeometry extends Geometry {
+        private final Geometry geometry;
+        private final BoundingBox boundingBox;
+
+        /**
+         * Constructor to wrap a geometry of the shared object
+         *
+         * @param geometry geometry in object space
+         */
+        InstanceGeometry(Geometry geometry) {
+            this.geometry = geometry;
+            this.boundingBox = transformBox(geometry.getBoundingBox(), toWorld);
+        }
+
+        @Override
+        public BoundingBox getBoundingBox() {
+            return this.boundingBox;
+        }
+
+        @Override
+        public Vector getNormal(Point point) {
+            return toWorld.transformNormal(this.geometry.getNormal(toObject.transformPoint(point)));
+        }
+
+        @Override
+        public Color getEmission() {
+            return this.geometry.getEmission();
+        }
+
+        @Override
+        public Material getMaterial() {
+            return this.geometry.getMaterial();
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            return worldIntersections(this.geometry.findGeoIntersections(objectRay(ray),
+                    maxDistance * distanceScale(ray)));
+        }
+    }
+}
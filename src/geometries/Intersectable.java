@@ -42,6 +42,15 @@ public abstract class Intersectable {
         }
     }
 
+    /**
+     * Gets the axis-aligned bounding box of the intersectable object
+     *
+     * @return bounding box, {@link BoundingBox#INFINITE} if the object is unbounded
+     */
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.INFINITE;
+    }
+
     /**
      * Finds the intersections of a given ray
      * with other geometries in its path
@@ -72,6 +81,10 @@ public abstract class Intersectable {
      * @return intersections
      */
     public List<GeoPoint> findGeoIntersections(Ray ray, double maxDistance) {
+        // Cheap early-out: a ray that misses the bounding box cannot intersect the object
+        if (!getBoundingBox().intersects(ray, maxDistance))
+            return null;
+
         return findGeoIntersectionsHelper(ray, maxDistance);
     }
 
@@ -83,4 +96,129 @@ public abstract class Intersectable {
      * @return intersections
      */
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
-}
\ No newline at end of file
+
+    /**
+     * Finds the closest intersection of a ray with the geometries in the scene
+     *
+     * @param ray ray
+     * @return closest intersection, or null if there is none
+     */
+    public GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds the closest intersection of a ray with the geometries in the scene up to a maximum distance.
+     * Unlike {@link #findGeoIntersections(Ray, double)} no intersections list is built - the geometries only report
+     * the distance of their closest intersection, and the maximum distance shrinks as closer intersections are found
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @return closest intersection, or null if there is none
+     */
+    public GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        GeoPoint closest = new GeoPoint(null, null);
+        double distance = findClosestIntersection(ray, maxDistance, closest);
+        if (closest.geometry == null)
+            return null;
+
+        closest.point = ray.getPoint(distance);
+        return closest;
+    }
+
+    /**
+     * Finds the distance of the closest intersection of a ray up to a maximum distance.
+     * When an intersection is found, its geometry is written into the closest GeoPoint (its point is left untouched)
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param closest GeoPoint to write the intersected geometry into
+     * @return distance of the closest intersection, or maxDistance if there is no intersection
+     */
+    protected double findClosestIntersection(Ray ray, double maxDistance, GeoPoint closest) {
+        if (!getBoundingBox().intersects(ray, maxDistance))
+            return maxDistance;
+
+        return findClosestIntersectionHelper(ray, maxDistance, closest);
+    }
+
+    /**
+     * Finds the distance of the closest intersection of a ray up to a maximum distance.
+     * The default implementation scans the intersections list; geometries override it to avoid building the list
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param closest GeoPoint to write the intersected geometry into
+     * @return distance of the closest intersection, or maxDistance if there is no intersection
+     */
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null)
+            return maxDistance;
+
+        Point p0 = ray.getStartPoint();
+        for (GeoPoint intersection : intersections) {
+            double distance = intersection.point.distance(p0);
+            if (distance <= maxDistance) {
+                maxDistance = distance;
+                closest.geometry = intersection.geometry;
+            }
+        }
+
+        return maxDistance;
+    }
+
+    /**
+     * Finds the transparency of the geometries a ray crosses up to a maximum distance - the product of the
+     * transparency factors (kT) of all their intersections. The search stops as soon as the transparency drops below
+     * a minimal value (e.g. at the first opaque geometry), in which case the light is considered blocked
+     *
+     * @param ray ray (usually a shadow ray towards a light source)
+     * @param maxDistance maximum distance (usually the distance to the light source)
+     * @param minK minimal transparency to consider
+     * @return transparency, or {@link Double3#ZERO} if it drops below the minimal transparency
+     */
+    public Double3 findTransparency(Ray ray, double maxDistance, double minK) {
+        return findTransparency(ray, maxDistance, Double3.ONE, minK);
+    }
+
+    /**
+     * Accumulates the transparency of the geometries a ray crosses up to a maximum distance
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param ktr transparency accumulated so far
+     * @param minK minimal transparency to consider
+     * @return accumulated transparency, or {@link Double3#ZERO} if it drops below the minimal transparency
+     */
+    protected Double3 findTransparency(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        if (!getBoundingBox().intersects(ray, maxDistance))
+            return ktr;
+
+        return findTransparencyHelper(ray, maxDistance, ktr, minK);
+    }
+
+    /**
+     * Accumulates the transparency of the geometries a ray crosses up to a maximum distance.
+     * The default implementation scans the intersections list
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param ktr transparency accumulated so far
+     * @param minK minimal transparency to consider
+     * @return accumulated transparency, or {@link Double3#ZERO} if it drops below the minimal transparency
+     */
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null)
+            return ktr;
+
+        for (GeoPoint intersection : intersections) {
+            ktr = intersection.geometry.getMaterial().kT.product(ktr);
+            if (ktr.lowerThan(minK))
+                return Double3.ZERO;
+        }
+
+        return ktr;
+    }
+}
@@ -0,0 +1,131 @@
+package geometries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts the intersection tests of geometries by their type. A test is counted whenever a ray is
+ * intersected with a geometry (before its bounding box is checked), and every triangle of a {@link TriangleMesh} a
+ * ray is intersected with is counted as a test of the mesh. A counter only counts the tests of the threads which
+ * entered it ({@link #enter()}) while it is enabled, e.g. a ray tracer enters its counter around every ray it traces,
+ * so two tracers never count each other's tests. Counters may be nested on a thread, and a test is counted by all
+ * the counters the thread entered. A counter counts in striped counters ({@link LongAdder}), so counting threads
+ * don't contend on a shared value, and also totals the tests of every thread, so a thread can find the tests of its
+ * own work. When no counter is enabled, a test only checks that no counter is enabled
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class IntersectionCounter {
+    /**
+     * The counters a thread entered, innermost last
+     */
+    private static final class Scopes {
+        private IntersectionCounter[] counters = new IntersectionCounter[2];
+        private int size = 0;
+    }
+
+    private static final AtomicInteger ENABLED = new AtomicInteger();
+    private static final ThreadLocal<Scopes> SCOPES = ThreadLocal.withInitial(Scopes::new);
+
+    private volatile boolean enabled = false;
+    private final Map<Class<?>, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> threadTests = ThreadLocal.withInitial(() -> new long[1]);
+    private final ClassValue<LongAdder> tests = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            return counters.computeIfAbsent(type, t -> new LongAdder());
+        }
+    };
+
+    /**
+     * Sets whether the counter counts the tests of the threads which entered it
+     *
+     * @param enabled true to count the tests
+     * @return this IntersectionCounter object
+     */
+    public synchronized IntersectionCounter setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            ENABLED.addAndGet(enabled ? 1 : -1);
+        }
+        return this;
+    }
+
+    /**
+     * Checks whether the counter counts the tests of the threads which entered it
+     *
+     * @return true if the tests are counted
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts counting the tests of the current thread, until it exits the counter. Every enter must be followed by
+     * an exit on the same thread
+     */
+    public void enter() {
+        Scopes scopes = SCOPES.get();
+        if (scopes.size == scopes.counters.length)
+            scopes.counters = Arrays.copyOf(scopes.counters, 2 * scopes.size);
+        scopes.counters[scopes.size++] = this;
+    }
+
+    /**
+     * Stops counting the tests of the current thread. The counter must be the last counter the thread entered
+     *
+     * @throws IllegalStateException if the counter is not the last counter the thread entered
+     */
+    public void exit() {
+        Scopes scopes = SCOPES.get();
+        if (scopes.size == 0 || scopes.counters[scopes.size - 1] != this)
+            throw new IllegalStateException("The counter is not the last counter the thread entered");
+        scopes.counters[--scopes.size] = null;
+    }
+
+    /**
+     * Counts an intersection test of a geometry by the enabled counters the current thread entered
+     *
+     * @param geometry tested geometry
+     */
+    static void count(Intersectable geometry) {
+        if (ENABLED.get() == 0)
+            return;
+
+        Scopes scopes = SCOPES.get();
+        for (int i = 0; i < scopes.size; i++) {
+            IntersectionCounter counter = scopes.counters[i];
+            if (counter.enabled) {
+                counter.tests.get(geometry.getClass()).increment();
+                counter.threadTests.get()[0]++;
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of intersection tests of all the types counted so far on the current thread, e.g. to find the
+     * tests of a single pixel
+     *
+     * @return amount of tests
+     */
+    public long getThreadTests() {
+        return this.threadTests.get()[0];
+    }
+
+    /**
+     * Gets the amounts of intersection tests counted so far
+     *
+     * @return amounts of tests by the name of the geometries' type, sorted by name
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        this.counters.forEach((type, count) ->
+                snapshot.merge(type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName(),
+                        count.sum(), Long::sum));
+        return snapshot;
+    }
+}
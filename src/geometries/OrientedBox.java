@@ -0,0 +1,205 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/**
+ * This class represents a box with any orientation - a rectangular cuboid whose faces are orthogonal to three
+ * orthogonal axes. A ray is intersected with the box by a single slab test in the box's own frame, instead of
+ * intersecting its six faces one by one
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class OrientedBox extends Geometry {
+    private final Point center;
+    // Axes of the box's frame (right, up and to), and half the size of the box along them
+    private final Vector[] axes;
+    private final double[] halfSizes;
+    private final BoundingBox boundingBox;
+
+    /**
+     * Constructor to initialize a box with its center, orientation and sizes
+     *
+     * @param center center of the box
+     * @param vUp up direction of the box
+     * @param vRight right direction of the box
+     * @param length size of the box along vUp x vRight
+     * @param width size of the box along vRight
+     * @param height size of the box along vUp
+     * @throws IllegalArgumentException when vUp and vRight are not orthogonal, or a size is not positive
+     */
+    public OrientedBox(Point center, Vector vUp, Vector vRight, double length, double width, double height) {
+        if (!isZero(vUp.dotProduct(vRight)))
+            throw new IllegalArgumentException("vUp and vRight are not orthogonal");
+        if (alignZero(length) <= 0 || alignZero(width) <= 0 || alignZero(height) <= 0)
+            throw new IllegalArgumentException("The sizes of a box must be positive");
+
+        vUp = vUp.normalize();
+        vRight = vRight.normalize();
+        this.center = center;
+        this.axes = new Vector[] { vRight, vUp, vUp.crossProduct(vRight) };
+        this.halfSizes = new double[] { width / 2, height / 2, length / 2 };
+
+        // The extent of the box along a scene axis is the sum of the projections of its half sizes
+        double[] extents = new double[3];
+        for (int k = 0; k < 3; k++) {
+            extents[0] += Math.abs(this.axes[k].getX()) * this.halfSizes[k];
+            extents[1] += Math.abs(this.axes[k].getY()) * this.halfSizes[k];
+            extents[2] += Math.abs(this.axes[k].getZ()) * this.halfSizes[k];
+        }
+        this.boundingBox = new BoundingBox(
+                center.getX() - extents[0], center.getY() - extents[1], center.getZ() - extents[2],
+                center.getX() + extents[0], center.getY() + extents[1], center.getZ() + extents[2]
+        );
+    }
+
+    /**
+     * Get the center of the box
+     *
+     * @return center of the box
+     */
+    public Point getCenter() {
+        return this.center;
+    }
+
+    /**
+     * Get the up direction of the box
+     *
+     * @return up direction, normalized
+     */
+    public Vector getUp() {
+        return this.axes[1];
+    }
+
+    /**
+     * Get the right direction of the box
+     *
+     * @return right direction, normalized
+     */
+    public Vector getRight() {
+        return this.axes[0];
+    }
+
+    /**
+     * Get the size of the box along up x right
+     *
+     * @return length of the box
+     */
+    public double getLength() {
+        return 2 * this.halfSizes[2];
+    }
+
+    /**
+     * Get the size of the box along the right direction
+     *
+     * @return width of the box
+     */
+    public double getWidth() {
+        return 2 * this.halfSizes[0];
+    }
+
+    /**
+     * Get the size of the box along the up direction
+     *
+     * @return height of the box
+     */
+    public double getHeight() {
+        return 2 * this.halfSizes[1];
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
+    }
+
+    @Override
+    public Vector getNormal(Point point) {
+        // The face of the point is along the axis where the point is relatively farthest from the center
+        int face = 0;
+        double faceCoordinate = 0;
+        double farthest = -1;
+        for (int k = 0; k < 3; k++) {
+            double coordinate = Vec3.dotProduct(this.axes[k], point, this.center);
+            double ratio = Math.abs(coordinate) / this.halfSizes[k];
+            if (ratio > farthest) {
+                farthest = ratio;
+                face = k;
+                faceCoordinate = coordinate;
+            }
+        }
+
+        return faceCoordinate < 0 ? this.axes[face].scale(-1) : this.axes[face];
+    }
+
+    /**
+     * Clips a ray by the three slabs of the box
+     *
+     * @param ray ray
+     * @param range array to write the distances the ray enters and leaves the box into
+     * @return false if the ray misses the box, true otherwise
+     */
+    private boolean clip(Ray ray, double[] range) {
+        Point p0 = ray.getStartPoint();
+        Vector v = ray.getDirection();
+        double tNear = Double.NEGATIVE_INFINITY;
+        double tFar = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < 3; k++) {
+            double origin = Vec3.dotProduct(this.axes[k], p0, this.center);
+            double direction = Vec3.dotProduct(this.axes[k], v);
+            if (isZero(direction)) { // The ray is parallel to the slab
+                if (alignZero(Math.abs(origin) - this.halfSizes[k]) > 0)
+                    return false;
+                continue;
+            }
+
+            double t1 = (-this.halfSizes[k] - origin) / direction;
+            double t2 = (this.halfSizes[k] - origin) / direction;
+            tNear = Math.max(tNear, Math.min(t1, t2));
+            tFar = Math.min(tFar, Math.max(t1, t2));
+        }
+
+        range[0] = alignZero(tNear);
+        range[1] = alignZero(tFar);
+        return range[0] <= range[1] && range[1] > 0;
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double[] range = new double[2];
+        if (!clip(ray, range) || alignZero(range[0] - maxDistance) > 0)
+            return null;
+
+        // Tangent rays touch the box at a single point
+        boolean far = range[0] != range[1] && alignZero(range[1] - maxDistance) <= 0;
+        if (range[0] <= 0)
+            return far ? List.of(new GeoPoint(this, ray.getPoint(range[1]))) : null;
+        return far
+                ? List.of(new GeoPoint(this, ray.getPoint(range[0])), new GeoPoint(this, ray.getPoint(range[1])))
+                : List.of(new GeoPoint(this, ray.getPoint(range[0])));
+    }
+
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        double[] range = new double[2];
+        if (!clip(ray, range))
+            return maxDistance;
+
+        // The entry is the closest intersection, unless the ray starts inside the box
+        double t = range[0] > 0 ? range[0] : range[1];
+        if (alignZero(t - maxDistance) > 0)
+            return maxDistance;
+
+        closest.geometry = this;
+        return t;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OrientedBox {Center: %s, Axes: %s %s %s}",
+                this.center, this.axes[0], this.axes[1], this.axes[2]);
+    }
+}
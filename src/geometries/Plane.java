@@ -39,6 +39,15 @@ public class Plane extends Geometry {
         this.normal = normal.normalize();
     }
 
+    /**
+     * Get the Point object of the Plane object
+     *
+     * @return Point object of the Plane object
+     */
+    public Point getQ0() {
+        return this.q0;
+    }
+
     /**
      * Get the normal Vector object of the Plane object
      *
@@ -53,29 +62,51 @@ public class Plane extends Geometry {
         return this.normal;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.INFINITE;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double t = findIntersectionDistance(ray, maxDistance);
+        return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        double t = findIntersectionDistance(ray, maxDistance);
+        if (Double.isNaN(t))
+            return maxDistance;
+
+        closest.geometry = this;
+        return t;
+    }
+
+    /**
+     * Finds the distance of the intersection of a ray with the plane up to a maximum distance
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @return distance of the intersection, or {@link Double#NaN} if there is no intersection
+     */
+    double findIntersectionDistance(Ray ray, double maxDistance) {
         Point P0 = ray.getStartPoint();
         Vector v = ray.getDirection();
 
-        double t;
         double nv = this.normal.dotProduct(v);
 
         if (isZero(nv))
-            return null;
-
-        try
-        {
-            t = alignZero(this.normal.dotProduct(this.q0.subtract(P0)) / nv);
-        }
-        catch (IllegalArgumentException e)
-        {
-            return null;
-        }
-
-        return (alignZero(t - maxDistance) <= 0 && t > 0) ?
-                List.of(new GeoPoint(this, ray.getPoint(t)))
-                : null;
+            return Double.NaN;
+
+        // The ray starting at q0 would make (q0 - P0) the Zero Vector
+        if (isZero(this.q0.getX() - P0.getX()) && isZero(this.q0.getY() - P0.getY())
+                && isZero(this.q0.getZ() - P0.getZ()))
+            return Double.NaN;
+
+        double t = alignZero(Vec3.dotProduct(this.normal, this.q0, P0) / nv);
+
+        return alignZero(t - maxDistance) <= 0 && t > 0 ? t : Double.NaN;
     }
 
     @Override
@@ -3,7 +3,6 @@ package geometries;
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import primitives.Point;
@@ -19,6 +18,16 @@ public class Polygon extends Geometry {
    /** Associated plane in which the polygon lays */
    protected final Plane       plane;
    private final int           size;
+   /** Bounding box of the polygon's vertices */
+   private final BoundingBox   boundingBox;
+   /** The two coordinate axes (0 - x, 1 - y, 2 - z) of the plane the polygon is
+    * projected on for the inside test - the axis along which the normal is
+    * longest is dropped */
+   private final int           axisA, axisB;
+   /** In-plane inward normal of each edge, projected on the two axes, and its
+    * offset: a projected point (a, b) is inside the polygon iff
+    * {@code edgeA[i] * a + edgeB[i] * b - edgeOffset[i] > 0} for every edge */
+   private final double[]      edgeA, edgeB, edgeOffset;
 
    /** Polygon constructor based on vertices list. The list must be ordered by edge
     * path. The polygon must be convex.
@@ -45,11 +54,50 @@ public class Polygon extends Geometry {
          throw new IllegalArgumentException("A polygon can't have less than 3 vertices");
       this.vertices = List.of(vertices);
       size          = vertices.length;
+      boundingBox   = new BoundingBox(vertices);
 
       // Generate the plane according to the first three vertices and associate the
       // polygon with this plane.
       // The plane holds the invariant normal (orthogonal unit) vector to the polygon
       plane         = new Plane(vertices[0], vertices[1], vertices[2]);
+
+      // Precompute the edges for the inside test of the intersection point
+      Vector normal = plane.getNormal();
+      double nX     = Math.abs(normal.getX());
+      double nY     = Math.abs(normal.getY());
+      double nZ     = Math.abs(normal.getZ());
+      int    drop   = nX >= nY && nX >= nZ ? 0 : nY >= nZ ? 1 : 2;
+      axisA         = drop == 0 ? 1 : 0;
+      axisB         = drop == 2 ? 1 : 2;
+      edgeA         = new double[size];
+      edgeB         = new double[size];
+      edgeOffset    = new double[size];
+
+      double centerA = 0, centerB = 0;
+      for (Point vertex : vertices) {
+         centerA += coordinate(vertex, axisA) / size;
+         centerB += coordinate(vertex, axisB) / size;
+      }
+      for (int i = 0; i < size; ++i) {
+         Point  from    = vertices[i];
+         Point  to      = vertices[(i + 1) % size];
+         double a       = coordinate(to, axisB) - coordinate(from, axisB);
+         double b       = coordinate(from, axisA) - coordinate(to, axisA);
+         double length  = Math.sqrt(a * a + b * b);
+         a /= length;
+         b /= length;
+         double offset  = a * coordinate(from, axisA) + b * coordinate(from, axisB);
+         // Flip the normal if it points outside - the center of a convex polygon is inside
+         if (a * centerA + b * centerB - offset < 0) {
+            a      = -a;
+            b      = -b;
+            offset = -offset;
+         }
+         edgeA[i]      = a;
+         edgeB[i]      = b;
+         edgeOffset[i] = offset;
+      }
+
       if (size == 3) return; // no need for more tests for a Triangle
 
       Vector  n        = plane.getNormal();
@@ -80,40 +128,59 @@ public class Polygon extends Geometry {
       }
    }
 
+   /** Getter for the vertices of the polygon
+    * @return list of the vertices, in their order by edge path */
+   public List<Point> getVertices() { return vertices; }
+
    @Override
    public Vector getNormal(Point point) { return plane.getNormal(); }
 
    @Override
-   protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-      List<GeoPoint> intersections = this.plane.findGeoIntersectionsHelper(ray, maxDistance);
-
-      if (intersections == null)
-         return null;
-
-      // Check if the point is in the polygon
-      List<Vector> vectors = new ArrayList<>(this.vertices.size());
+   public BoundingBox getBoundingBox() { return boundingBox; }
 
-      Point start = ray.getStartPoint();
-      for (Point vertice : this.vertices)
-         vectors.add(vertice.subtract(start));
+   @Override
+   protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+      double t = findIntersectionDistance(ray, maxDistance);
+      return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+   }
 
-      List<Vector> normals = new ArrayList<>(vertices.size());
-      for (int i = 0; i < vertices.size(); ++i)
-         normals.add(vectors.get(i).crossProduct(vectors.get((i + 1) % vertices.size())).normalize());
+   @Override
+   protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+      double t = findIntersectionDistance(ray, maxDistance);
+      if (Double.isNaN(t))
+         return maxDistance;
 
-      Vector dir = ray.getDirection();
-      double initSign = alignZero(dir.dotProduct(normals.get(0)));
-      if (initSign == 0)
-         return null;
+      closest.geometry = this;
+      return t;
+   }
 
-      for (Vector normal : normals) {
-         double sign = alignZero(dir.dotProduct(normal));
-         if (sign * initSign <= 0)
-            return null;
-      }
+   /** Finds the distance of the intersection of a ray with the polygon up to a maximum distance
+    * @param  ray         ray
+    * @param  maxDistance maximum distance
+    * @return             distance of the intersection, or {@link Double#NaN} if there is no intersection */
+   double findIntersectionDistance(Ray ray, double maxDistance) {
+      double t = this.plane.findIntersectionDistance(ray, maxDistance);
+
+      if (Double.isNaN(t))
+         return Double.NaN;
+
+      // Check if the intersection point is inside all the edges (on the projection plane)
+      Point  start = ray.getStartPoint();
+      Vector dir   = ray.getDirection();
+      double a     = coordinate(start, axisA) + t * coordinate(dir, axisA);
+      double b     = coordinate(start, axisB) + t * coordinate(dir, axisB);
+      for (int i = 0; i < size; ++i)
+         if (alignZero(edgeA[i] * a + edgeB[i] * b - edgeOffset[i]) <= 0)
+            return Double.NaN;
+
+      return t;
+   }
 
-      // Return the result
-      intersections.get(0).geometry = this;
-      return intersections;
+   /** Gets a coordinate of a point
+    * @param  point point
+    * @param  axis  0 for x, 1 for y, 2 for z
+    * @return       the coordinate */
+   private static double coordinate(Point point, int axis) {
+      return axis == 0 ? point.getX() : axis == 1 ? point.getY() : point.getZ();
    }
 }
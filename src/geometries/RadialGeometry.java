@@ -19,4 +19,13 @@ public abstract class RadialGeometry extends Geometry {
             throw new IllegalArgumentException("The radius must be greater than 0");
         this.radius = radius;
     }
+
+    /**
+     * Get the radius of the geometric object
+     *
+     * @return radius of the geometric object
+     */
+    public double getRadius() {
+        return this.radius;
+    }
 }
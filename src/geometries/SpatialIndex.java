@@ -0,0 +1,62 @@
+package geometries;
+
+import primitives.Ray;
+
+/**
+ * This interface is the base for spatial indices over indexed primitives, which find the primitives a ray may hit.
+ * The primitives themselves are kept by the owner of the index (e.g. in an array of geometries, or the faces of a
+ * mesh), which is called back with the index of every primitive a ray may hit
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public interface SpatialIndex {
+    /**
+     * Visits the primitives a ray may hit, in any order
+     */
+    @FunctionalInterface
+    interface Visitor {
+        /**
+         * Visits a primitive
+         *
+         * @param primitive primitive index
+         * @return true to continue the traversal, false to stop it
+         */
+        boolean visit(int primitive);
+    }
+
+    /**
+     * Visits the primitives a ray may hit, looking for the closest hit - the nearer primitives are visited first and
+     * the primitives beyond the closest hit found so far are skipped
+     */
+    @FunctionalInterface
+    interface ClosestVisitor {
+        /**
+         * Visits a primitive
+         *
+         * @param primitive primitive index
+         * @param maxDistance distance of the closest hit found so far
+         * @return the distance of the closest hit, including the primitive
+         */
+        double visit(int primitive, double maxDistance);
+    }
+
+    /**
+     * Visits, once each, all the primitives a ray may hit before a maximum distance
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param visitor primitives visitor
+     * @return false if the visitor stopped the traversal, true otherwise
+     */
+    boolean forEach(Ray ray, double maxDistance, Visitor visitor);
+
+    /**
+     * Visits the primitives a ray may hit, nearest first, skipping the primitives beyond the closest hit found so far
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param visitor primitives visitor
+     * @return the distance of the closest hit, or maxDistance if no primitive was hit
+     */
+    double findClosest(Ray ray, double maxDistance, ClosestVisitor visitor);
+}
@@ -13,6 +13,7 @@ import static primitives.Util.alignZero;
  */
 public class Sphere extends RadialGeometry {
     private final Point center;
+    private final BoundingBox boundingBox;
 
     /**
      * Constructor to initialize Sphere object with its parameters
@@ -23,6 +24,10 @@ public class Sphere extends RadialGeometry {
     public Sphere(Point center, double radius) {
         super(radius);
         this.center = center;
+        this.boundingBox = new BoundingBox(
+                center.getX() - radius, center.getY() - radius, center.getZ() - radius,
+                center.getX() + radius, center.getY() + radius, center.getZ() + radius
+        );
     }
 
     /**
@@ -45,13 +50,9 @@ public class Sphere extends RadialGeometry {
         return this.center;
     }
 
-    /**
-     * Get the radius of the Sphere object
-     *
-     * @return radius of the Sphere object
-     */
-    public double getRadius() {
-        return super.radius;
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
     }
 
     @Override
@@ -64,19 +65,13 @@ public class Sphere extends RadialGeometry {
         Point P0 = ray.getStartPoint();
         Vector v = ray.getDirection();
 
-        Vector u;
+        Vec3 u = new Vec3().setSubtract(this.center, P0);
+        if (u.isZero()) // The ray starts at the center
+            return alignZero(this.radius - maxDistance) > 0 ? null
+                    : List.of(new GeoPoint(this, ray.getPoint(this.radius)));
 
-        try
-        {
-            u = this.center.subtract(P0);
-        }
-        catch (IllegalArgumentException e)
-        {
-            return List.of(new GeoPoint(this, ray.getPoint(this.radius)));
-        }
-
-        double tm = v.dotProduct(u);
-        double d = Math.sqrt(u.lengthSquared() - tm * tm);
+        double tm = u.dotProduct(v);
+        double d = Math.sqrt(Math.max(0, u.lengthSquared() - tm * tm));
 
         if (d >= this.radius)
             return null;
@@ -96,6 +91,41 @@ public class Sphere extends RadialGeometry {
         return t1 <= 0 ? List.of(getGeoPoint(ray, t2)) : List.of(getGeoPoint(ray, t1), getGeoPoint(ray, t2));
     }
 
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        Point P0 = ray.getStartPoint();
+        Vector v = ray.getDirection();
+
+        Vec3 u = new Vec3().setSubtract(this.center, P0);
+        if (u.isZero()) { // The ray starts at the center
+            if (alignZero(this.radius - maxDistance) > 0)
+                return maxDistance;
+            closest.geometry = this;
+            return this.radius;
+        }
+
+        double tm = u.dotProduct(v);
+        double d = Math.sqrt(Math.max(0, u.lengthSquared() - tm * tm));
+
+        if (d >= this.radius)
+            return maxDistance;
+
+        double th = Math.sqrt(this.radius * this.radius - d * d);
+
+        // The nearer intersection is the closest one, unless it is behind the ray's start point
+        double t = alignZero(tm - th);
+        if (t <= 0) {
+            t = alignZero(tm + th);
+            if (t <= 0 || alignZero(t - maxDistance) >= 0)
+                return maxDistance;
+        }
+        else if (alignZero(t - maxDistance) > 0)
+            return maxDistance;
+
+        closest.geometry = this;
+        return t;
+    }
+
     @Override
     public String toString() {
         return String.format("Sphere {Center: %s, Radius: %s}", this.center, super.radius);
@@ -4,7 +4,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
-import java.util.List;
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
  * This class represents a Triangle object
@@ -12,6 +13,13 @@ import java.util.List;
  * @author Benjamin Mamistvalov, Eyal Nathan
  */
 public class Triangle extends Polygon {
+    // First vertex and the two edges leaving it, precomputed for the Moller-Trumbore intersection test
+    private final double p1X, p1Y, p1Z;
+    private final double e1X, e1Y, e1Z;
+    private final double e2X, e2Y, e2Z;
+    /** Length of the cross product of the edges, to scale the parallel-ray test independently of the size */
+    private final double crossLength;
+
     /**
      * Constructor to initialize Triangle object based on 3 Point objects
      *
@@ -21,26 +29,94 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point p1, Point p2, Point p3) {
         super(p1, p2, p3);
+
+        this.p1X = p1.getX();
+        this.p1Y = p1.getY();
+        this.p1Z = p1.getZ();
+        this.e1X = p2.getX() - this.p1X;
+        this.e1Y = p2.getY() - this.p1Y;
+        this.e1Z = p2.getZ() - this.p1Z;
+        this.e2X = p3.getX() - this.p1X;
+        this.e2Y = p3.getY() - this.p1Y;
+        this.e2Z = p3.getZ() - this.p1Z;
+        this.crossLength = new Vector(
+                this.e1Y * this.e2Z - this.e1Z * this.e2Y,
+                this.e1Z * this.e2X - this.e1X * this.e2Z,
+                this.e1X * this.e2Y - this.e1Y * this.e2X
+        ).length();
     }
 
+    /**
+     * Finds the distance of the intersection of a ray with the triangle up to a maximum distance using the
+     * Moller-Trumbore algorithm - the barycentric coordinates (u, v) of the intersection and its distance are solved
+     * together, without finding the intersection with the plane first. Intersections on the edges are not counted
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @return distance of the intersection, or {@link Double#NaN} if there is no intersection
+     */
     @Override
-    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+    double findIntersectionDistance(Ray ray, double maxDistance) {
+        return findIntersectionDistance(ray, maxDistance, this.p1X, this.p1Y, this.p1Z,
+                this.e1X, this.e1Y, this.e1Z, this.e2X, this.e2Y, this.e2Z, this.crossLength);
+    }
+
+    /**
+     * Finds the distance of the intersection of a ray with a triangle given by its first vertex and the two edges
+     * leaving it, by the Moller-Trumbore algorithm. The kernel of the triangles and of the faces of a
+     * {@link TriangleMesh}
+     *
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @param p1X x of the first vertex
+     * @param p1Y y of the first vertex
+     * @param p1Z z of the first vertex
+     * @param e1X x of the edge to the second vertex
+     * @param e1Y y of the edge to the second vertex
+     * @param e1Z z of the edge to the second vertex
+     * @param e2X x of the edge to the third vertex
+     * @param e2Y y of the edge to the third vertex
+     * @param e2Z z of the edge to the third vertex
+     * @param crossLength length of the cross product of the edges, 0 for a degenerate triangle
+     * @return distance of the intersection, or {@link Double#NaN} if there is no intersection
+     */
+    static double findIntersectionDistance(Ray ray, double maxDistance, double p1X, double p1Y, double p1Z,
+                                           double e1X, double e1Y, double e1Z, double e2X, double e2Y, double e2Z,
+                                           double crossLength) {
         Point p0 = ray.getStartPoint();
-        Vector v = ray.getDirection();
+        Vector dir = ray.getDirection();
+        double dX = dir.getX(), dY = dir.getY(), dZ = dir.getZ();
+
+        // p = dir x e2
+        double pX = dY * e2Z - dZ * e2Y;
+        double pY = dZ * e2X - dX * e2Z;
+        double pZ = dX * e2Y - dY * e2X;
+
+        // The parallel-ray test is scaled by the cross product of the edges, so it doesn't depend on the size
+        double det = e1X * pX + e1Y * pY + e1Z * pZ;
+        if (crossLength == 0 || isZero(det / crossLength)) // Degenerate triangle, or the ray is parallel to it
+            return Double.NaN;
+        double inverseDet = 1 / det;
+
+        // s = p0 - p1
+        double sX = p0.getX() - p1X;
+        double sY = p0.getY() - p1Y;
+        double sZ = p0.getZ() - p1Z;
 
-        Vector v1 = super.vertices.get(0).subtract(p0);
-        Vector v2 = super.vertices.get(1).subtract(p0);
-        Vector v3 = super.vertices.get(2).subtract(p0);
+        double u = alignZero((sX * pX + sY * pY + sZ * pZ) * inverseDet);
+        if (u <= 0 || alignZero(u - 1) >= 0)
+            return Double.NaN;
 
-        Vector n1 = v1.crossProduct(v2).normalize();
-        Vector n2 = v2.crossProduct(v3).normalize();
-        Vector n3 = v3.crossProduct(v1).normalize();
+        // q = s x e1
+        double qX = sY * e1Z - sZ * e1Y;
+        double qY = sZ * e1X - sX * e1Z;
+        double qZ = sX * e1Y - sY * e1X;
 
-        if (!(v.dotProduct(n1) > 0 && v.dotProduct(n2) > 0 && v.dotProduct(n3) > 0 ||
-                v.dotProduct(n1) < 0 && v.dotProduct(n2) < 0 && v.dotProduct(n3) < 0))
-            return null;
+        double v = alignZero((dX * qX + dY * qY + dZ * qZ) * inverseDet);
+        if (v <= 0 || alignZero(u + v - 1) >= 0)
+            return Double.NaN;
 
-        List<Point> intersections = this.plane.findIntersections(ray);
-        return intersections == null ? null : List.of(new GeoPoint(this, intersections.get(0)));
+        double t = alignZero((e2X * qX + e2Y * qY + e2Z * qZ) * inverseDet);
+        return t > 0 && alignZero(t - maxDistance) <= 0 ? t : Double.NaN;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,361 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a mesh of triangles sharing their vertices. The vertices are packed in a single array of
+ * coordinates and the faces in a single array of vertex indices, so a mesh of many triangles holds no point, vector or
+ * geometry objects - the normals of the faces are computed when needed (only the lengths of their edges' cross
+ * products are kept, for the intersection kernel), and the faces are found through the mesh's own bounding volume
+ * hierarchy. All the faces share the mesh's emission and material.
+ * An intersection reports a lightweight geometry of its face, as if the faces were separate {@link Triangle}s
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class TriangleMesh extends Intersectable {
+    // Coordinates of the vertices - 3 numbers per vertex: x, y and z
+    private final double[] vertices;
+    // Vertices of the faces - 3 vertex indices per face
+    private final int[] faces;
+    // Lengths of the cross products of the faces' edges, for the parallel-ray test of the intersection kernel
+    private final double[] crossLengths;
+    private final BVH index;
+    private final BoundingBox boundingBox;
+    private Color emission = Color.BLACK;
+    private Material material = new Material();
+
+    /**
+     * Constructor to initialize a mesh with its vertices and faces. The arrays are used as is, not copied
+     *
+     * @param vertices coordinates of the vertices, 3 numbers per vertex
+     * @param faces vertex indices of the faces, 3 indices per face
+     * @throws IllegalArgumentException if an array is not of triples or a face refers to a missing vertex
+     */
+    public TriangleMesh(double[] vertices, int[] faces) {
+        this(vertices, faces, null);
+    }
+
+    /**
+     * Constructor to initialize a mesh with its vertices, faces and a prebuilt hierarchy of its faces (e.g. loaded
+     * from a file, see {@link #getIndex()}), so the hierarchy is not built again. The arrays are used as is, not
+     * copied
+     *
+     * @param vertices coordinates of the vertices, 3 numbers per vertex
+     * @param faces vertex indices of the faces, 3 indices per face
+     * @param index hierarchy of the faces, or null to build it
+     * @throws IllegalArgumentException if an array is not of triples, a face refers to a missing vertex or the
+     *                                  hierarchy is not of the faces
+     */
+    public TriangleMesh(double[] vertices, int[] faces, BVH index) {
+        if (vertices.length % 3 != 0 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("Vertices and faces must be given by triples");
+        if (index != null && index.getPrimitives().length != faces.length / 3)
+            throw new IllegalArgumentException("The hierarchy is not of the faces of the mesh");
+
+        int verticesCount = vertices.length / 3;
+        for (int vertex : faces)
+            if (vertex < 0 || vertex >= verticesCount)
+                throw new IllegalArgumentException("Face refers to a missing vertex " + vertex);
+
+        this.vertices = vertices;
+        this.faces = faces;
+
+        // Bounds of the faces, to build the hierarchy, and of the whole mesh
+        double[] boxes = index == null ? new double[2 * faces.length] : null;
+        double[] bounds = {
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        this.crossLengths = new double[faces.length / 3];
+        for (int face = 0; face < faces.length / 3; face++) {
+            this.crossLengths[face] = crossLength(face);
+            for (int axis = 0; axis < 3; axis++) {
+                double a = vertices[3 * faces[3 * face] + axis];
+                double b = vertices[3 * faces[3 * face + 1] + axis];
+                double c = vertices[3 * faces[3 * face + 2] + axis];
+                double min = Math.min(a, Math.min(b, c));
+                double max = Math.max(a, Math.max(b, c));
+                if (boxes != null) {
+                    boxes[6 * face + axis] = min;
+                    boxes[6 * face + 3 + axis] = max;
+                }
+                bounds[axis] = Math.min(bounds[axis], min);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], max);
+            }
+        }
+
+        if (index == null) {
+            AccelerationBuildEvent event = new AccelerationBuildEvent();
+            event.begin();
+            index = new BVH(boxes);
+            if (event.shouldCommit()) {
+                event.acceleration = "MESH";
+                event.indexed = faces.length / 3;
+                event.commit();
+            }
+        }
+        this.index = index;
+        this.boundingBox = faces.length == 0 ? BoundingBox.EMPTY
+                : new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * Gets the amount of vertices
+     *
+     * @return amount of vertices
+     */
+    public int getVerticesCount() {
+        return this.vertices.length / 3;
+    }
+
+    /**
+     * Gets the amount of faces
+     *
+     * @return amount of faces
+     */
+    public int getFacesCount() {
+        return this.faces.length / 3;
+    }
+
+    /**
+     * Gets the coordinates of the vertices. The array is the mesh's own, not a copy
+     *
+     * @return coordinates of the vertices, 3 numbers per vertex
+     */
+    public double[] getVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Gets the vertex indices of the faces. The array is the mesh's own, not a copy
+     *
+     * @return vertex indices of the faces, 3 indices per face
+     */
+    public int[] getFaces() {
+        return this.faces;
+    }
+
+    /**
+     * Gets the bounding volume hierarchy of the faces
+     *
+     * @return hierarchy of the faces, whose primitives are face indices
+     */
+    public BVH getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the emission color of the faces
+     *
+     * @return emission color
+     */
+    public Color getEmission() {
+        return this.emission;
+    }
+
+    /**
+     * Gets the material of the faces
+     *
+     * @return material
+     */
+    public Material getMaterial() {
+        return this.material;
+    }
+
+    /**
+     * Sets the emission color of the faces
+     *
+     * @param emission new emission color
+     * @return the updated TriangleMesh object
+     */
+    public TriangleMesh setEmission(Color emission) {
+        this.emission = emission;
+        return this;
+    }
+
+    /**
+     * Sets the material of the faces
+     *
+     * @param material new Material object
+     * @return the updated TriangleMesh object
+     */
+    public TriangleMesh setMaterial(Material material) {
+        this.material = material;
+        return this;
+    }
+
+    /**
+     * Computes the cross product of the edges of a face, leaving its first vertex by the order of its vertices
+     *
+     * @param face face index
+     * @return the cross product, as x, y and z
+     */
+    private double[] cross(int face) {
+        int p1 = 3 * this.faces[3 * face];
+        int p2 = 3 * this.faces[3 * face + 1];
+        int p3 = 3 * this.faces[3 * face + 2];
+        double e1X = this.vertices[p2] - this.vertices[p1];
+        double e1Y = this.vertices[p2 + 1] - this.vertices[p1 + 1];
+        double e1Z = this.vertices[p2 + 2] - this.vertices[p1 + 2];
+        double e2X = this.vertices[p3] - this.vertices[p1];
+        double e2Y = this.vertices[p3 + 1] - this.vertices[p1 + 1];
+        double e2Z = this.vertices[p3 + 2] - this.vertices[p1 + 2];
+        return new double[] { e1Y * e2Z - e1Z * e2Y, e1Z * e2X - e1X * e2Z, e1X * e2Y - e1Y * e2X };
+    }
+
+    /**
+     * Computes the length of the cross product of the edges of a face
+     *
+     * @param face face index
+     * @return the length, 0 for a degenerate face
+     */
+    private double crossLength(int face) {
+        double[] cross = cross(face);
+        return Math.sqrt(cross[0] * cross[0] + cross[1] * cross[1] + cross[2] * cross[2]);
+    }
+
+    /**
+     * Computes the normal of a face, by the order of its vertices (counterclockwise around the normal)
+     *
+     * @param face face index
+     * @return normal of the face
+     */
+    public Vector getNormal(int face) {
+        double[] cross = cross(face);
+        return new Vector(cross[0], cross[1], cross[2]).normalize();
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return this.boundingBox;
+    }
+
+    /**
+     * Finds the distance of the intersection of a ray with a face up to a maximum distance, by the Moller-Trumbore
+     * kernel of {@link Triangle}. Intersections on the edges are not counted
+     *
+     * @param face face index
+     * @param ray ray
+     * @param maxDistance maximum distance
+     * @return distance of the intersection, or {@link Double#NaN} if there is no intersection
+     */
+    private double findIntersectionDistance(int face, Ray ray, double maxDistance) {
+        IntersectionCounter.count(this);
+        int p1 = 3 * this.faces[3 * face];
+        int p2 = 3 * this.faces[3 * face + 1];
+        int p3 = 3 * this.faces[3 * face + 2];
+        double p1X = this.vertices[p1], p1Y = this.vertices[p1 + 1], p1Z = this.vertices[p1 + 2];
+        return Triangle.findIntersectionDistance(ray, maxDistance, p1X, p1Y, p1Z,
+                this.vertices[p2] - p1X, this.vertices[p2 + 1] - p1Y, this.vertices[p2 + 2] - p1Z,
+                this.vertices[p3] - p1X, this.vertices[p3 + 1] - p1Y, this.vertices[p3 + 2] - p1Z,
+                this.crossLengths[face]);
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new ArrayList<>();
+        this.index.forEach(ray, maxDistance, face -> {
+            double t = findIntersectionDistance(face, ray, maxDistance);
+            if (!Double.isNaN(t))
+                intersections.add(new GeoPoint(new Face(face), ray.getPoint(t)));
+            return true;
+        });
+
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+        int[] closestFace = { -1 };
+        double distance = this.index.findClosest(ray, maxDistance, (face, max) -> {
+            double t = findIntersectionDistance(face, ray, max);
+            if (Double.isNaN(t))
+                return max;
+
+            closestFace[0] = face;
+            return t;
+        });
+
+        if (closestFace[0] >= 0)
+            closest.geometry = new Face(closestFace[0]);
+        return distance;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 ktr, double minK) {
+        // Any intersection with an opaque mesh blocks the light, as in Geometry
+        if (this.material.kT.lowerThan(minK)) {
+            boolean blocked = !this.index.forEach(ray, maxDistance,
+                    face -> Double.isNaN(findIntersectionDistance(face, ray, maxDistance)));
+            return blocked ? Double3.ZERO : ktr;
+        }
+
+        return super.findTransparencyHelper(ray, maxDistance, ktr, minK);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TriangleMesh {Vertices: %d, Faces: %d}", getVerticesCount(), getFacesCount());
+    }
+
+    /**
+     * A face of the mesh, created for an intersection, so the ray tracer sees it as a geometry with the mesh's
+     * material and emission. Faces of the same mesh and index are equal, so the faces of different intersections can
+     * be used as the same key (e.g. by the wrappers of an {@link Instance})
+     */
+    private class Face extends Geometry {
+        private final int face;
+
+        /**
+         * Constructor to initialize a face of the mesh
+         *
+         * @param face face index
+         */
+        Face(int face) {
+            this.face = face;
+        }
+
+        @Override
+        public Vector getNormal(Point point) {
+            return TriangleMesh.this.getNormal(this.face);
+        }
+
+        @Override
+        public Color getEmission() {
+            return emission;
+        }
+
+        @Override
+        public Material getMaterial() {
+            return material;
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            double t = findIntersectionDistance(this.face, ray, maxDistance);
+            return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+        }
+        /**
+         * Gets the mesh of the face
+         *
+         * @return the mesh
+         */
+        private TriangleMesh mesh() {
+            return TriangleMesh.this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            return obj instanceof Face other && other.mesh() == TriangleMesh.this && other.face == this.face;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(TriangleMesh.this) + this.face;
+        }
+    }
+}
@@ -46,28 +46,27 @@ public class Tube extends RadialGeometry {
         return point.subtract(rayPoint).normalize();
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.INFINITE;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         Point rayStart = ray.getStartPoint();
         Point tubeStart = this.axisRay.getStartPoint();
         Vector rayDir = ray.getDirection();
         Vector tubeDir = this.axisRay.getDirection();
-        Vector k;
 
-        try {
-            k = rayDir.crossProduct(tubeDir);
-        }
-        catch (IllegalArgumentException ex) {
+        Vec3 k = new Vec3().set(rayDir).crossProduct(tubeDir);
+        if (k.isZero()) // The ray is parallel to the tube
             return null;
-        }
 
-        Vector e;
-        try {
-            e = rayStart.subtract(tubeStart).crossProduct(tubeDir);
-        }
-        catch (IllegalArgumentException ex) {
+        Vec3 e = new Vec3().setSubtract(rayStart, tubeStart).crossProduct(tubeDir);
+        if (e.isZero()) { // The ray starts on the axis of the tube
+            double t = this.radius / Math.sqrt(k.lengthSquared());
             List<GeoPoint> intersections = new LinkedList<>();
-            intersections.add(new GeoPoint(this, rayStart.add(rayDir.scale(this.radius / k.length()))));
+            intersections.add(new GeoPoint(this, rayStart.add(rayDir.scale(t))));
             return intersections;
         }
 
@@ -0,0 +1,344 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * This class is a uniform grid over indexed primitives: the bounds of the primitives are split into equal cells, and
+ * every cell lists the primitives whose bounding boxes overlap it. A ray walks through the cells it crosses in order
+ * (3D-DDA), so on evenly distributed scenes it visits few primitives with no tree to descend.
+ * A primitive overlapping several cells is visited once per ray, thanks to mailboxing: every ray stamps the primitives
+ * it visits.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class UniformGrid implements SpatialIndex {
+    /**
+     * Tolerance of the slab test, as in {@link BoundingBox}
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Average amount of cells per primitive, used to choose the resolution
+     */
+    private static final double DENSITY = 3;
+
+    /**
+     * Maximal amount of cells along an axis
+     */
+    private static final int MAX_RESOLUTION = 128;
+
+    /**
+     * Stamps of the primitives visited by the rays of a thread
+     */
+    private static class Mailbox {
+        private final int[] stamps;
+        private int ray = 0;
+
+        /**
+         * Constructor to initialize an empty mailbox
+         *
+         * @param count amount of primitives
+         */
+        Mailbox(int count) {
+            this.stamps = new int[count];
+        }
+
+        /**
+         * Starts the traversal of a new ray
+         */
+        void nextRay() {
+            if (++this.ray == 0) { // Overflow - the old stamps may be confused with the new ones
+                Arrays.fill(this.stamps, 0);
+                this.ray = 1;
+            }
+        }
+
+        /**
+         * Stamps a primitive as visited by the current ray
+         *
+         * @param primitive primitive index
+         * @return true if the primitive was not visited by the current ray yet
+         */
+        boolean stamp(int primitive) {
+            if (this.stamps[primitive] == this.ray)
+                return false;
+
+            this.stamps[primitive] = this.ray;
+            return true;
+        }
+    }
+
+    // Bounds of the grid
+    private final double[] min = new double[3];
+    private final double[] max = new double[3];
+    // Amount of cells and size of a cell along every axis
+    private final int[] resolution = new int[3];
+    private final double[] cellSize = new double[3];
+    // Primitives of the cells, cell after cell: the primitives of cell c are at [cellStarts[c], cellStarts[c + 1])
+    private final int[] cellStarts;
+    private final int[] cellPrimitives;
+    private final ThreadLocal<Mailbox> mailboxes;
+
+    /**
+     * Constructor to build the grid over primitives. The resolution is chosen so there are about {@value #DENSITY}
+     * cells per primitive, as cubic as possible
+     *
+     * @param boxes bounding boxes of the primitives, which must be finite, by primitive index
+     */
+    public UniformGrid(BoundingBox[] boxes) {
+        int count = boxes.length;
+        this.mailboxes = ThreadLocal.withInitial(() -> new Mailbox(count));
+
+        BoundingBox bounds = BoundingBox.EMPTY;
+        for (BoundingBox box : boxes)
+            bounds = bounds.union(box);
+
+        // Grow flat bounds a little, so every axis has cells of a positive size
+        double largest = 0;
+        for (int axis = 0; axis < 3; axis++)
+            largest = Math.max(largest, count == 0 ? 0 : bounds.getMax(axis) - bounds.getMin(axis));
+        double minimalExtent = Math.max(largest * 1e-3, 1e-6);
+        double volume = 1;
+        for (int axis = 0; axis < 3; axis++) {
+            double center = count == 0 ? 0 : bounds.getCenter(axis);
+            double extent = Math.max(count == 0 ? 0 : bounds.getMax(axis) - bounds.getMin(axis), minimalExtent);
+            this.min[axis] = center - extent / 2;
+            this.max[axis] = center + extent / 2;
+            volume *= extent;
+        }
+
+        double cellsPerLength = Math.cbrt(DENSITY * count / volume);
+        int cells = 1;
+        for (int axis = 0; axis < 3; axis++) {
+            double extent = this.max[axis] - this.min[axis];
+            this.resolution[axis] = (int) Math.max(1, Math.min(MAX_RESOLUTION, Math.round(extent * cellsPerLength)));
+            this.cellSize[axis] = extent / this.resolution[axis];
+            cells *= this.resolution[axis];
+        }
+
+        // Count the primitives of every cell, then place them
+        this.cellStarts = new int[cells + 1];
+        int[][] ranges = new int[count][];
+        for (int i = 0; i < count; i++) {
+            ranges[i] = cellRange(boxes[i]);
+            forEachCell(ranges[i], cell -> this.cellStarts[cell + 1]++);
+        }
+        for (int cell = 0; cell < cells; cell++)
+            this.cellStarts[cell + 1] += this.cellStarts[cell];
+
+        this.cellPrimitives = new int[this.cellStarts[cells]];
+        int[] filled = new int[cells];
+        for (int i = 0; i < count; i++) {
+            final int primitive = i;
+            forEachCell(ranges[i], cell -> this.cellPrimitives[this.cellStarts[cell] + filled[cell]++] = primitive);
+        }
+    }
+
+    /**
+     * Gets the amount of cells along an axis
+     *
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return amount of cells
+     */
+    public int getResolution(int axis) {
+        return this.resolution[axis];
+    }
+
+    /**
+     * Finds the range of cells a box overlaps
+     *
+     * @param box box
+     * @return first and last cell along x, y and z
+     */
+    private int[] cellRange(BoundingBox box) {
+        int[] range = new int[6];
+        for (int axis = 0; axis < 3; axis++) {
+            range[axis] = cell(box.getMin(axis), axis);
+            range[axis + 3] = cell(box.getMax(axis), axis);
+        }
+        return range;
+    }
+
+    /**
+     * Calls an action on all the cells of a range
+     *
+     * @param range first and last cell along x, y and z
+     * @param action action on the cell index
+     */
+    private void forEachCell(int[] range, IntConsumer action) {
+        for (int z = range[2]; z <= range[5]; z++)
+            for (int y = range[1]; y <= range[4]; y++)
+                for (int x = range[0]; x <= range[3]; x++)
+                    action.accept(cellIndex(x, y, z));
+    }
+
+    /**
+     * Finds the cell of a coordinate along an axis, clamped to the grid
+     *
+     * @param value coordinate
+     * @param axis axis
+     * @return cell along the axis
+     */
+    private int cell(double value, int axis) {
+        int cell = (int) Math.floor((value - this.min[axis]) / this.cellSize[axis]);
+        return Math.max(0, Math.min(this.resolution[axis] - 1, cell));
+    }
+
+    /**
+     * Gets the index of a cell
+     *
+     * @param x cell along x
+     * @param y cell along y
+     * @param z cell along z
+     * @return cell index
+     */
+    private int cellIndex(int x, int y, int z) {
+        return (z * this.resolution[1] + y) * this.resolution[0] + x;
+    }
+
+    @Override
+    public boolean forEach(Ray ray, double maxDistance, Visitor visitor) {
+        Walk walk = new Walk(ray, maxDistance);
+        if (!walk.hit)
+            return true;
+
+        Mailbox mailbox = this.mailboxes.get();
+        mailbox.nextRay();
+        do {
+            int cell = cellIndex(walk.cell[0], walk.cell[1], walk.cell[2]);
+            for (int k = this.cellStarts[cell]; k < this.cellStarts[cell + 1]; k++) {
+                int primitive = this.cellPrimitives[k];
+                if (mailbox.stamp(primitive) && !visitor.visit(primitive))
+                    return false;
+            }
+        } while (walk.next(maxDistance));
+
+        return true;
+    }
+
+    @Override
+    public double findClosest(Ray ray, double maxDistance, ClosestVisitor visitor) {
+        Walk walk = new Walk(ray, maxDistance);
+        if (!walk.hit)
+            return maxDistance;
+
+        Mailbox mailbox = this.mailboxes.get();
+        mailbox.nextRay();
+        do {
+            int cell = cellIndex(walk.cell[0], walk.cell[1], walk.cell[2]);
+            for (int k = this.cellStarts[cell]; k < this.cellStarts[cell + 1]; k++) {
+                int primitive = this.cellPrimitives[k];
+                if (mailbox.stamp(primitive))
+                    maxDistance = visitor.visit(primitive, maxDistance);
+            }
+
+            // The primitives of the next cells can only be hit beyond this cell
+            if (maxDistance <= walk.exit())
+                break;
+        } while (walk.next(maxDistance));
+
+        return maxDistance;
+    }
+
+    /**
+     * Walk of a ray through the cells of the grid (3D-DDA)
+     */
+    private class Walk {
+        // Whether the ray crosses the grid before the maximum distance
+        private final boolean hit;
+        // Current cell along every axis
+        private final int[] cell = new int[3];
+        // Step to the next cell along every axis (-1, 0 or 1)
+        private final int[] step = new int[3];
+        // Distance of the next cell border along every axis, and the distance between the cell borders
+        private final double[] next = new double[3];
+        private final double[] delta = new double[3];
+        // Distance the ray leaves the grid
+        private final double gridExit;
+
+        /**
+         * Constructor to start the walk of a ray at its first cell
+         *
+         * @param ray ray
+         * @param maxDistance maximum distance
+         */
+        Walk(Ray ray, double maxDistance) {
+            Point p0 = ray.getStartPoint();
+            Vector dir = ray.getDirection();
+            double[] origin = { p0.getX(), p0.getY(), p0.getZ() };
+            double[] direction = { dir.getX(), dir.getY(), dir.getZ() };
+
+            // Slab test against the bounds of the grid
+            double tMin = 0;
+            double tMax = maxDistance;
+            for (int axis = 0; axis < 3; axis++) {
+                double inverse = 1 / direction[axis];
+                double t1 = (min[axis] - origin[axis]) * inverse;
+                double t2 = (max[axis] - origin[axis]) * inverse;
+                if (inverse < 0) { double temp = t1; t1 = t2; t2 = temp; }
+                if (t1 > tMin) tMin = t1;
+                if (t2 < tMax) tMax = t2;
+            }
+
+            this.gridExit = tMax;
+            this.hit = tMin <= tMax + EPSILON;
+            if (!this.hit)
+                return;
+
+            for (int axis = 0; axis < 3; axis++) {
+                double entry = origin[axis] + tMin * direction[axis];
+                this.cell[axis] = cell(entry, axis);
+                if (direction[axis] > 0) {
+                    this.step[axis] = 1;
+                    this.delta[axis] = cellSize[axis] / direction[axis];
+                    this.next[axis] = (min[axis] + (this.cell[axis] + 1) * cellSize[axis] - origin[axis])
+                            / direction[axis];
+                } else if (direction[axis] < 0) {
+                    this.step[axis] = -1;
+                    this.delta[axis] = -cellSize[axis] / direction[axis];
+                    this.next[axis] = (min[axis] + this.cell[axis] * cellSize[axis] - origin[axis])
+                            / direction[axis];
+                } else {
+                    this.step[axis] = 0;
+                    this.delta[axis] = Double.POSITIVE_INFINITY;
+                    this.next[axis] = Double.POSITIVE_INFINITY;
+                }
+            }
+        }
+
+        /**
+         * Gets the distance the ray leaves the current cell
+         *
+         * @return exit distance
+         */
+        double exit() {
+            return Math.min(Math.min(this.next[0], this.next[1]), Math.min(this.next[2], this.gridExit));
+        }
+
+        /**
+         * Steps to the next cell the ray crosses
+         *
+         * @param maxDistance maximum distance
+         * @return false if the ray left the grid or passed the maximum distance, true otherwise
+         */
+        boolean next(double maxDistance) {
+            int axis = this.next[0] < this.next[1]
+                    ? (this.next[0] < this.next[2] ? 0 : 2)
+                    : (this.next[1] < this.next[2] ? 1 : 2);
+            if (this.next[axis] > maxDistance + EPSILON || this.next[axis] > this.gridExit + EPSILON)
+                return false;
+
+            this.cell[axis] += this.step[axis];
+            if (this.cell[axis] < 0 || this.cell[axis] >= resolution[axis])
+                return false;
+
+            this.next[axis] += this.delta[axis];
+            return true;
+        }
+    }
+}
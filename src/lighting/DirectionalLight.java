@@ -18,6 +18,15 @@ public class DirectionalLight extends Light implements LightSource {
         this.direction = direction.normalize();
     }
 
+    /**
+     * Gets the direction of the light
+     *
+     * @return direction Vector, normalized
+     */
+    public Vector getDirection() {
+        return this.direction;
+    }
+
     @Override
     public Color getIntensity(Point p) {
         return super.getIntensity();
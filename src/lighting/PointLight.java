@@ -14,7 +14,7 @@ public class PointLight extends Light implements LightSource {
      * @param intensity intensity Color
      * @param position position Point
      */
-    protected PointLight(Color intensity, Point position) {
+    public PointLight(Color intensity, Point position) {
         super(intensity);
         this.position = position;
         this.kC = 1;
@@ -55,6 +55,42 @@ public class PointLight extends Light implements LightSource {
         return this;
     }
 
+    /**
+     * Gets the position of the light
+     *
+     * @return position Point
+     */
+    public Point getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets kC
+     *
+     * @return kC
+     */
+    public double getKc() {
+        return this.kC;
+    }
+
+    /**
+     * Gets kL
+     *
+     * @return kL
+     */
+    public double getKl() {
+        return this.kL;
+    }
+
+    /**
+     * Gets kQ
+     *
+     * @return kQ
+     */
+    public double getKq() {
+        return this.kQ;
+    }
+
     @Override
     public Color getIntensity(Point p) {
         double distanceSquared = this.position.distanceSquared(p);
@@ -33,6 +33,24 @@ public class SpotLight extends PointLight {
         return this;
     }
 
+    /**
+     * Gets the direction of the light
+     *
+     * @return direction Vector, normalized
+     */
+    public Vector getDirection() {
+        return this.direction;
+    }
+
+    /**
+     * Gets the narrowness of the beam
+     *
+     * @return the narrowness of the beam
+     */
+    public int getNarrowBeam() {
+        return this.narrowBeam;
+    }
+
     @Override
     public Color getIntensity(Point p) {
         double v = this.direction.dotProduct(this.getL(p));
@@ -111,6 +111,16 @@ public class Color {
       return new Color(rgb.d1 / k.d1, rgb.d2 / k.d2, rgb.d3 / k.d3);
    }
 
+   /** Checks whether this color differs from another color by less than a threshold in every component
+    * @param  other     other color
+    * @param  threshold maximal difference per component
+    * @return           true if the colors are similar, false otherwise */
+   public boolean isSimilar(Color other, double threshold) {
+      return Math.abs(rgb.d1 - other.rgb.d1) < threshold
+             && Math.abs(rgb.d2 - other.rgb.d2) < threshold
+             && Math.abs(rgb.d3 - other.rgb.d3) < threshold;
+   }
+
    @Override
    public String toString() { return "rgb:" + rgb; }
 }
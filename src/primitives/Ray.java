@@ -23,7 +23,7 @@ public class Ray {
      */
     public Ray(Point p0, Vector dir) {
         this.p0 = p0;
-        this.dir = dir.normalize();
+        this.dir = normalize(dir);
     }
 
     /**
@@ -35,7 +35,17 @@ public class Ray {
      */
     public Ray(Point head, Vector direction, Vector normal) {
         this.p0 = head.add(normal.scale(normal.dotProduct(direction) > 0 ? DELTA : -DELTA));
-        this.dir = direction.normalize();
+        this.dir = normalize(direction);
+    }
+
+    /**
+     * Normalizes a direction vector, unless it is already normalized (e.g. reflected or refracted directions)
+     *
+     * @param direction direction vector
+     * @return normalized direction vector
+     */
+    private static Vector normalize(Vector direction) {
+        return Util.isZero(direction.lengthSquared() - 1) ? direction : direction.normalize();
     }
 
     /**
@@ -0,0 +1,243 @@
+package primitives;
+
+/**
+ * This class represents an affine transformation of the space - a linear transformation followed by a translation.
+ * Transformations are built from translations, scalings and rotations combined with {@link #then(Transform)}, and
+ * keep their inverse, so points can be moved back and forth between two coordinate systems
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public final class Transform {
+    /**
+     * Identity transformation
+     */
+    public static final Transform IDENTITY = new Transform(
+            new double[] { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+            new double[] { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 }
+    );
+
+    // The transformation and its inverse as 3x4 matrices, row by row: the linear part in columns 0 - 2 and the
+    // translation in column 3
+    private final double[] m;
+    private final double[] inverse;
+
+    /**
+     * Constructor to initialize a transformation with its matrix and the matrix of its inverse
+     *
+     * @param m 3x4 matrix, row by row
+     * @param inverse 3x4 matrix of the inverse, row by row
+     */
+    private Transform(double[] m, double[] inverse) {
+        this.m = m;
+        this.inverse = inverse;
+    }
+
+    /**
+     * Creates a translation
+     *
+     * @param vector translation vector
+     * @return the transformation
+     */
+    public static Transform translation(Vector vector) {
+        double x = vector.xyz.d1, y = vector.xyz.d2, z = vector.xyz.d3;
+        return new Transform(
+                new double[] { 1, 0, 0, x, 0, 1, 0, y, 0, 0, 1, z },
+                new double[] { 1, 0, 0, -x, 0, 1, 0, -y, 0, 0, 1, -z }
+        );
+    }
+
+    /**
+     * Creates a scaling along the axes
+     *
+     * @param x scale along the x axis
+     * @param y scale along the y axis
+     * @param z scale along the z axis
+     * @return the transformation
+     * @throws IllegalArgumentException if a scale is zero
+     */
+    public static Transform scaling(double x, double y, double z) {
+        if (Util.isZero(x) || Util.isZero(y) || Util.isZero(z))
+            throw new IllegalArgumentException("Can't scale by zero");
+
+        return new Transform(
+                new double[] { x, 0, 0, 0, 0, y, 0, 0, 0, 0, z, 0 },
+                new double[] { 1 / x, 0, 0, 0, 0, 1 / y, 0, 0, 0, 0, 1 / z, 0 }
+        );
+    }
+
+    /**
+     * Creates a rotation around the X axis, as {@link Vector#rotateX(double)}
+     *
+     * @param angle rotation angle in degrees
+     * @return the transformation
+     */
+    public static Transform rotationX(double angle) {
+        double sin = Math.sin(Math.toRadians(angle));
+        double cos = Math.cos(Math.toRadians(angle));
+        return new Transform(
+                new double[] { 1, 0, 0, 0, 0, cos, -sin, 0, 0, sin, cos, 0 },
+                new double[] { 1, 0, 0, 0, 0, cos, sin, 0, 0, -sin, cos, 0 }
+        );
+    }
+
+    /**
+     * Creates a rotation around the Y axis, as {@link Vector#rotateY(double)}
+     *
+     * @param angle rotation angle in degrees
+     * @return the transformation
+     */
+    public static Transform rotationY(double angle) {
+        double sin = Math.sin(Math.toRadians(angle));
+        double cos = Math.cos(Math.toRadians(angle));
+        return new Transform(
+                new double[] { cos, 0, sin, 0, 0, 1, 0, 0, -sin, 0, cos, 0 },
+                new double[] { cos, 0, -sin, 0, 0, 1, 0, 0, sin, 0, cos, 0 }
+        );
+    }
+
+    /**
+     * Creates a rotation around the Z axis, as {@link Vector#rotateZ(double)}
+     *
+     * @param angle rotation angle in degrees
+     * @return the transformation
+     */
+    public static Transform rotationZ(double angle) {
+        double sin = Math.sin(Math.toRadians(angle));
+        double cos = Math.cos(Math.toRadians(angle));
+        return new Transform(
+                new double[] { cos, -sin, 0, 0, sin, cos, 0, 0, 0, 0, 1, 0 },
+                new double[] { cos, sin, 0, 0, -sin, cos, 0, 0, 0, 0, 1, 0 }
+        );
+    }
+
+    /**
+     * Creates a transformation from its matrix and the matrix of its inverse, e.g. as stored by {@link #getMatrix()}
+     * and {@link #getInverseMatrix()}. The arrays are copied
+     *
+     * @param m 3x4 matrix, row by row
+     * @param inverse 3x4 matrix of the inverse, row by row
+     * @return the transformation
+     * @throws IllegalArgumentException if a matrix is not 3x4, or the matrices are not inverse to each other
+     */
+    public static Transform fromMatrices(double[] m, double[] inverse) {
+        if (m.length != 12 || inverse.length != 12)
+            throw new IllegalArgumentException("A transformation matrix must have 12 numbers");
+
+        double[] product = multiply(m, inverse);
+        for (int i = 0; i < 12; i++)
+            if (!Util.isZero(product[i] - IDENTITY.m[i]))
+                throw new IllegalArgumentException("The matrices are not inverse to each other");
+        return new Transform(m.clone(), inverse.clone());
+    }
+
+    /**
+     * Gets the matrix of the transformation
+     *
+     * @return copy of the 3x4 matrix, row by row
+     */
+    public double[] getMatrix() {
+        return this.m.clone();
+    }
+
+    /**
+     * Gets the matrix of the inverse transformation
+     *
+     * @return copy of the 3x4 matrix of the inverse, row by row
+     */
+    public double[] getInverseMatrix() {
+        return this.inverse.clone();
+    }
+
+    /**
+     * Combines this transformation with another one, applied after it
+     *
+     * @param next the transformation applied after this one
+     * @return the combined transformation
+     */
+    public Transform then(Transform next) {
+        return new Transform(multiply(next.m, this.m), multiply(this.inverse, next.inverse));
+    }
+
+    /**
+     * Gets the inverse transformation
+     *
+     * @return the inverse transformation
+     */
+    public Transform inverse() {
+        return new Transform(this.inverse, this.m);
+    }
+
+    /**
+     * Transforms a point
+     *
+     * @param point point
+     * @return transformed point
+     */
+    public Point transformPoint(Point point) {
+        double x = point.xyz.d1, y = point.xyz.d2, z = point.xyz.d3;
+        return new Point(
+                this.m[0] * x + this.m[1] * y + this.m[2] * z + this.m[3],
+                this.m[4] * x + this.m[5] * y + this.m[6] * z + this.m[7],
+                this.m[8] * x + this.m[9] * y + this.m[10] * z + this.m[11]
+        );
+    }
+
+    /**
+     * Transforms a direction (the translation does not apply to it). The result is not normalized
+     *
+     * @param vector direction vector
+     * @return transformed vector
+     */
+    public Vector transformVector(Vector vector) {
+        double x = vector.xyz.d1, y = vector.xyz.d2, z = vector.xyz.d3;
+        return new Vector(
+                this.m[0] * x + this.m[1] * y + this.m[2] * z,
+                this.m[4] * x + this.m[5] * y + this.m[6] * z,
+                this.m[8] * x + this.m[9] * y + this.m[10] * z
+        );
+    }
+
+    /**
+     * Transforms a normal of a surface, so it stays orthogonal to the transformed surface - by the transposed inverse
+     * of the linear part
+     *
+     * @param normal normal vector
+     * @return transformed normal, normalized
+     */
+    public Vector transformNormal(Vector normal) {
+        double x = normal.xyz.d1, y = normal.xyz.d2, z = normal.xyz.d3;
+        return new Vector(
+                this.inverse[0] * x + this.inverse[4] * y + this.inverse[8] * z,
+                this.inverse[1] * x + this.inverse[5] * y + this.inverse[9] * z,
+                this.inverse[2] * x + this.inverse[6] * y + this.inverse[10] * z
+        ).normalize();
+    }
+
+    /**
+     * Multiplies two 3x4 affine matrices, as 4x4 matrices whose last row is (0, 0, 0, 1)
+     *
+     * @param lhs left handle side operand
+     * @param rhs right handle side operand
+     * @return the product lhs * rhs
+     */
+    private static double[] multiply(double[] lhs, double[] rhs) {
+        double[] result = new double[12];
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 4; column++) {
+                double sum = column == 3 ? lhs[4 * row + 3] : 0;
+                for (int k = 0; k < 3; k++)
+                    sum += lhs[4 * row + k] * rhs[4 * k + column];
+                result[4 * row + column] = sum;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Transform [%s %s %s %s | %s %s %s %s | %s %s %s %s]",
+                this.m[0], this.m[1], this.m[2], this.m[3],
+                this.m[4], this.m[5], this.m[6], this.m[7],
+                this.m[8], this.m[9], this.m[10], this.m[11]);
+    }
+}
@@ -0,0 +1,191 @@
+package primitives;
+
+/**
+ * This class is a mutable three-dimensional vector, used as a scratch register by the intersection and shading
+ * calculations. Unlike {@link Point} and {@link Vector}, its operations overwrite this object instead of allocating
+ * new ones, so the calculations on the render hot path do not create garbage.
+ * It must not be shared between threads nor stored - it is meant to live in a local variable of a calculation.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public final class Vec3 {
+    /** First number */
+    public double x;
+    /** Second number */
+    public double y;
+    /** Third number */
+    public double z;
+
+    /**
+     * Sets the numbers of this vector
+     *
+     * @param x first number
+     * @param y second number
+     * @param z third number
+     * @return this vector
+     */
+    public Vec3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets this vector to the coordinates of a point (or a vector)
+     *
+     * @param point point
+     * @return this vector
+     */
+    public Vec3 set(Point point) {
+        return set(point.xyz.d1, point.xyz.d2, point.xyz.d3);
+    }
+
+    /**
+     * Sets this vector to the delta between two points
+     *
+     * @param head head of the delta
+     * @param tail tail of the delta
+     * @return this vector (head - tail)
+     */
+    public Vec3 setSubtract(Point head, Point tail) {
+        return set(head.xyz.d1 - tail.xyz.d1, head.xyz.d2 - tail.xyz.d2, head.xyz.d3 - tail.xyz.d3);
+    }
+
+    /**
+     * Sets this vector to the cross product of two vectors
+     *
+     * @param lhs left handle side operand
+     * @param rhs right handle side operand
+     * @return this vector (lhs x rhs)
+     */
+    public Vec3 setCrossProduct(Vec3 lhs, Vec3 rhs) {
+        return set(
+                lhs.y * rhs.z - lhs.z * rhs.y,
+                lhs.z * rhs.x - lhs.x * rhs.z,
+                lhs.x * rhs.y - lhs.y * rhs.x
+        );
+    }
+
+    /**
+     * Sets this vector to the cross product of itself with an immutable vector
+     *
+     * @param rhs right handle side operand
+     * @return this vector (this x rhs)
+     */
+    public Vec3 crossProduct(Vector rhs) {
+        return set(
+                this.y * rhs.xyz.d3 - this.z * rhs.xyz.d2,
+                this.z * rhs.xyz.d1 - this.x * rhs.xyz.d3,
+                this.x * rhs.xyz.d2 - this.y * rhs.xyz.d1
+        );
+    }
+
+    /**
+     * Scales this vector by a scalar
+     *
+     * @param scalar scalar
+     * @return this vector
+     */
+    public Vec3 scale(double scalar) {
+        return set(this.x * scalar, this.y * scalar, this.z * scalar);
+    }
+
+    /**
+     * Subtracts the coordinates of a point (or a vector) from this vector
+     *
+     * @param other right handle side operand for subtraction
+     * @return this vector
+     */
+    public Vec3 subtract(Point other) {
+        return set(this.x - other.xyz.d1, this.y - other.xyz.d2, this.z - other.xyz.d3);
+    }
+
+    /**
+     * Normalizes this vector (the zero vector stays zero)
+     *
+     * @return this vector
+     */
+    public Vec3 normalize() {
+        double length = Math.sqrt(lengthSquared());
+        return length == 0 ? this : set(this.x / length, this.y / length, this.z / length);
+    }
+
+    /**
+     * Dot product of this vector with another mutable vector
+     *
+     * @param other other vector
+     * @return dot product
+     */
+    public double dotProduct(Vec3 other) {
+        return this.x * other.x + this.y * other.y + this.z * other.z;
+    }
+
+    /**
+     * Dot product of this vector with the coordinates of a point (or a vector)
+     *
+     * @param other other point
+     * @return dot product
+     */
+    public double dotProduct(Point other) {
+        return this.x * other.xyz.d1 + this.y * other.xyz.d2 + this.z * other.xyz.d3;
+    }
+
+    /**
+     * Calculates the squared length of this vector
+     *
+     * @return squared length
+     */
+    public double lengthSquared() {
+        return this.x * this.x + this.y * this.y + this.z * this.z;
+    }
+
+    /**
+     * Checks whether this vector is [almost] the zero vector, i.e. whether it would be an illegal {@link Vector}
+     *
+     * @return true if all the numbers are zero or almost zero
+     */
+    public boolean isZero() {
+        return Util.isZero(this.x) && Util.isZero(this.y) && Util.isZero(this.z);
+    }
+
+    /**
+     * Dot product of two points' coordinates (or vectors), without creating a vector
+     *
+     * @param lhs left handle side operand
+     * @param rhs right handle side operand
+     * @return dot product
+     */
+    public static double dotProduct(Point lhs, Point rhs) {
+        return lhs.xyz.d1 * rhs.xyz.d1 + lhs.xyz.d2 * rhs.xyz.d2 + lhs.xyz.d3 * rhs.xyz.d3;
+    }
+
+    /**
+     * Dot product of a vector with the delta between two points, without creating the delta vector
+     *
+     * @param vector vector
+     * @param head head of the delta
+     * @param tail tail of the delta
+     * @return vector * (head - tail)
+     */
+    public static double dotProduct(Vector vector, Point head, Point tail) {
+        return vector.xyz.d1 * (head.xyz.d1 - tail.xyz.d1)
+                + vector.xyz.d2 * (head.xyz.d2 - tail.xyz.d2)
+                + vector.xyz.d3 * (head.xyz.d3 - tail.xyz.d3);
+    }
+
+    /**
+     * Creates an immutable vector from this vector
+     *
+     * @return new Vector object
+     * @throws IllegalArgumentException if this is the zero vector
+     */
+    public Vector toVector() {
+        return new Vector(this.x, this.y, this.z);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3 (" + this.x + "," + this.y + "," + this.z + ")";
+    }
+}
@@ -1,5 +1,7 @@
 package primitives;
 
+import static primitives.Util.isZero;
+
 /**
  * This class is the base for all classes using vectors
  *
@@ -16,7 +18,7 @@ public class Vector extends Point {
     public Vector(double x, double y, double z) {
         super(x,y,z);
 
-        if (xyz.equals(Double3.ZERO))
+        if (isZero(x) && isZero(y) && isZero(z))
             throw new IllegalArgumentException("The Zero Vector is illegal");
     }
 
@@ -29,10 +31,21 @@ public class Vector extends Point {
     protected Vector(Double3 xyz) {
         super(xyz);
 
-        if (xyz.equals(Double3.ZERO))
+        if (isZero(xyz.d1) && isZero(xyz.d2) && isZero(xyz.d3))
             throw new IllegalArgumentException("The Zero Vector is illegal");
     }
 
+    /**
+     * Constructor to initialize Vector based object with a Double3 object which is known not to be the Zero Vector,
+     * skipping the check
+     *
+     * @param xyz Double3 object
+     * @param length length of the vector - its numbers are divided by it
+     */
+    private Vector(Double3 xyz, double length) {
+        super(xyz.reduce(length));
+    }
+
     /**
      * Sum this Vector object with another Vector object
      *
@@ -104,7 +117,8 @@ public class Vector extends Point {
      * @return the normalized vector
      */
     public Vector normalize() {
-        return new Vector(this.xyz.reduce(this.length()));
+        // A non-zero vector divided by its length can never be the Zero Vector
+        return new Vector(this.xyz, this.length());
     }
 
     /**
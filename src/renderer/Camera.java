@@ -1,11 +1,13 @@
 package renderer;
 
+import geometries.IntersectionCounter;
 import primitives.*;
 import primitives.Point;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.MissingResourceException;
-import java.util.stream.IntStream;
+import java.util.logging.Logger;
 
 import static primitives.Util.*;
 
@@ -15,6 +17,33 @@ import static primitives.Util.*;
  * @author Benjamin Mamistvalov, Eyal Nathan
  */
 public class Camera {
+    /**
+     * What the rendered image shows
+     */
+    public enum RenderMode {
+        /** The colors of the scene */
+        COLOR,
+        /** A heatmap of the intersection tests of the geometries per pixel */
+        INTERSECTION_TESTS,
+        /** A heatmap of the time spent per pixel */
+        TIME
+    }
+
+    /**
+     * Traces the color of a single pixel
+     */
+    @FunctionalInterface
+    private interface PixelTracer {
+        /**
+         * Traces the color of a pixel
+         *
+         * @param j pixel column index
+         * @param i pixel row index
+         * @return the color of the pixel
+         */
+        Color trace(int j, int i);
+    }
+
     private Point position;
     private Vector vTo;
     private Vector vUp;
@@ -25,6 +54,24 @@ public class Camera {
     private ImageWriter imageWriter;
     private RayTracerBase rayTracer;
     private final SuperSampling antiAliasing = new SuperSampling();
+    private int tileSize = 16;
+    private TileScheduler.Order tileOrder = TileScheduler.Order.SCANLINE;
+    private int threadsCount = Runtime.getRuntime().availableProcessors();
+    private RenderMode renderMode = RenderMode.COLOR;
+
+    private static final Logger LOGGER = Logger.getLogger("Camera");
+
+    /**
+     * Colors of the heatmap from the lowest cost to the highest: black, blue, red, yellow and white
+     */
+    private static final double[][] HEAT_COLORS = {
+            { 0, 0, 0 }, { 0, 0, 255 }, { 255, 0, 0 }, { 255, 255, 0 }, { 255, 255, 255 }
+    };
+
+    /**
+     * Percentile of the pixels' costs shown at the hottest color of the heatmap
+     */
+    private static final double HEAT_PERCENTILE = 0.995;
 
 
     /**
@@ -177,6 +224,73 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Set adaptive anti aliasing: the grid set by {@link #setAntiAliasing(int)} is only sampled fully where the
+     * colors of a pixel differ, flat pixels cost the rays through their center and their corners, which are shared
+     * with the neighbouring pixels
+     *
+     * @param threshold color difference above which a part of a pixel is sampled more finely, per component
+     * @return the updated Camera object
+     */
+    public Camera setAdaptiveAntiAliasing(double threshold) {
+        this.antiAliasing.setAdaptive(true).setThreshold(threshold);
+        return this;
+    }
+
+    /**
+     * Set the size of the square tiles of pixels the image is rendered in
+     *
+     * @param tileSize width and height of a tile in pixels
+     * @return the updated Camera object
+     * @throws IllegalArgumentException if the tile size is not positive
+     */
+    public Camera setTileSize(int tileSize) {
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("Tile size must be positive");
+
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    /**
+     * Set the order in which the tiles of the image are rendered
+     *
+     * @param tileOrder tiles order
+     * @return the updated Camera object
+     */
+    public Camera setTileOrder(TileScheduler.Order tileOrder) {
+        this.tileOrder = tileOrder;
+        return this;
+    }
+
+    /**
+     * Set the amount of threads rendering the image (by default, the amount of available processors)
+     *
+     * @param threadsCount amount of threads
+     * @return the updated Camera object
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     */
+    public Camera setThreadsCount(int threadsCount) {
+        if (threadsCount <= 0)
+            throw new IllegalArgumentException("Threads count must be positive");
+
+        this.threadsCount = threadsCount;
+        return this;
+    }
+
+    /**
+     * Set what the rendered image shows: the colors of the scene, or a heatmap of the cost of every pixel, to find
+     * the geometries that dominate the rendering time. Heatmaps are scaled so that all but the costliest half percent
+     * of the pixels range from black to white
+     *
+     * @param renderMode render mode
+     * @return the updated Camera object
+     */
+    public Camera setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+        return this;
+    }
+
      /**
      * Creates the rays that pass at the center of the requested pixel on the View Plane
      *
@@ -187,27 +301,55 @@ public class Camera {
      * @return the ray that passes at the center of the requested pixel on the View Plane
      */
     public List<Ray> constructRay(int nX, int nY, int j, int i) {
-        // Image Center
-        Point pIJ = this.position.add(this.vTo.scale(this.distance));
-
-        // Ratio (pixel width & height)
-        double rX = (double) this.width / nX;
-        double rY = (double) this.height / nY;
+        return new RayGenerator(this, nX, nY, this.antiAliasing.getOffsets()).constructRays(j, i);
+    }
 
-        // Construct rays
-        double xJ = (j - ((double) (nX - 1) / 2)) * rX;
-        double yI = -(i - ((double) (nY - 1) / 2)) * rY;
+    /**
+     * Calculates the color of a pixel with adaptive anti aliasing
+     *
+     * @param rays ray generator of the render
+     * @param nX amount of column in the View Plane
+     * @param j pixel column index
+     * @param i pixel row index
+     * @param corners colors of the pixels' corners, row by row, traced on demand and shared between the pixels
+     * @return the color of the pixel
+     */
+    private Color traceAdaptive(RayGenerator rays, int nX, int j, int i, Color[] corners) {
+        Color[] pixelCorners = {
+                traceCorner(rays, nX, j, i, corners),
+                traceCorner(rays, nX, j + 1, i, corners),
+                traceCorner(rays, nX, j, i + 1, corners),
+                traceCorner(rays, nX, j + 1, i + 1, corners)
+        };
+
+        return rays.traceAdaptive(this.rayTracer, this.antiAliasing, j, i, pixelCorners);
+    }
 
-        if (xJ != 0)
-            pIJ = pIJ.add(vRight.scale(xJ));
-        if (yI != 0)
-            pIJ = pIJ.add(vUp.scale(yI));
+    /**
+     * Gets the color of a pixels' corner, tracing it if no pixel has traced it yet. Pixels on different threads may
+     * race to trace the same corner, which is harmless since they calculate the same color
+     *
+     * @param rays ray generator of the render
+     * @param nX amount of column in the View Plane
+     * @param j corner column index (the top left corner of pixel (j, i))
+     * @param i corner row index
+     * @param corners colors of the pixels' corners
+     * @return the color of the corner
+     */
+    private Color traceCorner(RayGenerator rays, int nX, int j, int i, Color[] corners) {
+        int index = i * (nX + 1) + j;
+        Color color = corners[index];
+        if (color == null) {
+            color = this.rayTracer.traceRay(rays.constructRay(j - 0.5, i - 0.5));
+            corners[index] = color;
+        }
 
-        return this.antiAliasing.constructRaysThroughGrid(rX, rY, this.position, pIJ, this.vUp, this.vRight);
+        return color;
     }
 
     /**
-     * Renders the image
+     * Renders the image, tile by tile. If the ray tracer counts its rays, a summary of the rays of the render is
+     * logged when it is done. Every tile is recorded by the flight recorder as a "raytracer.RenderTile" event
      *
      * @throws MissingResourceException if not all fields are initialized
      */
@@ -226,18 +368,95 @@ public class Camera {
         int nx = this.imageWriter.getNx();
         int ny = this.imageWriter.getNy();
 
-        IntStream.range(0, ny).parallel().forEach(i -> {
-            IntStream.range(0, nx).parallel().forEach(j -> {
-                List<Ray> rays = constructRay(nx, ny, j, i);
-                Color color = Color.BLACK;
-                for (Ray ray : rays)
-                    color = color.add(this.rayTracer.traceRay(ray));
+        TracingStatistics before = this.rayTracer.getStatistics();
+        long start = System.nanoTime();
+        TileScheduler scheduler = new TileScheduler(nx, ny, this.tileSize, this.tileOrder);
+        RayGenerator rays = new RayGenerator(this, nx, ny, this.antiAliasing.getOffsets());
+        PixelTracer pixels;
+        if (this.antiAliasing.isAdaptive() && this.antiAliasing.size > 1) {
+            Color[] corners = new Color[(nx + 1) * (ny + 1)];
+            pixels = (j, i) -> traceAdaptive(rays, nx, j, i, corners);
+        } else
+            pixels = (j, i) -> rays.tracePixel(this.rayTracer, j, i);
+
+        if (this.renderMode == RenderMode.COLOR)
+            scheduler.render(this.threadsCount, (j, i) -> this.imageWriter.writePixel(j, i, pixels.trace(j, i)),
+                    this.rayTracer::getThreadRays);
+        else
+            renderHeatmap(scheduler, pixels, nx, ny);
+
+        TracingStatistics after = this.rayTracer.getStatistics();
+        if (after != null)
+            LOGGER.info(String.format("Rendered %dx%d pixels in %.1f ms%n%s",
+                    nx, ny, (System.nanoTime() - start) / 1e6, before == null ? after : after.since(before)));
+        return this;
+    }
 
-                this.imageWriter.writePixel(j, i, color.reduce(rays.size()));
-            });
-        });
+    /**
+     * Renders a heatmap of the cost of every pixel into the image
+     *
+     * @param scheduler tiles scheduler of the render
+     * @param pixels tracer of the pixels
+     * @param nx amount of columns in the image
+     * @param ny amount of rows in the image
+     */
+    private void renderHeatmap(TileScheduler scheduler, PixelTracer pixels, int nx, int ny) {
+        double[] costs = new double[nx * ny];
+        if (this.renderMode == RenderMode.TIME)
+            scheduler.render(this.threadsCount, (j, i) -> {
+                long start = System.nanoTime();
+                pixels.trace(j, i);
+                costs[i * nx + j] = System.nanoTime() - start;
+            }, this.rayTracer::getThreadRays);
+        else {
+            // The tests are counted per thread, so the tests of a pixel are those its thread counted while tracing it.
+            // A counter of the ray tracer is nested in the heatmap's counter, so the tracer's statistics stay complete
+            IntersectionCounter counter = new IntersectionCounter().setEnabled(true);
+            try {
+                scheduler.render(this.threadsCount, (j, i) -> {
+                    long before = counter.getThreadTests();
+                    counter.enter();
+                    try {
+                        pixels.trace(j, i);
+                    } finally {
+                        counter.exit();
+                    }
+                    costs[i * nx + j] = counter.getThreadTests() - before;
+                }, this.rayTracer::getThreadRays);
+            } finally {
+                counter.setEnabled(false);
+            }
+        }
 
-        return this;
+        // A few outliers (e.g. pixels traced before the code was compiled) must not darken the whole heatmap
+        double[] sorted = costs.clone();
+        Arrays.sort(sorted);
+        double scale = sorted[(int) (HEAT_PERCENTILE * (sorted.length - 1))];
+        if (scale <= 0)
+            scale = sorted[sorted.length - 1];
+        for (int i = 0; i < ny; i++)
+            for (int j = 0; j < nx; j++)
+                this.imageWriter.writePixel(j, i, heatColor(scale > 0 ? costs[i * nx + j] / scale : 0));
+
+        LOGGER.info(String.format("Heatmap of %s: white is %.0f %s per pixel, the maximum is %.0f",
+                this.renderMode, scale, this.renderMode == RenderMode.TIME ? "ns" : "tests",
+                sorted[sorted.length - 1]));
+    }
+
+    /**
+     * Finds the color of a cost in the heatmap, interpolated between the heatmap colors
+     *
+     * @param heat cost relative to the hottest color, clamped to the range 0 - 1
+     * @return the color
+     */
+    private static Color heatColor(double heat) {
+        double position = Math.min(Math.max(heat, 0), 1) * (HEAT_COLORS.length - 1);
+        int index = Math.min((int) position, HEAT_COLORS.length - 2);
+        double t = position - index;
+        double[] from = HEAT_COLORS[index];
+        double[] to = HEAT_COLORS[index + 1];
+        return new Color(from[0] + (to[0] - from[0]) * t, from[1] + (to[1] - from[1]) * t,
+                from[2] + (to[2] - from[2]) * t);
     }
 
     /**
@@ -0,0 +1,27 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of writing an image file (see {@link ImageWriter#writeToImage()})
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+@Name("raytracer.ImageWrite")
+@Label("Image Write")
+@Category({ "Ray Tracer", "Render" })
+@Description("Encoding and writing of an image file")
+class ImageWriteEvent extends Event {
+    @Label("Image Name")
+    String imageName;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+}
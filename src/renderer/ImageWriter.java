@@ -62,6 +62,15 @@ public class ImageWriter {
 		return nX;
 	}
 
+	/**
+	 * Pixel color matrix of the image
+	 *
+	 * @return the image
+	 */
+	public BufferedImage getImage() {
+		return image;
+	}
+
 	// ***************** Operations ******************** //
 
 	/**
@@ -69,9 +78,17 @@ public class ImageWriter {
 	 * pixel color matrix in the directory of the project
 	 */
 	public void writeToImage() {
+		ImageWriteEvent event = new ImageWriteEvent();
+		event.begin();
 		try {
 			File file = new File(FOLDER_PATH + '/' + imageName + ".png");
 			ImageIO.write(image, "png", file);
+			if (event.shouldCommit()) {
+				event.imageName = imageName;
+				event.width = nX;
+				event.height = nY;
+				event.commit();
+			}
 		} catch (IOException e) {
 			logger.log(Level.SEVERE, "I/O error", e);
 			throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
@@ -0,0 +1,121 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class generates the rays from a camera through the View Plane. The camera basis and the pixel deltas are
+ * calculated once per render, and every ray is built directly from them, without intermediate points and lists
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class RayGenerator {
+    private final Point position;
+    // Vector from the camera to the center of the View Plane
+    private final double toX, toY, toZ;
+    // Vectors from a pixel center to the center of the pixel on its right and above it
+    private final double rightX, rightY, rightZ;
+    private final double upX, upY, upZ;
+    // Pixel position of the center of the View Plane
+    private final double centerJ, centerI;
+    // Offsets of the samples of a pixel, in pixels - pairs of (rightwards, upwards)
+    private final double[] offsets;
+
+    /**
+     * Constructor to initialize the ray generator of a render
+     *
+     * @param camera camera
+     * @param nX amount of columns in the View Plane
+     * @param nY amount of rows in the View Plane
+     * @param offsets offsets of the samples of a pixel, in pixels - pairs of (rightwards, upwards)
+     */
+    RayGenerator(Camera camera, int nX, int nY, double[] offsets) {
+        Vector vTo = camera.getVTo();
+        Vector vUp = camera.getVUp();
+        Vector vRight = camera.getVRight();
+        double rX = (double) camera.getWidth() / nX;
+        double rY = (double) camera.getHeight() / nY;
+
+        this.position = camera.getPosition();
+        this.toX = vTo.getX() * camera.getDistance();
+        this.toY = vTo.getY() * camera.getDistance();
+        this.toZ = vTo.getZ() * camera.getDistance();
+        this.rightX = vRight.getX() * rX;
+        this.rightY = vRight.getY() * rX;
+        this.rightZ = vRight.getZ() * rX;
+        this.upX = vUp.getX() * rY;
+        this.upY = vUp.getY() * rY;
+        this.upZ = vUp.getZ() * rY;
+        this.centerJ = (nX - 1) / 2d;
+        this.centerI = (nY - 1) / 2d;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Constructs the ray through a position on the View Plane
+     *
+     * @param j column position - the center of pixel (j, i) is at (j, i)
+     * @param i row position
+     * @return the ray
+     */
+    Ray constructRay(double j, double i) {
+        double x = j - this.centerJ;
+        double y = this.centerI - i;
+        return new Ray(this.position, new Vector(
+                this.toX + x * this.rightX + y * this.upX,
+                this.toY + x * this.rightY + y * this.upY,
+                this.toZ + x * this.rightZ + y * this.upZ
+        ));
+    }
+
+    /**
+     * Constructs the rays through the samples of a pixel
+     *
+     * @param j pixel column index
+     * @param i pixel row index
+     * @return the rays, in the order of the samples
+     */
+    List<Ray> constructRays(int j, int i) {
+        List<Ray> rays = new ArrayList<>(this.offsets.length / 2);
+        for (int k = 0; k < this.offsets.length; k += 2)
+            rays.add(constructRay(j + this.offsets[k], i - this.offsets[k + 1]));
+
+        return rays;
+    }
+
+    /**
+     * Calculates the color of a pixel adaptively: the samples of the anti aliasing grid are placed around the pixel's
+     * center by the grid, and the pixel's corners are given by the caller
+     *
+     * @param rayTracer ray tracer
+     * @param antiAliasing adaptive anti aliasing grid
+     * @param j pixel column index
+     * @param i pixel row index
+     * @param corners colors of the top left, top right, bottom left and bottom right corners of the pixel
+     * @return the color of the pixel
+     */
+    Color traceAdaptive(RayTracerBase rayTracer, SuperSampling antiAliasing, int j, int i, Color[] corners) {
+        return antiAliasing.traceAdaptive((x, y) -> rayTracer.traceRay(constructRay(j + x, i - y)), corners);
+    }
+
+    /**
+     * Calculates the color of a pixel - the average color of the rays through its samples
+     *
+     * @param rayTracer ray tracer
+     * @param j pixel column index
+     * @param i pixel row index
+     * @return the color of the pixel
+     */
+    Color tracePixel(RayTracerBase rayTracer, int j, int i) {
+        Color color = Color.BLACK;
+        for (int k = 0; k < this.offsets.length; k += 2)
+            color = color.add(rayTracer.traceRay(constructRay(j + this.offsets[k], i - this.offsets[k + 1])));
+
+        return color.reduce(this.offsets.length / 2d);
+    }
+}
@@ -28,4 +28,23 @@ public abstract class RayTracerBase {
      * @return Color
      */
     public abstract Color traceRay(Ray ray);
+
+    /**
+     * Gets a snapshot of the statistics of the rays traced so far
+     *
+     * @return the statistics, or null if the tracer does not count its rays
+     */
+    public TracingStatistics getStatistics() {
+        return null;
+    }
+
+    /**
+     * Gets the amount of rays of all the types traced so far by the current thread, e.g. to find the rays of a part
+     * of the image
+     *
+     * @return amount of rays, or -1 if the tracer does not count its rays
+     */
+    public long getThreadRays() {
+        return -1;
+    }
 }
@@ -1,17 +1,23 @@
 package renderer;
 
+import geometries.IntersectionCounter;
 import lighting.LightSource;
 import primitives.*;
 import scene.Scene;
 import geometries.Intersectable.GeoPoint;
 
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
- * This class is a basic RayTracer
+ * This class is a basic RayTracer.
+ * The tracer counts the rays it traces by their type and the recursion depths of the points it colors, in striped
+ * counters ({@link LongAdder}) so the rendering threads don't contend on them. Intersection tests of the geometries are
+ * only counted when requested, since they are far more frequent than rays, and only the tests of this tracer's rays
+ * are counted
  *
  * @author Benjamin Mamistvalov, Eyal Nathan
  */
@@ -20,8 +26,45 @@ public class RayTracerBasic extends RayTracerBase {
     private static final double MIN_CALC_COLOR_K = 0.001;
     private static final Double3 INITIAL_K = Double3.ONE;
 
+    private final LongAdder primaryRays = new LongAdder();
+    private final LongAdder shadowRays = new LongAdder();
+    private final LongAdder reflectionRays = new LongAdder();
+    private final LongAdder refractionRays = new LongAdder();
+    private final LongAdder[] depths = new LongAdder[MAX_CALC_COLOR_LEVEL];
+    private final IntersectionCounter intersectionTests = new IntersectionCounter();
+    private final ThreadLocal<long[]> threadRays = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Constructor to initialize a basic ray tracer
+     *
+     * @param scene scene object
+     */
     public RayTracerBasic(Scene scene) {
         super(scene);
+        for (int i = 0; i < this.depths.length; i++)
+            this.depths[i] = new LongAdder();
+    }
+
+    /**
+     * Sets whether the tracer counts the intersection tests of the geometries. The tracer counts the tests of its
+     * own rays only, on the threads which trace them
+     *
+     * @param count true to count the intersection tests
+     * @return this RayTracerBasic object
+     */
+    public RayTracerBasic setCountIntersections(boolean count) {
+        this.intersectionTests.setEnabled(count);
+        return this;
+    }
+
+    /**
+     * Counts a traced ray
+     *
+     * @param rays counter of the rays of its type
+     */
+    private void count(LongAdder rays) {
+        rays.increment();
+        this.threadRays.get()[0]++;
     }
 
     /**
@@ -31,7 +74,9 @@ public class RayTracerBasic extends RayTracerBase {
      * @param ray ray
      * @return color
      */
-    private Color calcColor(GeoPoint point, Ray ray, int level, Double3 k) {Color color = calcLocalEffects(point, ray, k);
+    private Color calcColor(GeoPoint point, Ray ray, int level, Double3 k) {
+        this.depths[MAX_CALC_COLOR_LEVEL - level].increment();
+        Color color = calcLocalEffects(point, ray, k);
         return level == 1 ? color : color.add(calcGlobalEffects(point, ray.getDirection(), level, k));
     }
 
@@ -101,16 +146,19 @@ public class RayTracerBasic extends RayTracerBase {
         Double3 ktr = k.product(material.kR);
         Vector n = point.geometry.getNormal(point.point);
 
-        if (!ktr.lowerThan(MIN_CALC_COLOR_K))
+        if (!ktr.lowerThan(MIN_CALC_COLOR_K)) {
+            count(this.reflectionRays);
             color = calcGlobalEffects(
                     constructReflectedRay(point.point, dir, n),
                     level,
                     material.kR,
                     ktr
             );
+        }
 
         Double3 ktt = k.product(material.kT);
-        if (!ktt.lowerThan(MIN_CALC_COLOR_K))
+        if (!ktt.lowerThan(MIN_CALC_COLOR_K)) {
+            count(this.refractionRays);
             color = color.add(calcGlobalEffects(
                     new Ray(point.point, dir, n),
                     level,
@@ -118,6 +166,7 @@ public class RayTracerBasic extends RayTracerBase {
                     ktt
                     )
             );
+        }
 
         return color;
     }
@@ -162,8 +211,7 @@ public class RayTracerBasic extends RayTracerBase {
      */
     private Color calcSpecular(Double3 ks, int nShininess, Vector n, Vector l,
                                double nl, Vector v, Color lightIntensity) {
-        Vector minusR = n.scale(2 * nl).subtract(l);
-        double minusVR = minusR.dotProduct(v);
+        double minusVR = new Vec3().set(n).scale(2 * nl).subtract(l).dotProduct(v);
         if (minusVR <= 0)
             return Color.BLACK;
         return lightIntensity.scale(ks.scale(Math.pow(minusVR, nShininess)));
@@ -179,27 +227,12 @@ public class RayTracerBasic extends RayTracerBase {
      * @return transparency
      */
     private Double3 transparency(GeoPoint point, LightSource lightSource, Vector l, Vector n) {
-        Vector lightDirection = l.scale(-1);
-        double lightDistance = lightSource.getDistance(point.point);
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(
-                new Ray(point.point, lightDirection, n),
-                lightDistance
+        count(this.shadowRays);
+        return scene.geometries.findTransparency(
+                new Ray(point.point, l.scale(-1), n),
+                lightSource.getDistance(point.point),
+                MIN_CALC_COLOR_K
         );
-
-        if (intersections == null)
-            return Double3.ONE;
-
-        Double3 ktr = Double3.ONE;
-        for (GeoPoint p : intersections) {
-            if (alignZero(p.point.distance(point.point) - lightDistance) <= 0) {
-                ktr = p.geometry.getMaterial().kT.product(ktr);
-
-                if (ktr.lowerThan(MIN_CALC_COLOR_K))
-                    return Double3.ZERO;
-            }
-        }
-
-        return ktr;
     }
 
     /**
@@ -211,8 +244,13 @@ public class RayTracerBasic extends RayTracerBase {
      * @return reflected ray
      */
     private Ray constructReflectedRay(Point point, Vector dir, Vector n) {
-        double nv = n.dotProduct(dir);
-        return new Ray(point, dir.subtract(n.scale(2 * nv)), n);
+        double scale = 2 * n.dotProduct(dir);
+        Vector reflected = new Vector(
+                dir.getX() - n.getX() * scale,
+                dir.getY() - n.getY() * scale,
+                dir.getZ() - n.getZ() * scale
+        );
+        return new Ray(point, reflected, n);
     }
 
     /**
@@ -222,13 +260,47 @@ public class RayTracerBasic extends RayTracerBase {
      * @return geo point
      */
     private GeoPoint findClosestIntersection(Ray ray) {
-        List<GeoPoint> intersections = this.scene.geometries.findGeoIntersections(ray);
-        return intersections != null ? ray.findClosestGeoPoint(intersections) : null;
+        return this.scene.geometries.findClosestGeoIntersection(ray);
     }
 
     @Override
     public Color traceRay(Ray ray) {
+        if (!this.intersectionTests.isEnabled())
+            return tracePrimaryRay(ray);
+
+        // The tests of the ray and of the rays it spawns are counted while the tracer's counter is entered
+        this.intersectionTests.enter();
+        try {
+            return tracePrimaryRay(ray);
+        } finally {
+            this.intersectionTests.exit();
+        }
+    }
+
+    /**
+     * Finds the color of a ray from the camera
+     *
+     * @param ray ray
+     * @return color
+     */
+    private Color tracePrimaryRay(Ray ray) {
+        count(this.primaryRays);
         GeoPoint closest = findClosestIntersection(ray);
         return closest != null ? calcColor(closest, ray) : scene.background;
     }
+
+    @Override
+    public long getThreadRays() {
+        return this.threadRays.get()[0];
+    }
+
+    @Override
+    public TracingStatistics getStatistics() {
+        long[] depths = new long[this.depths.length];
+        for (int i = 0; i < depths.length; i++)
+            depths[i] = this.depths[i].sum();
+        Map<String, Long> tests = this.intersectionTests.snapshot();
+        return new TracingStatistics(this.primaryRays.sum(), this.shadowRays.sum(), this.reflectionRays.sum(),
+                this.refractionRays.sum(), depths, tests);
+    }
 }
@@ -0,0 +1,41 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of rendering a tile of an image (see {@link TileScheduler}). The event lasts while the pixels
+ * of the tile are rendered
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+@Name("raytracer.RenderTile")
+@Label("Render Tile")
+@Category({ "Ray Tracer", "Render" })
+@Description("Rendering of a tile of pixels")
+class RenderTileEvent extends Event {
+    @Label("Tile")
+    @Description("Index of the tile in rendering order")
+    int tile;
+
+    @Label("First Column")
+    int firstColumn;
+
+    @Label("First Row")
+    int firstRow;
+
+    @Label("Last Column")
+    @Description("Column after the last column of the tile")
+    int lastColumn;
+
+    @Label("Last Row")
+    @Description("Row after the last row of the tile")
+    int lastRow;
+
+    @Label("Rays Traced")
+    @Description("Rays of all the types traced for the tile, or -1 if the ray tracer does not count its rays")
+    long raysTraced;
+}
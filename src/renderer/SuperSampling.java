@@ -1,5 +1,6 @@
 package renderer;
 
+import primitives.Color;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -15,7 +16,24 @@ import static primitives.Util.alignZero;
  * @author Benjamin Mamistvalov
  */
 public class SuperSampling {
+    /**
+     * Traces a sample of the grid
+     */
+    @FunctionalInterface
+    public interface Sampler {
+        /**
+         * Traces the ray through a point of the grid
+         *
+         * @param x rightwards offset of the point from the center of the grid, as a fraction of the grid's width
+         * @param y upwards offset of the point from the center of the grid, as a fraction of the grid's height
+         * @return the color of the ray
+         */
+        Color sample(double x, double y);
+    }
+
     public double size = 1; // width / height ratio
+    private boolean adaptive = false;
+    private double threshold = 8; // maximal color difference of a flat cell, per component
 
     /**
      * Set the size of the grid
@@ -28,6 +46,124 @@ public class SuperSampling {
         return this;
     }
 
+    /**
+     * Set whether the grid is sampled adaptively
+     *
+     * @param adaptive true to sample adaptively
+     * @return the updated SuperSampling object
+     */
+    public SuperSampling setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        return this;
+    }
+
+    /**
+     * Set the color difference above which an adaptively sampled cell is subdivided
+     *
+     * @param threshold maximal color difference of a flat cell, per component
+     * @return the updated SuperSampling object
+     */
+    public SuperSampling setThreshold(double threshold) {
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Check whether the grid is sampled adaptively
+     *
+     * @return true if the grid is sampled adaptively
+     */
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Calculates the color of a grid cell adaptively: the center of the cell is sampled, and if it or any of the
+     * cell's corners differ by more than the threshold, the cell is split into 4 cells which are sampled in the same
+     * way, as long as the cells are not smaller than the cells of the full grid - the cells are halved up to the
+     * largest power of two which does not exceed the grid size. So a flat cell costs a single ray besides its corners,
+     * which the caller may share with the neighbouring grids, and a cell crossed by an edge is sampled at most as
+     * densely as the full grid
+     *
+     * @param sampler tracer of the samples, by their offsets from the center of the grid
+     * @param corners colors of the top left, top right, bottom left and bottom right corners of the grid
+     * @return the average color of the grid
+     */
+    public Color traceAdaptive(Sampler sampler, Color[] corners) {
+        // Subdivide while the halved cells are not smaller than the cells of the full grid
+        int depth = 0;
+        for (int cells = 2; cells <= this.size; cells *= 2)
+            depth++;
+
+        return traceCell(sampler, 0, 0, 0.5, corners[0], corners[1], corners[2], corners[3], depth);
+    }
+
+    /**
+     * Calculates the color of a cell of the grid adaptively
+     *
+     * @param sampler tracer of the samples
+     * @param x horizontal offset of the center of the cell from the center of the grid
+     * @param y vertical offset of the center of the cell from the center of the grid
+     * @param half half of the cell size, as a fraction of the grid size
+     * @param topLeft color of the top left corner
+     * @param topRight color of the top right corner
+     * @param bottomLeft color of the bottom left corner
+     * @param bottomRight color of the bottom right corner
+     * @param depth amount of subdivisions left
+     * @return the average color of the cell
+     */
+    private Color traceCell(
+            Sampler sampler,
+            double x,
+            double y,
+            double half,
+            Color topLeft,
+            Color topRight,
+            Color bottomLeft,
+            Color bottomRight,
+            int depth
+    ) {
+        Color center = sampler.sample(x, y);
+        if (depth == 0 || (center.isSimilar(topLeft, this.threshold) &&
+                center.isSimilar(topRight, this.threshold) &&
+                center.isSimilar(bottomLeft, this.threshold) &&
+                center.isSimilar(bottomRight, this.threshold)))
+            return center.add(topLeft, topRight, bottomLeft, bottomRight).reduce(5);
+
+        Color top = sampler.sample(x, y + half);
+        Color bottom = sampler.sample(x, y - half);
+        Color left = sampler.sample(x - half, y);
+        Color right = sampler.sample(x + half, y);
+
+        double quarter = half / 2;
+        return traceCell(sampler, x - quarter, y + quarter, quarter, topLeft, top, left, center, depth - 1)
+                .add(traceCell(sampler, x + quarter, y + quarter, quarter, top, topRight, center, right, depth - 1))
+                .add(traceCell(sampler, x - quarter, y - quarter, quarter, left, center, bottomLeft, bottom, depth - 1))
+                .add(traceCell(sampler, x + quarter, y - quarter, quarter, center, right, bottom, bottomRight,
+                        depth - 1))
+                .reduce(4);
+    }
+
+    /**
+     * Calculates the offsets of the grid's samples from its center, in the order of
+     * {@link #constructRaysThroughGrid(double, double, Point, Point, Vector, Vector)}
+     *
+     * @return pairs of (rightwards, upwards) offsets, as fractions of the grid's width and height
+     */
+    public double[] getOffsets() {
+        int count = (int) Math.ceil(this.size);
+        double[] offsets = new double[2 * count * count];
+
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                offsets[k++] = alignZero((j + 0.5) / this.size - 0.5);
+                offsets[k++] = alignZero((i + 0.5) / this.size - 0.5);
+            }
+        }
+        return offsets;
+    }
+
     /**
      * Construct the rays through the grid
      *
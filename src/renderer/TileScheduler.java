@@ -0,0 +1,299 @@
+package renderer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * This class schedules the rendering of an image in square tiles of pixels. The tiles are handed, in a chosen order,
+ * to a fixed amount of threads, so consecutive pixels of a thread are neighbours in the image and share the cached
+ * geometries and acceleration structure nodes their rays visit
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class TileScheduler {
+    /**
+     * Order in which the tiles of the image are rendered
+     */
+    public enum Order {
+        /** Row after row of tiles, from the top left corner */
+        SCANLINE,
+        /** Rings of tiles around the center of the image, outwards */
+        SPIRAL,
+        /**
+         * Along a Hilbert curve, so consecutive tiles are mostly neighbours (the curve covers the smallest power of
+         * two square of tiles, and skips its tiles outside the image)
+         */
+        HILBERT
+    }
+
+    /**
+     * Renders a single pixel
+     */
+    @FunctionalInterface
+    public interface PixelRenderer {
+        /**
+         * Renders a pixel of the image
+         *
+         * @param j pixel column index
+         * @param i pixel row index
+         */
+        void render(int j, int i);
+    }
+
+    private final int nX;
+    private final int nY;
+    private final int tileSize;
+    private final int[] tiles; // pairs of (first column, first row) of the tiles, in rendering order
+
+    /**
+     * Constructor to initialize the tiles of an image
+     *
+     * @param nX amount of columns in the image
+     * @param nY amount of rows in the image
+     * @param tileSize width and height of a tile in pixels
+     * @param order order of the tiles
+     * @throws IllegalArgumentException if the tile size is not positive
+     */
+    public TileScheduler(int nX, int nY, int tileSize, Order order) {
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("Tile size must be positive");
+
+        this.nX = nX;
+        this.nY = nY;
+        this.tileSize = tileSize;
+
+        int columns = (nX + tileSize - 1) / tileSize;
+        int rows = (nY + tileSize - 1) / tileSize;
+        List<int[]> ordered = switch (order) {
+            case SCANLINE -> scanlineOrder(columns, rows);
+            case SPIRAL -> spiralOrder(columns, rows);
+            case HILBERT -> hilbertOrder(columns, rows);
+        };
+
+        this.tiles = new int[ordered.size() * 2];
+        for (int k = 0; k < ordered.size(); k++) {
+            this.tiles[2 * k] = ordered.get(k)[0] * tileSize;
+            this.tiles[2 * k + 1] = ordered.get(k)[1] * tileSize;
+        }
+    }
+
+    /**
+     * Gets the amount of tiles
+     *
+     * @return amount of tiles
+     */
+    public int getTilesCount() {
+        return this.tiles.length / 2;
+    }
+
+    /**
+     * Gets the first column of a tile
+     *
+     * @param tile tile index in rendering order
+     * @return first column of the tile
+     */
+    public int getTileColumn(int tile) {
+        return this.tiles[2 * tile];
+    }
+
+    /**
+     * Gets the first row of a tile
+     *
+     * @param tile tile index in rendering order
+     * @return first row of the tile
+     */
+    public int getTileRow(int tile) {
+        return this.tiles[2 * tile + 1];
+    }
+
+    /**
+     * Renders all the pixels of the image. Each thread takes the next tile in order whenever it finishes its
+     * previous tile, and renders its pixels row by row. Once a pixel fails, the threads take no more tiles, and the
+     * failure is thrown when they all stopped
+     *
+     * @param threadsCount amount of rendering threads
+     * @param renderer pixel renderer, called exactly once for every pixel
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     * @throws IllegalStateException if the rendering was interrupted
+     */
+    public void render(int threadsCount, PixelRenderer renderer) {
+        render(threadsCount, renderer, () -> -1);
+    }
+
+    /**
+     * Renders all the pixels of the image by a given amount of threads, as {@link #render(int, PixelRenderer)}, and
+     * records the rays traced for every tile in its flight recorder event
+     *
+     * @param threadsCount amount of rendering threads
+     * @param renderer pixel renderer, called exactly once for every pixel
+     * @param threadRays amount of rays traced so far by the current thread, or -1 if the rays are not counted
+     * @throws IllegalArgumentException if the amount of threads is not positive
+     * @throws IllegalStateException if the rendering was interrupted
+     */
+    public void render(int threadsCount, PixelRenderer renderer, LongSupplier threadRays) {
+        if (threadsCount <= 0)
+            throw new IllegalArgumentException("Threads count must be positive");
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        Runnable worker = () -> {
+            try {
+                for (int tile = next.getAndIncrement(); tile < getTilesCount(); tile = next.getAndIncrement()) {
+                    if (failed.get())
+                        return;
+                    renderTile(tile, renderer, threadRays);
+                }
+            } catch (RuntimeException | Error e) {
+                failed.set(true);
+                throw e;
+            }
+        };
+
+        if (threadsCount == 1) {
+            worker.run();
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threadsCount);
+            for (int k = 0; k < threadsCount; k++)
+                workers.add(executor.submit(worker));
+            // Wait for all the threads, so none of them still renders once the first failure is thrown
+            ExecutionException failure = null;
+            for (Future<?> future : workers) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null)
+                        failure = e;
+                }
+            }
+            if (failure != null)
+                throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            throw new IllegalStateException("Rendering failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Renders the pixels of a tile, row by row
+     *
+     * @param tile tile index in rendering order
+     * @param renderer pixel renderer
+     * @param threadRays amount of rays traced so far by the current thread, or -1 if the rays are not counted
+     */
+    private void renderTile(int tile, PixelRenderer renderer, LongSupplier threadRays) {
+        int firstColumn = getTileColumn(tile);
+        int firstRow = getTileRow(tile);
+        int lastColumn = Math.min(firstColumn + this.tileSize, this.nX);
+        int lastRow = Math.min(firstRow + this.tileSize, this.nY);
+
+        RenderTileEvent event = new RenderTileEvent();
+        long rays = event.isEnabled() ? threadRays.getAsLong() : -1;
+        event.begin();
+        for (int i = firstRow; i < lastRow; i++)
+            for (int j = firstColumn; j < lastColumn; j++)
+                renderer.render(j, i);
+
+        if (event.shouldCommit()) {
+            event.tile = tile;
+            event.firstColumn = firstColumn;
+            event.firstRow = firstRow;
+            event.lastColumn = lastColumn;
+            event.lastRow = lastRow;
+            event.raysTraced = rays < 0 ? -1 : threadRays.getAsLong() - rays;
+            event.commit();
+        }
+    }
+
+    /**
+     * Orders the tiles row after row
+     *
+     * @param columns amount of tile columns
+     * @param rows amount of tile rows
+     * @return (column, row) of the tiles in order
+     */
+    private static List<int[]> scanlineOrder(int columns, int rows) {
+        List<int[]> ordered = new ArrayList<>(columns * rows);
+        for (int row = 0; row < rows; row++)
+            for (int column = 0; column < columns; column++)
+                ordered.add(new int[] { column, row });
+        return ordered;
+    }
+
+    /**
+     * Orders the tiles in square rings around the center tile, each ring walked around by its angle
+     *
+     * @param columns amount of tile columns
+     * @param rows amount of tile rows
+     * @return (column, row) of the tiles in order
+     */
+    private static List<int[]> spiralOrder(int columns, int rows) {
+        double centerColumn = (columns - 1) / 2d;
+        double centerRow = (rows - 1) / 2d;
+
+        List<int[]> ordered = scanlineOrder(columns, rows);
+        ordered.sort(Comparator
+                .comparingDouble((int[] tile) ->
+                        Math.max(Math.abs(tile[0] - centerColumn), Math.abs(tile[1] - centerRow)))
+                .thenComparingDouble(tile -> Math.atan2(tile[1] - centerRow, tile[0] - centerColumn)));
+        return ordered;
+    }
+
+    /**
+     * Orders the tiles along a Hilbert curve over the smallest power of two square containing them, skipping the
+     * curve's cells outside the image
+     *
+     * @param columns amount of tile columns
+     * @param rows amount of tile rows
+     * @return (column, row) of the tiles in order
+     */
+    private static List<int[]> hilbertOrder(int columns, int rows) {
+        int side = 1;
+        while (side < columns || side < rows)
+            side *= 2;
+
+        List<int[]> ordered = new ArrayList<>(columns * rows);
+        for (int d = 0; d < side * side; d++) {
+            // Convert the distance along the curve to a cell, one quadrant level at a time
+            int x = 0, y = 0;
+            for (int s = 1, t = d; s < side; s *= 2, t /= 4) {
+                int rx = 1 & (t / 2);
+                int ry = 1 & (t ^ rx);
+                if (ry == 0) {
+                    if (rx == 1) {
+                        x = s - 1 - x;
+                        y = s - 1 - y;
+                    }
+                    int temp = x;
+                    x = y;
+                    y = temp;
+                }
+                x += s * rx;
+                y += s * ry;
+            }
+
+            if (x < columns && y < rows)
+                ordered.add(new int[] { x, y });
+        }
+        return ordered;
+    }
+}
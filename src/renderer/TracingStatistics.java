@@ -0,0 +1,145 @@
+package renderer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class is a snapshot of the statistics of a ray tracer: the rays it traced by their type, the recursion depths
+ * of the points it colored, and the intersection tests of the geometries by their type
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class TracingStatistics {
+    private final long primaryRays;
+    private final long shadowRays;
+    private final long reflectionRays;
+    private final long refractionRays;
+    private final long[] depths;
+    private final Map<String, Long> intersectionTests;
+
+    /**
+     * Constructor to initialize a snapshot of the statistics
+     *
+     * @param primaryRays amount of rays traced from the camera
+     * @param shadowRays amount of rays traced towards the light sources
+     * @param reflectionRays amount of reflected rays
+     * @param refractionRays amount of rays traced through transparent geometries
+     * @param depths amounts of colored points by their recursion depth (0 for points hit by primary rays)
+     * @param intersectionTests amounts of intersection tests by the name of the geometries' type
+     */
+    public TracingStatistics(long primaryRays, long shadowRays, long reflectionRays, long refractionRays,
+                             long[] depths, Map<String, Long> intersectionTests) {
+        this.primaryRays = primaryRays;
+        this.shadowRays = shadowRays;
+        this.reflectionRays = reflectionRays;
+        this.refractionRays = refractionRays;
+        this.depths = depths.clone();
+        this.intersectionTests = Collections.unmodifiableMap(new TreeMap<>(intersectionTests));
+    }
+
+    /**
+     * Gets the amount of rays traced from the camera
+     *
+     * @return amount of rays
+     */
+    public long getPrimaryRays() {
+        return this.primaryRays;
+    }
+
+    /**
+     * Gets the amount of rays traced towards the light sources
+     *
+     * @return amount of rays
+     */
+    public long getShadowRays() {
+        return this.shadowRays;
+    }
+
+    /**
+     * Gets the amount of reflected rays
+     *
+     * @return amount of rays
+     */
+    public long getReflectionRays() {
+        return this.reflectionRays;
+    }
+
+    /**
+     * Gets the amount of rays traced through transparent geometries
+     *
+     * @return amount of rays
+     */
+    public long getRefractionRays() {
+        return this.refractionRays;
+    }
+
+    /**
+     * Gets the amount of rays of all the types
+     *
+     * @return amount of rays
+     */
+    public long getTotalRays() {
+        return this.primaryRays + this.shadowRays + this.reflectionRays + this.refractionRays;
+    }
+
+    /**
+     * Gets the histogram of the recursion depths of the colored points
+     *
+     * @return amounts of points by their depth, 0 for points hit by primary rays
+     */
+    public long[] getDepths() {
+        return this.depths.clone();
+    }
+
+    /**
+     * Gets the amounts of intersection tests, counted while the tracer counted them
+     *
+     * @return amounts of tests by the name of the geometries' type, sorted by name
+     */
+    public Map<String, Long> getIntersectionTests() {
+        return this.intersectionTests;
+    }
+
+    /**
+     * Calculates the statistics since an earlier snapshot of the same tracer, e.g. of a single render
+     *
+     * @param earlier earlier snapshot
+     * @return the difference of the snapshots
+     */
+    public TracingStatistics since(TracingStatistics earlier) {
+        long[] depths = this.depths.clone();
+        for (int i = 0; i < depths.length && i < earlier.depths.length; i++)
+            depths[i] -= earlier.depths[i];
+
+        Map<String, Long> tests = new TreeMap<>(this.intersectionTests);
+        earlier.intersectionTests.forEach((type, count) -> tests.merge(type, -count, Long::sum));
+        tests.values().removeIf(count -> count == 0);
+
+        return new TracingStatistics(this.primaryRays - earlier.primaryRays, this.shadowRays - earlier.shadowRays,
+                this.reflectionRays - earlier.reflectionRays, this.refractionRays - earlier.refractionRays,
+                depths, tests);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "Rays: %d primary, %d shadow, %d reflection, %d refraction (%d total)",
+                this.primaryRays, this.shadowRays, this.reflectionRays, this.refractionRays, getTotalRays()));
+
+        int deepest = this.depths.length - 1;
+        while (deepest >= 0 && this.depths[deepest] == 0)
+            deepest--;
+        summary.append(System.lineSeparator()).append("Recursion depths:");
+        for (int i = 0; i <= deepest; i++)
+            summary.append(' ').append(i).append(": ").append(this.depths[i]);
+
+        if (!this.intersectionTests.isEmpty()) {
+            summary.append(System.lineSeparator()).append("Intersection tests:");
+            this.intersectionTests.forEach((type, count) ->
+                    summary.append(' ').append(type).append(": ").append(count));
+        }
+
+        return summary.toString();
+    }
+}
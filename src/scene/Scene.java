@@ -62,6 +62,18 @@ public class Scene {
         return this;
     }
 
+    /**
+     * Organizes the geometries of the scene in a spatial index. It should be called after all the geometries are
+     * added, before rendering
+     *
+     * @param acceleration kind of the index - a tree for most scenes, a grid for evenly distributed geometries
+     * @return this Scene object
+     */
+    public Scene setAcceleration(Geometries.Acceleration acceleration) {
+        this.geometries.buildIndex(acceleration);
+        return this;
+    }
+
     /**
      * Setter to set the lights
      *
@@ -6,48 +6,74 @@ import geometries.Sphere;
 import geometries.Triangle;
 import lighting.AmbientLight;
 import org.xml.sax.SAXException;
-import scene.parser.SceneDescriptor;
+import scene.parser.BinaryScene;
+import scene.parser.SceneReader;
 import primitives.*;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * This class builds a Scene object based on parsed XML data structures
+ * This class builds a Scene object from an XML file. The file is streamed by {@link SceneReader}, and every element
+ * is built into the scene as soon as it is read.
+ * A built scene can be compiled into a binary scene file (see {@link BinaryScene}) with its acceleration structures,
+ * which later renders load instead of parsing the XML file again
  *
  * @author Benjamin Mamistvalov, Eyal Nathan
  */
-public class SceneBuilder {
-    private final SceneDescriptor sceneDesc;
+public class SceneBuilder implements SceneReader.Handler {
     private final Scene scene;
 
     /**
-     * Constructor to initialize this class and to start building the scene based on the parsed XML data
+     * Constructor to initialize this class and to build the scene while the XML file is read
      *
      * @param filePath XML file path
      * @param scene scene object (can be null)
      * @throws ParserConfigurationException .
      * @throws IOException .
-     * @throws SAXException .
+     * @throws SAXException when the XML file is malformed
      */
     public SceneBuilder(String filePath, Scene scene)
             throws ParserConfigurationException, IOException, SAXException {
+        SceneLoadEvent event = new SceneLoadEvent();
+        event.begin();
         this.scene = scene != null ? scene : new Scene("XML Scene");
-        this.sceneDesc = new SceneDescriptor(filePath);
-
-        this.buildScene();
-        this.buildAmbientLight();
 
+        // Scenes without ambient light get the default one
+        this.ambientLight(new HashMap<>());
         this.scene.setGeometries(new Geometries());
-        if (this.sceneDesc.getPlanes() != null)
-            this.buildPlanes();
-        if (this.sceneDesc.getSpheres() != null)
-            this.buildSpheres();
-        if (this.sceneDesc.getTriangles() != null)
-            this.buildTriangles();
+
+        try {
+            SceneReader.read(filePath, this);
+        }
+        catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+
+        commit(event, filePath, "XML", this.scene);
+    }
+
+    /**
+     * Commits the flight recorder event of loading a scene, if it is recorded
+     *
+     * @param event scene load event, begun before the scene was loaded
+     * @param filePath scene file path
+     * @param format format of the file
+     * @param scene the loaded scene
+     */
+    private static void commit(SceneLoadEvent event, String filePath, String format, Scene scene) {
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.format = format;
+            event.lights = scene.lights.size();
+            event.commit();
+        }
     }
 
     /**
@@ -70,11 +96,9 @@ public class SceneBuilder {
         );
     }
 
-    /**
-     * Sets the Scene attributes
-     */
-    private void buildScene() {
-        Map<String, String> sceneAttributes = this.sceneDesc.getSceneAttributes();
+    @Override
+    public void scene(Map<String, String> sceneAttributes) {
+        sceneAttributes.putIfAbsent("background-color", "0 0 0");
 
         for (String key : sceneAttributes.keySet()) {
             switch (key) {
@@ -102,12 +126,8 @@ public class SceneBuilder {
         }
     }
 
-    /**
-     * Sets the Ambient Light attributes
-     */
-    private void buildAmbientLight() {
-        Map<String, String> ambientLightAttributes = this.sceneDesc.getAmbientLightAttributes();
-
+    @Override
+    public void ambientLight(Map<String, String> ambientLightAttributes) {
         Color color = Color.BLACK;
         double k = 0;
 
@@ -144,94 +164,106 @@ public class SceneBuilder {
         this.scene.setAmbientLight(new AmbientLight(color, k));
     }
 
+    @Override
+    public void geometry(String name, Map<String, String> attributes) {
+        switch (name) {
+            case "plane":
+                this.buildPlane(attributes);
+                break;
+            case "sphere":
+                this.buildSphere(attributes);
+                break;
+            case "triangle":
+                this.buildTriangle(attributes);
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
-     * Adds the Planes as Geometries
+     * Adds a Plane to the Geometries
+     *
+     * @param plane attributes of the plane
      */
-    private void buildPlanes() {
-        List<Map<String, String>> planes = this.sceneDesc.getPlanes();
-
-        for (Map<String, String> plane : planes) {
-            if (Set.of("p1", "p2", "p3").equals(plane.keySet())) {
-                Point p1, p2, p3;
-
-                try {
-                    p1 = getPointFromValue(plane.get("p1"));
-                    p2 = getPointFromValue(plane.get("p2"));
-                    p3 = getPointFromValue(plane.get("p3"));
-                }
-                catch (NumberFormatException e) {
-                    continue;
-                }
-
-                if (p1 != null && p2 != null && p3 != null)
-                    this.scene.geometries.add(new Plane(p1, p2, p3));
+    private void buildPlane(Map<String, String> plane) {
+        if (Set.of("p1", "p2", "p3").equals(plane.keySet())) {
+            Point p1, p2, p3;
+
+            try {
+                p1 = getPointFromValue(plane.get("p1"));
+                p2 = getPointFromValue(plane.get("p2"));
+                p3 = getPointFromValue(plane.get("p3"));
+            }
+            catch (NumberFormatException e) {
+                return;
+            }
+
+            if (p1 != null && p2 != null && p3 != null)
+                this.scene.geometries.add(new Plane(p1, p2, p3));
+        }
+        else if (Set.of("q0", "normal").equals(plane.keySet()))
+        {
+            Point q0;
+            Vector normal;
+
+            try {
+                q0 = getPointFromValue(plane.get("q0"));
+                Point head = getPointFromValue(plane.get("normal"));
+                normal = head == null ? null : head.subtract(Point.ZERO);
             }
-            else if (Set.of("q0", "normal").equals(plane.keySet()))
-            {
-                Point q0;
-                Vector normal;
-
-                try {
-                    q0 = getPointFromValue(plane.get("q0"));
-                    normal = (Vector) getPointFromValue(plane.get("normal"));
-                }
-                catch (NumberFormatException e) {
-                    continue;
-                }
-
-                if (q0 != null && normal != null)
-                    this.scene.geometries.add(new Plane(q0, normal));
+            catch (IllegalArgumentException e) { // Malformed number or zero normal
+                return;
             }
+
+            if (q0 != null && normal != null)
+                this.scene.geometries.add(new Plane(q0, normal));
         }
     }
 
     /**
-     * Adds the Spheres as Geometries
+     * Adds a Sphere to the Geometries
+     *
+     * @param sphere attributes of the sphere
      */
-    private void buildSpheres() {
-        List<Map<String, String>> spheres = this.sceneDesc.getSpheres();
-
-        for (Map<String, String> sphere : spheres) {
-            if (Set.of("center", "radius").equals(sphere.keySet())) {
-                Point center;
-                double radius;
-
-                try {
-                    center = getPointFromValue(sphere.get("center"));
-                    radius = Double.parseDouble(sphere.get("radius"));
-                }
-                catch (NumberFormatException e) {
-                    continue;
-                }
-
-                if (center != null)
-                    this.scene.geometries.add(new Sphere(center, radius));
+    private void buildSphere(Map<String, String> sphere) {
+        if (Set.of("center", "radius").equals(sphere.keySet())) {
+            Point center;
+            double radius;
+
+            try {
+                center = getPointFromValue(sphere.get("center"));
+                radius = Double.parseDouble(sphere.get("radius"));
+            }
+            catch (NumberFormatException e) {
+                return;
             }
+
+            if (center != null)
+                this.scene.geometries.add(new Sphere(center, radius));
         }
     }
 
     /**
-     * Adds the Triangles as Geometries
+     * Adds a Triangle to the Geometries
+     *
+     * @param triangle attributes of the triangle
      */
-    private void buildTriangles() {
-        List<Map<String, String>> triangles = this.sceneDesc.getTriangles();
-
-        for (Map<String, String> triangle : triangles) {
-            if (Set.of("p1", "p2", "p3").equals(triangle.keySet())) {
-                Point p1, p2, p3;
-
-                try {
-                    p1 = getPointFromValue(triangle.get("p1"));
-                    p2 = getPointFromValue(triangle.get("p2"));
-                    p3 = getPointFromValue(triangle.get("p3"));
-                }
-                catch (NumberFormatException e) {
-                    continue;
-                }
-
-                if (p1 != null && p2 != null && p3 != null)
-                    this.scene.geometries.add(new Triangle(p1, p2, p3));
+    private void buildTriangle(Map<String, String> triangle) {
+        if (Set.of("p1", "p2", "p3").equals(triangle.keySet())) {
+            Point p1, p2, p3;
+
+            try {
+                p1 = getPointFromValue(triangle.get("p1"));
+                p2 = getPointFromValue(triangle.get("p2"));
+                p3 = getPointFromValue(triangle.get("p3"));
+            }
+            catch (NumberFormatException e) {
+                return;
             }
+
+            if (p1 != null && p2 != null && p3 != null)
+                this.scene.geometries.add(new Triangle(p1, p2, p3));
         }
     }
 
@@ -243,4 +275,58 @@ public class SceneBuilder {
     public Scene getScene() {
         return this.scene;
     }
+
+    /**
+     * Writes the scene to a binary scene file. The spatial index of the scene's geometries should be built before
+     * (see {@link Scene#setAcceleration(Geometries.Acceleration)}), so it is stored with them
+     *
+     * @param filePath binary scene file path
+     * @return this SceneBuilder object
+     * @throws IOException if the file can't be written
+     */
+    public SceneBuilder writeBinary(String filePath) throws IOException {
+        BinaryScene.write(this.scene, filePath);
+        return this;
+    }
+
+    /**
+     * Loads a scene from a binary scene file, with its prebuilt acceleration structures
+     *
+     * @param filePath binary scene file path
+     * @return the scene
+     * @throws IOException if the file can't be read or is not a valid scene file
+     */
+    public static Scene loadBinary(String filePath) throws IOException {
+        SceneLoadEvent event = new SceneLoadEvent();
+        event.begin();
+        Scene scene = BinaryScene.read(filePath);
+        commit(event, filePath, "BINARY", scene);
+        return scene;
+    }
+
+    /**
+     * Loads a scene through its compiled binary file: the binary file is loaded if it is newer than the XML file,
+     * otherwise the XML file is built with the given acceleration and compiled into the binary file for the next time
+     *
+     * @param filePath XML file path
+     * @param binaryPath binary scene file path
+     * @param acceleration kind of the spatial index of the scene's geometries, used when the XML file is built
+     * @return the scene
+     * @throws ParserConfigurationException .
+     * @throws IOException if a file can't be read, or the binary file can't be written
+     * @throws SAXException when the XML file is malformed
+     */
+    public static Scene loadCompiled(String filePath, String binaryPath, Geometries.Acceleration acceleration)
+            throws ParserConfigurationException, IOException, SAXException {
+        Path xml = Path.of(filePath);
+        Path binary = Path.of(binaryPath);
+        if (Files.exists(binary)
+                && Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(xml)) >= 0)
+            return loadBinary(binaryPath);
+
+        SceneBuilder builder = new SceneBuilder(filePath, null);
+        builder.getScene().setAcceleration(acceleration);
+        builder.writeBinary(binaryPath);
+        return builder.getScene();
+    }
 }
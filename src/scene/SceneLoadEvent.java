@@ -0,0 +1,28 @@
+package scene;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of loading a scene file (see {@link SceneBuilder})
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+@Name("raytracer.SceneLoad")
+@Label("Scene Load")
+@Category({ "Ray Tracer", "Scene" })
+@Description("Loading of a scene from an XML or a binary scene file")
+class SceneLoadEvent extends Event {
+    @Label("File Path")
+    String filePath;
+
+    @Label("Format")
+    @Description("XML or BINARY")
+    String format;
+
+    @Label("Lights")
+    int lights;
+}
@@ -0,0 +1,827 @@
+package scene.parser;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.LightSource;
+import lighting.PointLight;
+import lighting.SpotLight;
+import primitives.*;
+import scene.Scene;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class stores scenes in a compact binary format, so a scene is parsed and its acceleration structures are built
+ * once, and every later render loads it ready for tracing. The file holds the geometries, materials and lights of the
+ * scene with the prebuilt bounding volume hierarchies of its collections and meshes, which are used as loaded instead
+ * of being built again (uniform grids are quick to build, so they are rebuilt). Materials and objects shared by
+ * several geometries or instances are stored once and stay shared.
+ * Files are written through a buffered file channel and read through a memory mapping of the file, with the big
+ * arrays of meshes and hierarchies copied in bulk. All numbers are little endian
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class BinaryScene {
+    /**
+     * First bytes of a scene file, "RTSC"
+     */
+    private static final int MAGIC = 0x43535452;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Tags of the intersectable records
+    private static final byte PLANE = 1;
+    private static final byte SPHERE = 2;
+    private static final byte TUBE = 3;
+    private static final byte CYLINDER = 4;
+    private static final byte TRIANGLE = 5;
+    private static final byte POLYGON = 6;
+    private static final byte ORIENTED_BOX = 7;
+    private static final byte MESH = 8;
+    private static final byte INSTANCE = 9;
+    private static final byte GEOMETRIES = 10;
+
+    // Tags of the light records
+    private static final byte DIRECTIONAL_LIGHT = 1;
+    private static final byte POINT_LIGHT = 2;
+    private static final byte SPOT_LIGHT = 3;
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private BinaryScene() {}
+
+    /**
+     * Writes a scene to a file. The spatial indexes of the scene's geometries should be built before, so they are
+     * stored with them. The scene is written to a temporary file in the same directory, which then replaces the file
+     * atomically, so readers never see a partial file, and if the scene can't be written the previous file is kept
+     *
+     * @param scene scene
+     * @param filePath file path
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if the scene has a kind of geometry or light the format does not store
+     */
+    public static void write(Scene scene, String filePath) throws IOException {
+        Path path = Path.of(filePath).toAbsolutePath();
+        Path temporary = Files.createTempFile(path.getParent(), path.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                new Writer(channel).writeScene(scene);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a scene from a file
+     *
+     * @param filePath file path
+     * @return the scene
+     * @throws IOException if the file can't be read or is not a valid scene file
+     */
+    public static Scene read(String filePath) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Scene file is too big to map: " + filePath);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // The mapping stays valid after the channel is closed
+        try {
+            return new Reader(buffer.order(ByteOrder.LITTLE_ENDIAN)).readScene();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Scene file is truncated: " + filePath, e);
+        } catch (IllegalArgumentException e) { // Invalid values for the geometries
+            throw new IOException("Scene file is invalid: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the records of a scene to a channel
+     */
+    private static class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        // Identifiers of the shared objects (materials and intersectables) written so far
+        private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+        /**
+         * Constructor to initialize a writer to a channel
+         *
+         * @param channel file channel
+         */
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes a scene and flushes it to the channel
+         *
+         * @param scene scene
+         * @throws IOException if the channel can't be written
+         */
+        void writeScene(Scene scene) throws IOException {
+            putInt(MAGIC);
+            putInt(VERSION);
+            putString(scene.name);
+            putColor(scene.background);
+            putColor(scene.ambientLight.getIntensity());
+
+            putInt(scene.lights.size());
+            for (LightSource light : scene.lights)
+                writeLight(light);
+
+            writeIntersectable(scene.geometries);
+            flush();
+        }
+
+        /**
+         * Writes a light record
+         *
+         * @param light light
+         * @throws IOException if the channel can't be written
+         */
+        private void writeLight(LightSource light) throws IOException {
+            if (light.getClass() == DirectionalLight.class) {
+                DirectionalLight directional = (DirectionalLight) light;
+                putByte(DIRECTIONAL_LIGHT);
+                putColor(directional.getIntensity());
+                putPoint(directional.getDirection());
+            } else if (light.getClass() == PointLight.class || light.getClass() == SpotLight.class) {
+                PointLight point = (PointLight) light;
+                putByte(light instanceof SpotLight ? SPOT_LIGHT : POINT_LIGHT);
+                putColor(point.getIntensity());
+                putPoint(point.getPosition());
+                putDouble(point.getKc());
+                putDouble(point.getKl());
+                putDouble(point.getKq());
+                if (light instanceof SpotLight spot) {
+                    putPoint(spot.getDirection());
+                    putInt(spot.getNarrowBeam());
+                }
+            } else
+                throw new IllegalArgumentException("Can't store a light of " + light.getClass().getName());
+        }
+
+        /**
+         * Writes an intersectable record, or a reference to it if it was already written
+         *
+         * @param intersectable intersectable object
+         * @throws IOException if the channel can't be written
+         */
+        private void writeIntersectable(Intersectable intersectable) throws IOException {
+            if (writeId(intersectable))
+                return;
+
+            if (intersectable.getClass() == Geometries.class)
+                writeGeometries((Geometries) intersectable);
+            else if (intersectable.getClass() == Instance.class) {
+                Instance instance = (Instance) intersectable;
+                putByte(INSTANCE);
+                putDoubles(instance.getTransform().getMatrix());
+                putDoubles(instance.getTransform().getInverseMatrix());
+                writeIntersectable(instance.getObject());
+            } else if (intersectable.getClass() == TriangleMesh.class) {
+                TriangleMesh mesh = (TriangleMesh) intersectable;
+                putByte(MESH);
+                putDoubles(mesh.getVertices());
+                putInts(mesh.getFaces());
+                writeBVH(mesh.getIndex());
+                putColor(mesh.getEmission());
+                writeMaterial(mesh.getMaterial());
+            } else if (intersectable instanceof Geometry geometry)
+                writeGeometry(geometry);
+            else
+                throw new IllegalArgumentException("Can't store " + intersectable.getClass().getName());
+        }
+
+        /**
+         * Writes the record of a collection: its unbounded geometries, its indexed geometries with their hierarchy
+         * and its other geometries
+         *
+         * @param geometries collection
+         * @throws IOException if the channel can't be written
+         */
+        private void writeGeometries(Geometries geometries) throws IOException {
+            putByte(GEOMETRIES);
+            putByte((byte) geometries.getAcceleration().ordinal());
+            writeIntersectables(geometries.getUnbounded());
+            writeIntersectables(geometries.getIndexed());
+            if (geometries.getIndex() instanceof BVH bvh)
+                writeBVH(bvh);
+            writeIntersectables(geometries.getUnindexed());
+        }
+
+        /**
+         * Writes a list of intersectable records, preceded by its size
+         *
+         * @param intersectables intersectable objects
+         * @throws IOException if the channel can't be written
+         */
+        private void writeIntersectables(List<Intersectable> intersectables) throws IOException {
+            putInt(intersectables.size());
+            for (Intersectable intersectable : intersectables)
+                writeIntersectable(intersectable);
+        }
+
+        /**
+         * Writes the record of a basic geometry: its shape, emission and material
+         *
+         * @param geometry geometry
+         * @throws IOException if the channel can't be written
+         */
+        private void writeGeometry(Geometry geometry) throws IOException {
+            Class<?> type = geometry.getClass();
+            if (type == Plane.class) {
+                Plane plane = (Plane) geometry;
+                putByte(PLANE);
+                putPoint(plane.getQ0());
+                putPoint(plane.getNormal());
+            } else if (type == Sphere.class) {
+                Sphere sphere = (Sphere) geometry;
+                putByte(SPHERE);
+                putPoint(sphere.getCenter());
+                putDouble(sphere.getRadius());
+            } else if (type == Tube.class || type == Cylinder.class) {
+                Tube tube = (Tube) geometry;
+                putByte(type == Cylinder.class ? CYLINDER : TUBE);
+                putPoint(tube.getAxisRay().getStartPoint());
+                putPoint(tube.getAxisRay().getDirection());
+                putDouble(tube.getRadius());
+                if (tube instanceof Cylinder cylinder)
+                    putDouble(cylinder.getHeight());
+            } else if (type == Triangle.class || type == Polygon.class) {
+                List<Point> vertices = ((Polygon) geometry).getVertices();
+                putByte(type == Triangle.class ? TRIANGLE : POLYGON);
+                if (type == Polygon.class)
+                    putInt(vertices.size());
+                for (Point vertex : vertices)
+                    putPoint(vertex);
+            } else if (type == OrientedBox.class) {
+                OrientedBox box = (OrientedBox) geometry;
+                putByte(ORIENTED_BOX);
+                putPoint(box.getCenter());
+                putPoint(box.getUp());
+                putPoint(box.getRight());
+                putDouble(box.getLength());
+                putDouble(box.getWidth());
+                putDouble(box.getHeight());
+            } else
+                throw new IllegalArgumentException("Can't store " + type.getName());
+
+            putColor(geometry.getEmission());
+            writeMaterial(geometry.getMaterial());
+        }
+
+        /**
+         * Writes a material record, or a reference to it if it was already written
+         *
+         * @param material material
+         * @throws IOException if the channel can't be written
+         */
+        private void writeMaterial(Material material) throws IOException {
+            if (writeId(material))
+                return;
+
+            putDouble3(material.kD);
+            putDouble3(material.kS);
+            putDouble3(material.kT);
+            putDouble3(material.kR);
+            putInt(material.nShininess);
+        }
+
+        /**
+         * Writes the flat arrays of a bounding volume hierarchy
+         *
+         * @param bvh hierarchy
+         * @throws IOException if the channel can't be written
+         */
+        private void writeBVH(BVH bvh) throws IOException {
+            putDoubles(bvh.getBounds());
+            putInts(bvh.getNodes());
+            putInts(bvh.getPrimitives());
+        }
+
+        /**
+         * Writes the identifier of a shared object. A new object gets the next identifier, and its record must follow
+         *
+         * @param object shared object
+         * @return true if the object was already written, so only a reference to it was written
+         * @throws IOException if the channel can't be written
+         */
+        private boolean writeId(Object object) throws IOException {
+            Integer id = this.ids.get(object);
+            if (id != null) {
+                putInt(id);
+                return true;
+            }
+
+            id = this.ids.size();
+            this.ids.put(object, id);
+            putInt(id);
+            return false;
+        }
+
+        /**
+         * Makes room in the buffer, flushing it if needed
+         *
+         * @param bytes amount of bytes to make room for
+         * @throws IOException if the channel can't be written
+         */
+        private void ensure(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes)
+                flush();
+        }
+
+        /**
+         * Writes the content of the buffer to the channel
+         *
+         * @throws IOException if the channel can't be written
+         */
+        private void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining())
+                this.channel.write(this.buffer);
+            this.buffer.clear();
+        }
+
+        /**
+         * Writes a byte
+         *
+         * @param value byte
+         * @throws IOException if the channel can't be written
+         */
+        private void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES);
+            this.buffer.put(value);
+        }
+
+        /**
+         * Writes an integer
+         *
+         * @param value integer
+         * @throws IOException if the channel can't be written
+         */
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            this.buffer.putInt(value);
+        }
+
+        /**
+         * Writes a number
+         *
+         * @param value number
+         * @throws IOException if the channel can't be written
+         */
+        private void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            this.buffer.putDouble(value);
+        }
+
+        /**
+         * Writes the coordinates of a point (or a vector)
+         *
+         * @param point point
+         * @throws IOException if the channel can't be written
+         */
+        private void putPoint(Point point) throws IOException {
+            putDouble(point.getX());
+            putDouble(point.getY());
+            putDouble(point.getZ());
+        }
+
+        /**
+         * Writes a triad of numbers
+         *
+         * @param value triad
+         * @throws IOException if the channel can't be written
+         */
+        private void putDouble3(Double3 value) throws IOException {
+            putDouble(value.getD1());
+            putDouble(value.getD2());
+            putDouble(value.getD3());
+        }
+
+        /**
+         * Writes a color
+         *
+         * @param color color
+         * @throws IOException if the channel can't be written
+         */
+        private void putColor(Color color) throws IOException {
+            putDouble3(color.getRgb());
+        }
+
+        /**
+         * Writes a string as UTF-8, preceded by its length in bytes
+         *
+         * @param value string
+         * @throws IOException if the channel can't be written
+         */
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            for (byte b : bytes)
+                putByte(b);
+        }
+
+        /**
+         * Writes an array of numbers, preceded by its length, in bulk
+         *
+         * @param values numbers
+         * @throws IOException if the channel can't be written
+         */
+        private void putDoubles(double[] values) throws IOException {
+            putInt(values.length);
+            for (int i = 0; i < values.length; ) {
+                ensure(Double.BYTES);
+                int count = Math.min(values.length - i, this.buffer.remaining() / Double.BYTES);
+                this.buffer.asDoubleBuffer().put(values, i, count);
+                this.buffer.position(this.buffer.position() + count * Double.BYTES);
+                i += count;
+            }
+        }
+
+        /**
+         * Writes an array of integers, preceded by its length, in bulk
+         *
+         * @param values integers
+         * @throws IOException if the channel can't be written
+         */
+        private void putInts(int[] values) throws IOException {
+            putInt(values.length);
+            for (int i = 0; i < values.length; ) {
+                ensure(Integer.BYTES);
+                int count = Math.min(values.length - i, this.buffer.remaining() / Integer.BYTES);
+                this.buffer.asIntBuffer().put(values, i, count);
+                this.buffer.position(this.buffer.position() + count * Integer.BYTES);
+                i += count;
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a scene from a buffer
+     */
+    private static class Reader {
+        private final ByteBuffer buffer;
+        // Shared objects (materials and intersectables) by their identifiers - null while an object is being read
+        private final List<Object> objects = new ArrayList<>();
+
+        /**
+         * Constructor to initialize a reader of a buffer
+         *
+         * @param buffer little endian buffer of the file
+         */
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads a scene
+         *
+         * @return the scene
+         * @throws IOException if the content is not a valid scene
+         */
+        Scene readScene() throws IOException {
+            if (this.buffer.remaining() < 2 * Integer.BYTES || this.buffer.getInt() != MAGIC)
+                throw new IOException("Not a scene file");
+            int version = this.buffer.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported scene file version " + version);
+
+            Scene scene = new Scene(getString());
+            scene.setBackground(getColor());
+            scene.setAmbientLight(new AmbientLight(getColor(), 1));
+
+            List<LightSource> lights = new LinkedList<>();
+            for (int i = getLength(1); i > 0; i--)
+                lights.add(readLight());
+            scene.setLights(lights);
+
+            if (!(readIntersectable() instanceof Geometries geometries))
+                throw new IOException("The geometries of the scene must be a collection");
+            scene.setGeometries(geometries);
+
+            if (this.buffer.hasRemaining())
+                throw new IOException("Unexpected content after the scene at " + this.buffer.position());
+            return scene;
+        }
+
+        /**
+         * Reads a light record
+         *
+         * @return the light
+         * @throws IOException if the content is not a valid light
+         */
+        private LightSource readLight() throws IOException {
+            byte tag = this.buffer.get();
+            Color intensity = getColor();
+            if (tag == DIRECTIONAL_LIGHT)
+                return new DirectionalLight(intensity, getVector());
+            if (tag != POINT_LIGHT && tag != SPOT_LIGHT)
+                throw new IOException("Unknown light tag " + tag + " at " + (this.buffer.position() - 1));
+
+            Point position = getPoint();
+            double kC = this.buffer.getDouble();
+            double kL = this.buffer.getDouble();
+            double kQ = this.buffer.getDouble();
+            PointLight light;
+            if (tag == SPOT_LIGHT) {
+                SpotLight spot = new SpotLight(intensity, position, getVector());
+                spot.setNarrowBeam(this.buffer.getInt());
+                light = spot;
+            } else
+                light = new PointLight(intensity, position);
+            return light.setKc(kC).setKl(kL).setKq(kQ);
+        }
+
+        /**
+         * Reads an intersectable record, or a reference to an intersectable already read
+         *
+         * @return the intersectable object
+         * @throws IOException if the content is not a valid intersectable
+         */
+        private Intersectable readIntersectable() throws IOException {
+            int id = getId();
+            if (id < this.objects.size())
+                return getShared(id, Intersectable.class);
+            this.objects.add(null);
+
+            byte tag = this.buffer.get();
+            Intersectable intersectable = switch (tag) {
+                case GEOMETRIES -> readGeometries();
+                case INSTANCE -> {
+                    double[] matrix = getDoubles();
+                    double[] inverse = getDoubles();
+                    yield new Instance(readIntersectable(), Transform.fromMatrices(matrix, inverse));
+                }
+                case MESH -> {
+                    double[] vertices = getDoubles();
+                    int[] faces = getInts();
+                    TriangleMesh mesh = new TriangleMesh(vertices, faces, readBVH());
+                    yield mesh.setEmission(getColor()).setMaterial(readMaterial());
+                }
+                default -> readGeometry(tag).setEmission(getColor()).setMaterial(readMaterial());
+            };
+
+            this.objects.set(id, intersectable);
+            return intersectable;
+        }
+
+        /**
+         * Reads the rest of a collection record, and installs its hierarchy as loaded
+         *
+         * @return the collection
+         * @throws IOException if the content is not a valid collection
+         */
+        private Geometries readGeometries() throws IOException {
+            byte kind = this.buffer.get();
+            Geometries.Acceleration[] accelerations = Geometries.Acceleration.values();
+            if (kind < 0 || kind >= accelerations.length)
+                throw new IOException("Unknown acceleration " + kind + " at " + (this.buffer.position() - 1));
+            Geometries.Acceleration acceleration = accelerations[kind];
+
+            Geometries geometries = new Geometries(readIntersectables());
+            Intersectable[] indexed = readIntersectables();
+            BVH bvh = acceleration == Geometries.Acceleration.BVH ? readBVH() : null;
+            geometries.add(readIntersectables());
+
+            switch (acceleration) {
+                case BVH -> {
+                    if (bvh.getPrimitives().length != indexed.length)
+                        throw new IOException("The hierarchy of a collection is not of its geometries");
+                    geometries.setIndex(indexed, bvh);
+                }
+                case GRID -> {
+                    BoundingBox[] boxes = new BoundingBox[indexed.length];
+                    for (int i = 0; i < boxes.length; i++)
+                        boxes[i] = indexed[i].getBoundingBox();
+                    geometries.setIndex(indexed, new UniformGrid(boxes));
+                }
+                default -> {
+                    if (indexed.length != 0)
+                        throw new IOException("Indexed geometries in a collection without an index");
+                }
+            }
+            return geometries;
+        }
+
+        /**
+         * Reads a list of intersectable records, preceded by its size
+         *
+         * @return the intersectable objects
+         * @throws IOException if the content is not a valid list
+         */
+        private Intersectable[] readIntersectables() throws IOException {
+            Intersectable[] intersectables = new Intersectable[getLength(Integer.BYTES)];
+            for (int i = 0; i < intersectables.length; i++)
+                intersectables[i] = readIntersectable();
+            return intersectables;
+        }
+
+        /**
+         * Reads the shape of a basic geometry record
+         *
+         * @param tag tag of the record
+         * @return the geometry, without its emission and material
+         * @throws IOException if the content is not a valid geometry
+         */
+        private Geometry readGeometry(byte tag) throws IOException {
+            switch (tag) {
+                case PLANE:
+                    return new Plane(getPoint(), getVector());
+                case SPHERE:
+                    return new Sphere(getPoint(), this.buffer.getDouble());
+                case TUBE:
+                case CYLINDER:
+                    Ray axisRay = new Ray(getPoint(), getVector());
+                    double radius = this.buffer.getDouble();
+                    return tag == TUBE ? new Tube(axisRay, radius)
+                            : new Cylinder(this.buffer.getDouble(), axisRay, radius);
+                case TRIANGLE:
+                    return new Triangle(getPoint(), getPoint(), getPoint());
+                case POLYGON:
+                    Point[] vertices = new Point[getLength(3 * Double.BYTES)];
+                    for (int i = 0; i < vertices.length; i++)
+                        vertices[i] = getPoint();
+                    return new Polygon(vertices);
+                case ORIENTED_BOX:
+                    return new OrientedBox(getPoint(), getVector(), getVector(), this.buffer.getDouble(),
+                            this.buffer.getDouble(), this.buffer.getDouble());
+                default:
+                    throw new IOException("Unknown geometry tag " + tag + " at " + (this.buffer.position() - 1));
+            }
+        }
+
+        /**
+         * Reads a material record, or a reference to a material already read
+         *
+         * @return the material
+         * @throws IOException if the content is not a valid material
+         */
+        private Material readMaterial() throws IOException {
+            int id = getId();
+            if (id < this.objects.size())
+                return getShared(id, Material.class);
+
+            Material material = new Material()
+                    .setKd(getDouble3())
+                    .setKs(getDouble3())
+                    .setKt(getDouble3())
+                    .setKr(getDouble3())
+                    .setShininess(this.buffer.getInt());
+            this.objects.add(material);
+            return material;
+        }
+
+        /**
+         * Reads the flat arrays of a bounding volume hierarchy
+         *
+         * @return the hierarchy
+         * @throws IOException if the content can't be read
+         */
+        private BVH readBVH() throws IOException {
+            double[] bounds = getDoubles();
+            int[] nodes = getInts();
+            return new BVH(bounds, nodes, getInts());
+        }
+
+        /**
+         * Reads the identifier of a shared object - of an object already read, or the next identifier for a new one
+         *
+         * @return the identifier
+         * @throws IOException if the identifier is of neither
+         */
+        private int getId() throws IOException {
+            int id = this.buffer.getInt();
+            if (id < 0 || id > this.objects.size())
+                throw new IOException("Invalid object identifier " + id + " at " + (this.buffer.position() - 4));
+            return id;
+        }
+
+        /**
+         * Gets a shared object already read
+         *
+         * @param id identifier of the object
+         * @param type expected type of the object
+         * @param <T> expected type of the object
+         * @return the object
+         * @throws IOException if the object is not of the expected type, or is still being read
+         */
+        private <T> T getShared(int id, Class<T> type) throws IOException {
+            Object object = this.objects.get(id);
+            if (!type.isInstance(object))
+                throw new IOException("Object " + id + " is not a complete " + type.getSimpleName());
+            return type.cast(object);
+        }
+
+        /**
+         * Reads a length of an array and checks that the rest of the file can hold it
+         *
+         * @param elementSize minimal size of an element in bytes
+         * @return the length
+         * @throws IOException if the length is negative or too big
+         */
+        private int getLength(int elementSize) throws IOException {
+            int length = this.buffer.getInt();
+            if (length < 0 || length > this.buffer.remaining() / elementSize)
+                throw new IOException("Invalid length " + length + " at " + (this.buffer.position() - 4));
+            return length;
+        }
+
+        /**
+         * Reads the coordinates of a point
+         *
+         * @return the point
+         */
+        private Point getPoint() {
+            return new Point(this.buffer.getDouble(), this.buffer.getDouble(), this.buffer.getDouble());
+        }
+
+        /**
+         * Reads the coordinates of a vector
+         *
+         * @return the vector
+         * @throws IllegalArgumentException if the vector is zero
+         */
+        private Vector getVector() {
+            return new Vector(this.buffer.getDouble(), this.buffer.getDouble(), this.buffer.getDouble());
+        }
+
+        /**
+         * Reads a triad of numbers
+         *
+         * @return the triad
+         */
+        private Double3 getDouble3() {
+            return new Double3(this.buffer.getDouble(), this.buffer.getDouble(), this.buffer.getDouble());
+        }
+
+        /**
+         * Reads a color
+         *
+         * @return the color
+         */
+        private Color getColor() {
+            return new Color(this.buffer.getDouble(), this.buffer.getDouble(), this.buffer.getDouble());
+        }
+
+        /**
+         * Reads a UTF-8 string, preceded by its length in bytes
+         *
+         * @return the string
+         * @throws IOException if the length is invalid
+         */
+        private String getString() throws IOException {
+            byte[] bytes = new byte[getLength(1)];
+            this.buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads an array of numbers, preceded by its length, in bulk
+         *
+         * @return the numbers
+         * @throws IOException if the length is invalid
+         */
+        private double[] getDoubles() throws IOException {
+            double[] values = new double[getLength(Double.BYTES)];
+            this.buffer.asDoubleBuffer().get(values);
+            this.buffer.position(this.buffer.position() + values.length * Double.BYTES);
+            return values;
+        }
+
+        /**
+         * Reads an array of integers, preceded by its length, in bulk
+         *
+         * @return the integers
+         * @throws IOException if the length is invalid
+         */
+        private int[] getInts() throws IOException {
+            int[] values = new int[getLength(Integer.BYTES)];
+            this.buffer.asIntBuffer().get(values);
+            this.buffer.position(this.buffer.position() + values.length * Integer.BYTES);
+            return values;
+        }
+    }
+}
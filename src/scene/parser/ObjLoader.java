@@ -0,0 +1,342 @@
+package scene.parser;
+
+import geometries.TriangleMesh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This class loads Wavefront OBJ files into triangle meshes. The file is streamed through a fixed buffer and parsed
+ * byte by byte - numbers are parsed without creating strings - straight into the packed buffers of the mesh, so a
+ * file of millions of faces is loaded with little more memory than the mesh itself.
+ * Vertices ("v") and faces ("f") are loaded; faces of more than 3 vertices are split into triangles around their
+ * first vertex, and texture and normal indices of face vertices are ignored, as are all other statements
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class ObjLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * Exact powers of 10 as doubles
+     */
+    private static final double[] POWERS_OF_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Largest mantissa exactly represented as a double
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+
+    // Loaded vertices (3 coordinates each) and faces (3 vertex indices each), grown as needed
+    private double[] vertices = new double[3 * INITIAL_CAPACITY];
+    private int verticesSize = 0;
+    private int[] faces = new int[3 * INITIAL_CAPACITY];
+    private int facesSize = 0;
+    // Vertex indices of the face being read
+    private int[] polygon = new int[16];
+
+    /**
+     * Constructor to initialize a loader of a stream
+     *
+     * @param input OBJ stream
+     */
+    private ObjLoader(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Loads an OBJ file
+     *
+     * @param filePath OBJ file path
+     * @return the mesh of the file
+     * @throws IOException if the file can't be read or is malformed
+     */
+    public static TriangleMesh load(String filePath) throws IOException {
+        try (InputStream input = Files.newInputStream(Path.of(filePath))) {
+            return load(input);
+        }
+    }
+
+    /**
+     * Loads an OBJ stream. The stream is read to its end but not closed
+     *
+     * @param input OBJ stream
+     * @return the mesh of the stream
+     * @throws IOException if the stream can't be read or is malformed
+     */
+    public static TriangleMesh load(InputStream input) throws IOException {
+        return new ObjLoader(input).parse();
+    }
+
+    /**
+     * Parses the statements of the stream, line by line
+     *
+     * @return the mesh
+     * @throws IOException if the stream can't be read or is malformed
+     */
+    private TriangleMesh parse() throws IOException {
+        int c;
+        while ((c = skipSpaces()) != -1) {
+            if (c == '\n') {
+                read();
+                this.line++;
+                continue;
+            }
+
+            // The statement is the first word of the line
+            read();
+            int next = peek();
+            boolean singleLetter = next == ' ' || next == '\t';
+            if (c == 'v' && singleLetter)
+                parseVertex();
+            else if (c == 'f' && singleLetter)
+                parseFace();
+            skipLine();
+        }
+
+        return new TriangleMesh(Arrays.copyOf(this.vertices, this.verticesSize),
+                Arrays.copyOf(this.faces, this.facesSize));
+    }
+
+    /**
+     * Parses the coordinates of a vertex statement. Optional weights and colors are ignored
+     *
+     * @throws IOException if the stream can't be read or the coordinates are malformed
+     */
+    private void parseVertex() throws IOException {
+        if (this.verticesSize + 3 > this.vertices.length)
+            this.vertices = Arrays.copyOf(this.vertices, 2 * this.vertices.length);
+
+        for (int i = 0; i < 3; i++)
+            this.vertices[this.verticesSize + i] = parseDouble();
+        this.verticesSize += 3;
+    }
+
+    /**
+     * Parses the vertices of a face statement, and adds its triangles
+     *
+     * @throws IOException if the stream can't be read or the face is malformed
+     */
+    private void parseFace() throws IOException {
+        int verticesCount = this.verticesSize / 3;
+        int size = 0;
+        int c;
+        while ((c = skipSpaces()) != -1 && c != '\n' && c != '#') {
+            int index = parseInt();
+            // Skip the texture and normal indices
+            while ((c = peek()) != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n')
+                read();
+
+            // Indices are 1 based, or relative to the end when negative
+            int vertex = index < 0 ? verticesCount + index : index - 1;
+            if (index == 0 || vertex < 0 || vertex >= verticesCount)
+                throw error("Face refers to a missing vertex " + index);
+
+            if (size == this.polygon.length)
+                this.polygon = Arrays.copyOf(this.polygon, 2 * size);
+            this.polygon[size++] = vertex;
+        }
+
+        if (size < 3)
+            throw error("Face of less than 3 vertices");
+
+        int triangles = size - 2;
+        if (this.facesSize + 3 * triangles > this.faces.length)
+            this.faces = Arrays.copyOf(this.faces, Math.max(2 * this.faces.length, this.facesSize + 3 * triangles));
+        for (int i = 1; i <= triangles; i++) {
+            this.faces[this.facesSize++] = this.polygon[0];
+            this.faces[this.facesSize++] = this.polygon[i];
+            this.faces[this.facesSize++] = this.polygon[i + 1];
+        }
+    }
+
+    /**
+     * Parses a decimal number, with an optional sign, fraction and exponent. The number is exact (as parsed by
+     * {@link Double#parseDouble(String)}) when it has up to 15 significant digits and a small exponent, and within an
+     * ulp or two otherwise
+     *
+     * @return the number
+     * @throws IOException if the stream can't be read or there is no number
+     */
+    private double parseDouble() throws IOException {
+        skipSpaces();
+        boolean negative = parseSign();
+
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        int c;
+        while (isDigit(c = peek())) {
+            read();
+            digits++;
+            if (mantissa < Long.MAX_VALUE / 10 - 9)
+                mantissa = 10 * mantissa + (c - '0');
+            else // Too many digits to keep - they only affect the last bits of the result
+                exponent++;
+        }
+        if (c == '.') {
+            read();
+            while (isDigit(c = peek())) {
+                read();
+                digits++;
+                if (mantissa < Long.MAX_VALUE / 10 - 9) {
+                    mantissa = 10 * mantissa + (c - '0');
+                    exponent--;
+                }
+            }
+        }
+        if (digits == 0)
+            throw error("Number expected");
+
+        if (c == 'e' || c == 'E') {
+            read();
+            boolean negativeExponent = parseSign();
+            if (!isDigit(peek()))
+                throw error("Exponent expected");
+            exponent += negativeExponent ? -parseDigits() : parseDigits();
+        }
+
+        double value;
+        if (mantissa == 0)
+            value = 0;
+        else if (mantissa <= MAX_EXACT_MANTISSA && Math.abs(exponent) < POWERS_OF_10.length)
+            value = exponent < 0 ? mantissa / POWERS_OF_10[-exponent] : mantissa * POWERS_OF_10[exponent];
+        else
+            value = mantissa * Math.pow(10, exponent);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses an integer, with an optional sign
+     *
+     * @return the integer
+     * @throws IOException if the stream can't be read or there is no integer
+     */
+    private int parseInt() throws IOException {
+        boolean negative = parseSign();
+        if (!isDigit(peek()))
+            throw error("Integer expected");
+
+        int value = parseDigits();
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a sequence of decimal digits
+     *
+     * @return the value of the digits
+     * @throws IOException if the stream can't be read or the value is too big
+     */
+    private int parseDigits() throws IOException {
+        int value = 0;
+        int c;
+        while (isDigit(c = peek())) {
+            read();
+            if (value > (Integer.MAX_VALUE - 9) / 10)
+                throw error("Integer too big");
+            value = 10 * value + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses an optional sign
+     *
+     * @return true if the sign is negative
+     * @throws IOException if the stream can't be read
+     */
+    private boolean parseSign() throws IOException {
+        int c = peek();
+        if (c == '-' || c == '+')
+            read();
+        return c == '-';
+    }
+
+    /**
+     * Checks whether a byte is a decimal digit
+     *
+     * @param c byte
+     * @return true if the byte is a digit
+     */
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Skips spaces, tabs and carriage returns
+     *
+     * @return the next byte, or -1 at the end of the stream
+     * @throws IOException if the stream can't be read
+     */
+    private int skipSpaces() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t' || c == '\r')
+            read();
+        return c;
+    }
+
+    /**
+     * Skips the rest of the current line, including its end
+     *
+     * @throws IOException if the stream can't be read
+     */
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n');
+        this.line++;
+    }
+
+    /**
+     * Gets the next byte of the stream without consuming it
+     *
+     * @return the next byte, or -1 at the end of the stream
+     * @throws IOException if the stream can't be read
+     */
+    private int peek() throws IOException {
+        if (this.position == this.limit) {
+            this.limit = this.input.read(this.buffer);
+            this.position = 0;
+            if (this.limit <= 0) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+        return this.buffer[this.position] & 0xFF;
+    }
+
+    /**
+     * Consumes the next byte of the stream
+     *
+     * @return the byte, or -1 at the end of the stream
+     * @throws IOException if the stream can't be read
+     */
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1)
+            this.position++;
+        return c;
+    }
+
+    /**
+     * Creates an exception of malformed content at the current line
+     *
+     * @param message description of the error
+     * @return the exception
+     */
+    private IOException error(String message) {
+        return new IOException(String.format("OBJ line %d: %s", this.line, message));
+    }
+}
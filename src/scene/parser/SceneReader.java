@@ -0,0 +1,133 @@
+package scene.parser;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class reads XML scene files in the format of {@link SceneDescriptor} as a stream (StAX): every element is
+ * handed to a handler as soon as it is read, with its own attributes only, so no document or attribute tables of the
+ * whole scene are kept in memory.
+ * The root element holds the scene attributes, its "ambient-light" child the ambient light attributes and its
+ * "geometries" child the geometry elements ("plane", "sphere" and "triangle"), which are handed over in document order
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+public class SceneReader {
+    /**
+     * Receives the elements of a scene as they are read
+     */
+    public interface Handler {
+        /**
+         * Receives the attributes of the scene (the root element)
+         *
+         * @param attributes attributes of the scene
+         */
+        void scene(Map<String, String> attributes);
+
+        /**
+         * Receives the attributes of the ambient light
+         *
+         * @param attributes attributes of the ambient light
+         */
+        void ambientLight(Map<String, String> attributes);
+
+        /**
+         * Receives a geometry element
+         *
+         * @param name element name, e.g. "sphere"
+         * @param attributes attributes of the geometry
+         */
+        void geometry(String name, Map<String, String> attributes);
+    }
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        // Scene files need no document type, and must not reach other files through external entities
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private SceneReader() {}
+
+    /**
+     * Reads an XML scene file
+     *
+     * @param filePath XML file path
+     * @param handler receiver of the elements
+     * @throws IOException if the file can't be read
+     * @throws XMLStreamException if the file is malformed
+     */
+    public static void read(String filePath, Handler handler) throws IOException, XMLStreamException {
+        try (InputStream input = Files.newInputStream(Path.of(filePath))) {
+            read(input, handler);
+        }
+    }
+
+    /**
+     * Reads an XML scene stream. The stream is not closed
+     *
+     * @param input XML stream
+     * @param handler receiver of the elements
+     * @throws XMLStreamException if the stream can't be read or is malformed
+     */
+    public static void read(InputStream input, Handler handler) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(input);
+        try {
+            // Depth of the current element (the root is at depth 1), and whether it is inside the geometries element
+            int depth = 0;
+            boolean inGeometries = false;
+            boolean geometriesRead = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (--depth == 1 && inGeometries) {
+                        inGeometries = false;
+                        geometriesRead = true;
+                    }
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT)
+                    continue;
+
+                String name = reader.getLocalName();
+                depth++;
+                if (depth == 1)
+                    handler.scene(attributes(reader));
+                else if (depth == 2 && name.equals("ambient-light"))
+                    handler.ambientLight(attributes(reader));
+                else if (depth == 2 && name.equals("geometries"))
+                    inGeometries = !geometriesRead; // Only the first geometries element is read
+                else if (inGeometries && (name.equals("plane") || name.equals("sphere") || name.equals("triangle")))
+                    handler.geometry(name, attributes(reader));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Gets the attributes of the current element
+     *
+     * @param reader reader at the start of an element
+     * @return attributes by name
+     */
+    private static Map<String, String> attributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        Map<String, String> attributes = new HashMap<>(2 * count);
+        for (int i = 0; i < count; i++)
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        return attributes;
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import geometries.Intersectable;
+import org.junit.jupiter.api.Test;
+import primitives.Ray;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link benchmark.IntersectionBenchmark}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class IntersectionBenchmarkTest {
+    /**
+     * Test method for {@link benchmark.IntersectionBenchmark#rays(Intersectable, IntersectionBenchmark.Rays, Random)}.
+     */
+    @Test
+    void testRays() {
+        Random random = new Random(1);
+        for (Map.Entry<String, Intersectable> entry : IntersectionBenchmark.geometries().entrySet()) {
+            Intersectable geometry = entry.getValue();
+
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Hitting rays hit the geometry
+            for (Ray ray : IntersectionBenchmark.rays(geometry, IntersectionBenchmark.Rays.HIT, random))
+                assertNotNull(geometry.findGeoIntersections(ray), "EP01: " + entry.getKey() + " ray missed");
+
+            // EP02: Missing rays miss the geometry
+            for (Ray ray : IntersectionBenchmark.rays(geometry, IntersectionBenchmark.Rays.MISS, random))
+                assertNull(geometry.findGeoIntersections(ray), "EP02: " + entry.getKey() + " ray hit");
+
+            // =============== Boundary Values Tests ==================
+            // BVA01: Grazing rays are half hitting and half missing
+            int hits = 0;
+            Ray[] rays = IntersectionBenchmark.rays(geometry, IntersectionBenchmark.Rays.GRAZING, random);
+            for (Ray ray : rays)
+                if (geometry.findGeoIntersections(ray) != null)
+                    hits++;
+            assertEquals(rays.length / 2, hits, "BVA01: Wrong " + entry.getKey() + " grazing rays");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link benchmark.Microbenchmark}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class MicrobenchmarkTest {
+    private final Microbenchmark harness = new Microbenchmark()
+            .setWarmupIterations(1)
+            .setMeasurementIterations(2)
+            .setIterationTime(20);
+
+    /**
+     * Test method for {@link benchmark.Microbenchmark#run(String, benchmark.Microbenchmark.Operation)}.
+     */
+    @Test
+    void testRun() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Allocating operation is measured with its allocation
+        Microbenchmark.Result result = harness.run("allocate", i -> new long[16]);
+        assertEquals("allocate", result.getName(), "EP01: Wrong name");
+        assertTrue(result.getOperations() > 0 && result.getNsPerOp() > 0, "EP01: Operations were not measured");
+        assertTrue(Double.isNaN(result.getBytesPerOp()) || result.getBytesPerOp() >= 128,
+                "EP01: Wrong allocation " + result.getBytesPerOp());
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Operation without a result and without allocations
+        result = harness.run("empty", i -> null);
+        assertTrue(Double.isNaN(result.getBytesPerOp()) || result.getBytesPerOp() < 1,
+                "BVA01: Wrong allocation " + result.getBytesPerOp());
+
+        // BVA02: No measured iterations
+        assertThrows(IllegalArgumentException.class, () -> new Microbenchmark().setMeasurementIterations(0),
+                "BVA02: Set no measured iterations");
+    }
+}
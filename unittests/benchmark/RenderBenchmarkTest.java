@@ -0,0 +1,87 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link benchmark.RenderBenchmark}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class RenderBenchmarkTest {
+    /**
+     * Test method for {@link benchmark.RenderBenchmark#run(benchmark.ReferenceScenes.ReferenceScene)}.
+     */
+    @Test
+    void testRun() throws IOException {
+        Path references = Files.createTempDirectory("references");
+        Path reference = references.resolve("refractionTwoSpheres_20_AA2.png");
+        RenderBenchmark benchmark = new RenderBenchmark().setSize(20).setAntiAliasing(2).setThreadsCount(2)
+                .setReferences(references);
+        ReferenceScenes.ReferenceScene scene = ReferenceScenes.scenes().get("refractionTwoSpheres");
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Reference is recorded
+            RenderBenchmark.Result result = benchmark.setRecord(true).run(scene);
+            assertTrue(result.isRecorded() && Files.exists(reference), "EP01: Reference was not recorded");
+            assertEquals(20 * 20 * 4, result.getStatistics().getPrimaryRays(), "EP01: Wrong amount of rays");
+            assertTrue(result.getRenderTime() > 0 && result.getWallTime() >= result.getRenderTime(),
+                    "EP01: Wrong times");
+
+            // EP02: Same render matches the reference
+            result = benchmark.setRecord(false).run(scene);
+            assertFalse(result.isRecorded(), "EP02: Reference was recorded again");
+            assertTrue(result.matchesReference(), "EP02: Render differs from the reference");
+            assertEquals(0, result.getMaxDifference(), "EP02: Wrong difference");
+
+            // EP03: Changed pixel differs from the reference
+            BufferedImage image = ImageIO.read(reference.toFile());
+            image.setRGB(3, 4, image.getRGB(3, 4) ^ 0x000040);
+            ImageIO.write(image, "png", reference.toFile());
+            result = benchmark.run(scene);
+            assertEquals(1, result.getDifferentPixels(), "EP03: Wrong amount of different pixels");
+            assertEquals(64, result.getMaxDifference(), "EP03: Wrong difference");
+
+            // =============== Boundary Values Tests ==================
+            // BVA01: Difference within the tolerance matches
+            image.setRGB(3, 4, image.getRGB(3, 4) ^ 0x000041);
+            ImageIO.write(image, "png", reference.toFile());
+            result = benchmark.run(scene);
+            assertTrue(result.matchesReference(), "BVA01: Difference of 1 does not match");
+            assertEquals(1, result.getMaxDifference(), "BVA01: Wrong difference");
+
+            // BVA02: Missing reference fails and is not recorded
+            Files.delete(reference);
+            result = benchmark.run(scene);
+            assertTrue(result.isMissing() && !result.matchesReference(), "BVA02: Missing reference matches");
+            assertFalse(result.isRecorded() || Files.exists(reference), "BVA02: Missing reference was recorded");
+        } finally {
+            Files.deleteIfExists(reference);
+            Files.delete(references);
+        }
+    }
+
+    /**
+     * Test method for {@link benchmark.RenderBenchmark#difference(int, int)}.
+     */
+    @Test
+    void testDifference() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Maximal difference of the components
+        assertEquals(30, RenderBenchmark.difference(0x102030, 0x121E4E), "EP01: Wrong difference");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Same colors
+        assertEquals(0, RenderBenchmark.difference(0xABCDEF, 0xABCDEF), "BVA01: Wrong difference");
+
+        // BVA02: Opposite colors
+        assertEquals(255, RenderBenchmark.difference(0xFFFFFF, 0), "BVA02: Wrong difference");
+    }
+}
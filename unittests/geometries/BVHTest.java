@@ -0,0 +1,205 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link geometries.BVH}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class BVHTest {
+    /**
+     * Builds a row of 10 unit spheres along the x axis, 3 apart, starting at the origin
+     *
+     * @return the spheres
+     */
+    private Sphere[] spheres() {
+        Sphere[] spheres = new Sphere[10];
+        for (int i = 0; i < spheres.length; i++)
+            spheres[i] = new Sphere(new Point(3 * i, 0, 0), 1);
+        return spheres;
+    }
+
+    /**
+     * Builds the hierarchy of spheres
+     *
+     * @param spheres spheres
+     * @return the hierarchy
+     */
+    private BVH build(Sphere[] spheres) {
+        BoundingBox[] boxes = new BoundingBox[spheres.length];
+        for (int i = 0; i < boxes.length; i++)
+            boxes[i] = spheres[i].getBoundingBox();
+        return new BVH(boxes);
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#BVH(geometries.BoundingBox[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Every primitive is in a leaf, and the tree is balanced
+        BVH bvh = build(spheres());
+        Set<Integer> visited = new HashSet<>();
+        assertTrue(bvh.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                visited::add), "EP01: Traversal stopped");
+        assertEquals(10, visited.size(), "EP01: Wrong primitives");
+        assertEquals(3, bvh.getDepth(), "EP01: Wrong depth");
+
+        // EP02: A big hierarchy, built in parallel, finds the same closest hits as testing all the primitives
+        Random random = new Random(1);
+        Sphere[] spheres = new Sphere[10000];
+        for (int i = 0; i < spheres.length; i++)
+            spheres[i] = new Sphere(new Point(
+                    random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100), 0.5);
+        bvh = build(spheres);
+        assertTrue(bvh.getMaxLeafSize() <= 8, "EP02: Leaf too big");
+        assertTrue(bvh.getCost() > 0 && bvh.getBuildTime() >= 0, "EP02: Wrong statistics");
+        for (int k = 0; k < 100; k++) {
+            Ray ray = new Ray(new Point(-10, random.nextDouble() * 100, random.nextDouble() * 100),
+                    new Vector(1, random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+            double expected = Double.POSITIVE_INFINITY;
+            for (Sphere sphere : spheres) {
+                Intersectable.GeoPoint hit = sphere.findClosestGeoIntersection(ray);
+                if (hit != null)
+                    expected = Math.min(expected, hit.point.distance(ray.getStartPoint()));
+            }
+            double actual = bvh.findClosest(ray, Double.POSITIVE_INFINITY, (i, maxDistance) -> {
+                Intersectable.GeoPoint hit = spheres[i].findClosestGeoIntersection(ray, maxDistance);
+                return hit == null ? maxDistance : hit.point.distance(ray.getStartPoint());
+            });
+            assertEquals(expected, actual, 1e-9, "EP02: Wrong closest hit of ray " + k);
+        }
+
+        // EP03: Big overlapping primitives, cheaper as a leaf which is too big, are split at their median center
+        BoundingBox[] boxes = new BoundingBox[16];
+        for (int i = 0; i < boxes.length; i++) {
+            int x = (7 * i) % boxes.length;
+            boxes[i] = new BoundingBox(x - 1000, -1000, -1000, x + 1000, 1000, 1000);
+        }
+        bvh = new BVH(boxes);
+        double[] bounds = bvh.getBounds();
+        int right = bvh.getNodes()[0];
+        assertEquals(3, bvh.getNodesCount(), "EP03: Wrong amount of nodes");
+        assertEquals(1007, bounds[6 + 3], "EP03: Wrong left child");
+        assertEquals(-992, bounds[6 * right], "EP03: Wrong right child");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: No primitives
+        bvh = new BVH(new BoundingBox[0]);
+        assertEquals(0, bvh.getNodesCount(), "BVA01: Wrong amount of nodes");
+        assertTrue(bvh.forEach(new Ray(new Point(0, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                i -> fail("BVA01: Visited a primitive") != null), "BVA01: Traversal stopped");
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#BVH(double[], int[], int[])}.
+     */
+    @Test
+    void testArraysConstructor() {
+        BVH built = build(spheres());
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: The arrays of a built hierarchy give the same tree
+        BVH bvh = new BVH(built.getBounds().clone(), built.getNodes().clone(), built.getPrimitives().clone());
+        assertEquals(built.getDepth(), bvh.getDepth(), "EP01: Wrong depth");
+        assertEquals(built.getCost(), bvh.getCost(), 1e-12, "EP01: Wrong cost");
+        Set<Integer> visited = new HashSet<>();
+        bvh.forEach(new Ray(new Point(27, 0, 5), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY, visited::add);
+        assertTrue(visited.contains(9) && visited.size() <= 2, "EP01: Wrong primitives visited " + visited);
+
+        // EP02: Primitives which are not a permutation
+        int[] primitives = built.getPrimitives().clone();
+        primitives[0] = primitives[1];
+        assertThrows(IllegalArgumentException.class, () -> new BVH(built.getBounds(), built.getNodes(), primitives),
+                "EP02: Constructed with repeated primitives");
+
+        // EP03: Inner node whose second child is before it
+        int[] nodes = built.getNodes().clone();
+        nodes[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> new BVH(built.getBounds(), nodes, built.getPrimitives()),
+                "EP03: Constructed with a cycle");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Empty hierarchy
+        assertEquals(0, new BVH(new double[0], new int[0], new int[0]).getNodesCount(), "BVA01: Wrong nodes");
+
+        // BVA02: Single leaf which misses the last primitive
+        assertThrows(IllegalArgumentException.class,
+                () -> new BVH(new double[] { 0, 0, 0, 1, 1, 1 }, new int[] { 0, 1 }, new int[] { 0, 1 }),
+                "BVA02: Constructed with an uncovered primitive");
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#forEach(primitives.Ray, double, geometries.SpatialIndex.Visitor)}.
+     */
+    @Test
+    void testForEach() {
+        BVH bvh = build(spheres());
+        Set<Integer> visited = new HashSet<>();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses a single sphere's leaf only
+        bvh.forEach(new Ray(new Point(27, 0, 5), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY, visited::add);
+        assertTrue(visited.contains(9), "EP01: Sphere was not visited");
+        assertTrue(visited.size() <= 2, "EP01: Too many primitives visited");
+
+        // EP02: Ray misses all the spheres
+        visited.clear();
+        bvh.forEach(new Ray(new Point(0, 5, 5), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY, visited::add);
+        assertTrue(visited.isEmpty(), "EP02: Primitives visited");
+
+        // EP03: Visitor stops the traversal
+        visited.clear();
+        assertFalse(bvh.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                i -> visited.add(i) && visited.size() < 3), "EP03: Traversal was not stopped");
+        assertEquals(3, visited.size(), "EP03: Wrong amount of primitives visited");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Spheres beyond the maximum distance are not visited
+        visited.clear();
+        bvh.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), 10, visited::add);
+        assertTrue(visited.containsAll(Set.of(0, 1, 2)) && !visited.contains(9),
+                "BVA01: Wrong primitives visited " + visited);
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#findClosest(primitives.Ray, double, geometries.SpatialIndex.ClosestVisitor)}.
+     */
+    @Test
+    void testFindClosest() {
+        Sphere[] spheres = spheres();
+        BVH bvh = build(spheres);
+        Set<Integer> visited = new HashSet<>();
+        SpatialIndex.ClosestVisitor visitor = (i, maxDistance) -> {
+            visited.add(i);
+            Intersectable.GeoPoint closest = spheres[i].findClosestGeoIntersection(
+                    new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), maxDistance);
+            return closest == null ? maxDistance : closest.point.distance(new Point(-5, 0, 0));
+        };
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray along the row hits the first sphere, and the far leaves are skipped
+        double distance = bvh.findClosest(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)),
+                Double.POSITIVE_INFINITY, visitor);
+        assertEquals(4, distance, 1e-10, "EP01: Wrong distance");
+        assertTrue(visited.contains(0) && !visited.contains(9), "EP01: Wrong primitives visited " + visited);
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance before the first sphere
+        visited.clear();
+        distance = bvh.findClosest(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), 3, visitor);
+        assertEquals(3, distance, "BVA01: Wrong distance");
+        assertTrue(visited.isEmpty(), "BVA01: Primitives visited");
+    }
+}
@@ -0,0 +1,88 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing BoundingBox
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class BoundingBoxTest {
+    private final BoundingBox box = new BoundingBox(new Point(0, 0, 0), new Point(2, 2, 2));
+
+    /**
+     * Test method for {@link geometries.BoundingBox#intersects(primitives.Ray, double)}
+     */
+    @Test
+    void testIntersects() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses the box
+        assertTrue(
+                box.intersects(new Ray(new Point(-1, 1, 1), new Vector(1, 0.2, 0)), Double.POSITIVE_INFINITY),
+                "EP01: Ray crosses the box"
+        );
+
+        // EP02: Ray misses the box
+        assertFalse(
+                box.intersects(new Ray(new Point(-1, 1, 1), new Vector(1, 5, 0)), Double.POSITIVE_INFINITY),
+                "EP02: Ray misses the box"
+        );
+
+        // EP03: Ray starts after the box
+        assertFalse(
+                box.intersects(new Ray(new Point(3, 1, 1), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                "EP03: Ray starts after the box"
+        );
+
+        // EP04: Ray starts inside the box
+        assertTrue(
+                box.intersects(new Ray(new Point(1, 1, 1), new Vector(1, 1, 1)), Double.POSITIVE_INFINITY),
+                "EP04: Ray starts inside the box"
+        );
+
+        // EP05: The box is beyond the maximum distance
+        assertFalse(
+                box.intersects(new Ray(new Point(-2, 1, 1), new Vector(1, 0, 0)), 1),
+                "EP05: The box is beyond the maximum distance"
+        );
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Ray is parallel to a face and inside the slab
+        assertTrue(
+                box.intersects(new Ray(new Point(1, -1, 1), new Vector(0, 1, 0)), Double.POSITIVE_INFINITY),
+                "BVA01: Ray is parallel to a face"
+        );
+
+        // BVA02: Ray crosses a flat box
+        BoundingBox flat = new BoundingBox(new Point(0, 0, 1), new Point(2, 2, 1));
+        assertTrue(
+                flat.intersects(new Ray(new Point(1, 1, 5), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY),
+                "BVA02: Ray crosses a flat box"
+        );
+    }
+
+    /**
+     * Test method for {@link geometries.BoundingBox#union(geometries.BoundingBox)}
+     */
+    @Test
+    void testUnion() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Union of two separate boxes
+        BoundingBox union = box.union(new BoundingBox(new Point(3, -1, 0), new Point(4, 1, 5)));
+        for (int axis = 0; axis < 3; axis++) {
+            assertEquals(new double[] {0, -1, 0}[axis], union.getMin(axis), "EP01: Wrong minimum");
+            assertEquals(new double[] {4, 2, 5}[axis], union.getMax(axis), "EP01: Wrong maximum");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Union with the empty box
+        assertSame(box, box.union(BoundingBox.EMPTY), "BVA01: Union with the empty box");
+
+        // BVA02: Union with the infinite box
+        assertTrue(box.union(BoundingBox.INFINITE).isInfinite(), "BVA02: Union with the infinite box");
+    }
+}
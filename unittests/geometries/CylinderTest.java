@@ -5,6 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -58,4 +60,57 @@ class CylinderTest {
                 "ERROR: getNormal() wrong value when point is on the center of the cylinder bottom base"
         );
     }
+
+    /**
+     * Test method for {@link geometries.Cylinder#findIntersections(primitives.Ray)}
+     */
+    @Test
+    void testFindIntersections() {
+        Cylinder cylinder = new Cylinder(2, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses the side twice
+        List<Point> result = cylinder.findIntersections(new Ray(new Point(-2, 0, 1), new Vector(1, 0, 0)));
+        assertEquals(2, result.size(), "EP01: Wrong number of points");
+
+        // EP02: Ray crosses both bases
+        result = cylinder.findIntersections(new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1)));
+        assertEquals(2, result.size(), "EP02: Wrong number of points");
+        assertTrue(
+                result.contains(new Point(0.5, 0, 0)) && result.contains(new Point(0.5, 0, 2)),
+                "EP02: Wrong points"
+        );
+
+        // EP03: Ray crosses the side and a base
+        result = cylinder.findIntersections(new Ray(new Point(-2, 0, 1), new Vector(2, 0, 1)));
+        assertEquals(2, result.size(), "EP03: Wrong number of points");
+
+        // EP04: Ray crosses the infinite tube above the cylinder
+        assertNull(
+                cylinder.findIntersections(new Ray(new Point(-2, 0, 5), new Vector(1, 0, 0))),
+                "EP04: Ray above the cylinder"
+        );
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Ray crosses the bases only up to the maximum distance
+        assertEquals(
+                1,
+                cylinder.findGeoIntersections(new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1)), 2).size(),
+                "BVA01: Wrong number of points"
+        );
+    }
+
+    /**
+     * Test method for {@link geometries.Cylinder#getBoundingBox()}
+     */
+    @Test
+    void testGetBoundingBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Cylinder along the z axis
+        BoundingBox box = new Cylinder(2, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1).getBoundingBox();
+        for (int axis = 0; axis < 3; axis++) {
+            assertEquals(new double[] {-1, -1, 0}[axis], box.getMin(axis), 1e-10, "EP01: Wrong minimum");
+            assertEquals(new double[] {1, 1, 2}[axis], box.getMax(axis), 1e-10, "EP01: Wrong maximum");
+        }
+    }
 }
@@ -63,5 +63,163 @@ class GeometriesTest {
                 result.size(),
                 "BVA04: Wrong intersections"
         );
+
+        // BVA05: nested collections which are added to after being nested
+        Geometries inner = new Geometries();
+        Geometries middle = new Geometries(inner);
+        Geometries outer = new Geometries(middle);
+        inner.add(new Sphere(new Point(1, 1, 0), 2));
+        assertEquals(2, outer.findIntersections(ray).size(), "BVA05: Wrong intersections of a nested collection");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#buildIndex(geometries.Geometries.Acceleration)}
+     */
+    @Test
+    void testBuildIndex() {
+        for (Geometries.Acceleration acceleration : Geometries.Acceleration.values()) {
+            Geometries flat = new Geometries();
+            Geometries indexed = new Geometries();
+            for (int i = 0; i < 5; i++) {
+                for (int j = 0; j < 5; j++) {
+                    Intersectable sphere = new Sphere(new Point(3 * i, 3 * j, 0), 1);
+                    Intersectable triangle = new Triangle(
+                            new Point(3 * i, 3 * j, -5), new Point(3 * i + 2, 3 * j, -5), new Point(3 * i, 3 * j + 2, -5)
+                    );
+                    flat.add(sphere, triangle);
+                    indexed.add(new Geometries(sphere, triangle));
+                }
+            }
+            Plane plane = new Plane(new Point(0, 0, -10), new Vector(0, 0, 1));
+            flat.add(plane);
+            indexed.add(plane);
+            indexed.buildIndex(acceleration);
+
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Ray crosses a sphere, a triangle and the plane
+            Ray ray = new Ray(new Point(6.5, 6.5, 5), new Vector(0, 0, -1));
+            List<Intersectable.GeoPoint> expected = flat.findGeoIntersections(ray);
+            List<Intersectable.GeoPoint> result = indexed.findGeoIntersections(ray);
+            assertEquals(4, result.size(), "EP01: Wrong intersections with " + acceleration);
+            assertTrue(
+                    expected.containsAll(result) && result.containsAll(expected),
+                    "EP01: Intersections with " + acceleration + " differ from the flat list"
+            );
+            assertEquals(flat.findClosestGeoIntersection(ray), indexed.findClosestGeoIntersection(ray),
+                    "EP01: Wrong closest intersection with " + acceleration);
+
+            // EP02: Ray crosses the plane only
+            ray = new Ray(new Point(1.5, 1.5, 5), new Vector(0, 0, -1));
+            assertEquals(1, indexed.findGeoIntersections(ray).size(), "EP02: Wrong intersections with " + acceleration);
+
+            // EP03: Ray misses everything
+            ray = new Ray(new Point(-5, -5, 5), new Vector(0, 0, 1));
+            assertNull(indexed.findGeoIntersections(ray), "EP03: Wrong intersections with " + acceleration);
+        }
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestGeoIntersection(primitives.Ray)}
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Geometries geometries = new Geometries(
+                new Plane(new Point(1, 1, 1), new Vector(1, 1, 1)),
+                new Sphere(new Point(1, 1, 0), 2),
+                new Triangle(new Point(2, 0, 0), new Point(2, 2, 0), new Point(0, 2, 0)),
+                new Cylinder(1, new Ray(new Point(1, 1, -4), new Vector(0, 0, 1)), 0.5)
+        );
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: ray intersects all geometries - the closest one is the plane
+        Ray ray = new Ray(new Point(1, 1.5, 4), new Vector(0, 0, -1));
+        assertEquals(
+                ray.findClosestGeoPoint(geometries.findGeoIntersections(ray)),
+                geometries.findClosestGeoIntersection(ray),
+                "EP01: Wrong closest intersection"
+        );
+
+        // EP02: ray starts inside the sphere - the closest one is on the triangle
+        ray = new Ray(new Point(1, 1.5, 0.5), new Vector(0, 0, -1));
+        assertEquals(
+                ray.findClosestGeoPoint(geometries.findGeoIntersections(ray)),
+                geometries.findClosestGeoIntersection(ray),
+                "EP02: Wrong closest intersection"
+        );
+
+        // EP03: ray intersects nothing
+        ray = new Ray(new Point(1, 1.5, 4), new Vector(0, -1, 1));
+        assertNull(geometries.findClosestGeoIntersection(ray), "EP03: Wrong closest intersection");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: the closest intersection is beyond the maximum distance
+        ray = new Ray(new Point(1, 1.5, 4), new Vector(0, 0, -1));
+        assertNull(geometries.findClosestGeoIntersection(ray, 0.5), "BVA01: Wrong closest intersection");
+
+        // BVA02: a bounded geometry behind the nearest hit of an unbounded geometry is not tested, in a list and in
+        //        an index, even if it was added first
+        for (Geometries.Acceleration acceleration : Geometries.Acceleration.values()) {
+            int[] tests = { 0 };
+            Sphere behind = new Sphere(new Point(0, 0, -10), 1) {
+                @Override
+                protected double findClosestIntersectionHelper(Ray ray, double maxDistance, GeoPoint closest) {
+                    tests[0]++;
+                    return super.findClosestIntersectionHelper(ray, maxDistance, closest);
+                }
+            };
+            Plane plane = new Plane(new Point(0, 0, 0), new Vector(0, 0, 1));
+            geometries = new Geometries(behind, new Sphere(new Point(5, 5, -10), 1), plane)
+                    .buildIndex(acceleration);
+            Intersectable.GeoPoint closest = geometries.findClosestGeoIntersection(
+                    new Ray(new Point(0, 0, 1), new Vector(0, 0, -1)));
+            assertEquals(plane, closest.geometry, "BVA02: Wrong closest geometry with " + acceleration);
+            assertEquals(0, tests[0], "BVA02: Geometry behind the plane was tested with " + acceleration);
+        }
+
+        // BVA03: a sphere centered at the ray's start point (e.g. a sky sphere) added after a closer geometry
+        Sphere near = new Sphere(new Point(0, 0, -5), 1);
+        Ray center = new Ray(new Point(0, 0, 0), new Vector(0, 0, -1));
+        geometries = new Geometries(near, new Sphere(new Point(0, 0, 0), 100));
+        assertEquals(near, geometries.findClosestGeoIntersection(center).geometry, "BVA03: Wrong closest geometry");
+        assertEquals(new Point(0, 0, -4), geometries.findClosestGeoIntersection(center).point,
+                "BVA03: Wrong closest point");
+        assertNull(new Sphere(new Point(0, 0, 0), 100).findGeoIntersections(center, 50),
+                "BVA03: Intersection beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findTransparency(primitives.Ray, double, double)}
+     */
+    @Test
+    void testFindTransparency() {
+        Geometries geometries = new Geometries(
+                new Sphere(new Point(0, 0, 2), 0.5).setMaterial(new Material().setKt(0.5)),
+                new Triangle(new Point(-1, -1, 4), new Point(1, -1, 4), new Point(0, 1, 4))
+                        .setMaterial(new Material().setKt(0.8)),
+                new Plane(new Point(0, 0, 6), new Vector(0, 0, 1))
+        );
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: ray crosses the transparent sphere (twice) and the transparent triangle
+        assertEquals(
+                new Double3(0.2),
+                geometries.findTransparency(ray, 5, 0.001),
+                "EP01: Wrong transparency"
+        );
+
+        // EP02: ray is blocked by the opaque plane
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 10, 0.001), "EP02: Wrong transparency");
+
+        // EP03: ray crosses nothing
+        assertEquals(
+                Double3.ONE,
+                geometries.findTransparency(new Ray(new Point(0, 0, 0), new Vector(0, 0, -1)), 10, 0.001),
+                "EP03: Wrong transparency"
+        );
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: the transparency drops below the minimal transparency
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 5, 0.3), "BVA01: Wrong transparency");
     }
-}
\ No newline at end of file
+}
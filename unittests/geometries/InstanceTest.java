@@ -0,0 +1,136 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link geometries.Instance}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class InstanceTest {
+    private final Sphere sphere = (Sphere) new Sphere(new Point(0, 0, 0), 1)
+            .setEmission(new Color(10, 20, 30))
+            .setMaterial(new Material().setKd(0.5).setKt(0.5));
+    private final Instance instance = new Instance(sphere,
+            Transform.scaling(2, 2, 2).then(Transform.translation(new Vector(5, 0, 0))));
+
+    /**
+     * Test method for {@link geometries.Instance#getBoundingBox()}.
+     */
+    @Test
+    void testGetBoundingBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Rotated cube gets the box of its rotated corners
+        Polygon square = new Polygon(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(1, 1, 0), new Point(-1, 1, 0));
+        BoundingBox box = new Instance(square, Transform.rotationZ(45)).getBoundingBox();
+        assertEquals(-Math.sqrt(2), box.getMin(0), 1e-10, "EP01: Wrong minimal x");
+        assertEquals(Math.sqrt(2), box.getMax(1), 1e-10, "EP01: Wrong maximal y");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Unbounded object
+        assertTrue(new Instance(new Plane(new Point(0, 0, 0), new Vector(0, 0, 1)), Transform.rotationX(30))
+                .getBoundingBox().isInfinite(), "BVA01: Unbounded instance is bounded");
+    }
+
+    /**
+     * Test method for {@link geometries.Instance#findGeoIntersections(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses the scaled and translated sphere
+        List<Point> result = instance.findIntersections(new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)));
+        assertEquals(List.of(new Point(3, 0, 0), new Point(7, 0, 0)), result, "EP01: Wrong intersections");
+
+        // EP02: Ray misses the instance, though it crosses the shared sphere
+        assertNull(instance.findIntersections(new Ray(new Point(-10, 0, 0.5), new Vector(0, 0, 1))),
+                "EP02: Wrong intersections");
+
+        // EP03: Hits of the same instanced geometry share its wrapper, which intersects as the placed geometry
+        List<Intersectable.GeoPoint> hits = instance.findGeoIntersections(
+                new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)));
+        assertSame(hits.get(0).geometry, hits.get(1).geometry, "EP03: Hits have different wrappers");
+        assertSame(hits.get(0).geometry, instance.findClosestGeoIntersection(
+                new Ray(new Point(5, -10, 0), new Vector(0, 1, 0))).geometry, "EP03: Closest hit has another wrapper");
+        assertEquals(List.of(new Point(5, -2, 0), new Point(5, 2, 0)),
+                hits.get(0).geometry.findIntersections(new Ray(new Point(5, -10, 0), new Vector(0, 1, 0))),
+                "EP03: Wrong intersections of the wrapper");
+
+        // EP04: Faces of an instanced mesh, created per hit, are wrapped once per face
+        TriangleMesh mesh = new TriangleMesh(new double[] { 0, 0, 0, 1, 0, 0, 0, 1, 0, 1, 1, 0 },
+                new int[] { 0, 1, 2, 1, 3, 2 });
+        Instance meshInstance = new Instance(mesh, Transform.translation(new Vector(5, 0, 0)));
+        Ray first = new Ray(new Point(5.2, 0.2, 1), new Vector(0, 0, -1));
+        Intersectable.GeoPoint face = meshInstance.findClosestGeoIntersection(first);
+        for (int i = 0; i < 1000; i++) {
+            assertSame(face.geometry, meshInstance.findClosestGeoIntersection(first).geometry,
+                    "EP04: Hits of a face have different wrappers");
+            meshInstance.findGeoIntersections(first);
+        }
+        meshInstance.findGeoIntersections(new Ray(new Point(5.8, 0.8, 1), new Vector(0, 0, -1)));
+        assertEquals(2, meshInstance.getWrappersCount(), "EP04: Wrappers are not bounded by the faces");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance between the intersections, in the scene's distances
+        assertEquals(1, instance.findGeoIntersections(new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)), 15).size(),
+                "BVA01: Wrong intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.Instance#findClosestGeoIntersection(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Closest intersection has the shared material and emission, and the normal in the scene
+        Intersectable.GeoPoint closest = instance.findClosestGeoIntersection(
+                new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)));
+        assertEquals(new Point(3, 0, 0), closest.point, "EP01: Wrong point");
+        assertSame(sphere.getMaterial(), closest.geometry.getMaterial(), "EP01: Wrong material");
+        assertEquals(sphere.getEmission(), closest.geometry.getEmission(), "EP01: Wrong emission");
+        assertEquals(new Vector(-1, 0, 0), closest.geometry.getNormal(closest.point), "EP01: Wrong normal");
+
+        // EP02: Normal of a non uniformly scaled sphere (ellipsoid) is the gradient of its surface
+        Instance ellipsoid = new Instance(sphere, Transform.scaling(1, 2, 1));
+        Point point = new Point(Math.sqrt(0.5), Math.sqrt(2), 0);
+        closest = ellipsoid.findClosestGeoIntersection(new Ray(point.add(new Vector(0, 5, 0)), new Vector(0, -1, 0)));
+        assertEquals(point, closest.point, "EP02: Wrong point");
+        assertEquals(new Vector(2, 1, 0).normalize(), closest.geometry.getNormal(closest.point), "EP02: Wrong normal");
+
+        // EP03: Top level index over instances of a shared collection
+        Geometries row = new Geometries();
+        for (int i = 0; i < 100; i++)
+            row.add(new Instance(sphere, Transform.translation(new Vector(3 * i + 3, 0, 0))));
+        for (Geometries.Acceleration acceleration : Geometries.Acceleration.values()) {
+            row.buildIndex(acceleration);
+            closest = row.findClosestGeoIntersection(new Ray(new Point(153, 0, 10), new Vector(0, 0, -1)));
+            assertEquals(new Point(153, 0, 1), closest.point, "EP03: Wrong point with " + acceleration);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance before the instance, in the scene's distances
+        assertNull(instance.findClosestGeoIntersection(new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)), 12.5),
+                "BVA01: Found an intersection beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.Instance#findTransparency(primitives.Ray, double, double)}.
+     */
+    @Test
+    void testFindTransparency() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses both sides of the transparent sphere
+        assertEquals(new Double3(0.25), instance.findTransparency(new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)),
+                Double.POSITIVE_INFINITY, 0.001), "EP01: Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Light between the sides of the sphere
+        assertEquals(new Double3(0.5), instance.findTransparency(new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0)),
+                15, 0.001), "BVA01: Wrong transparency");
+    }
+}
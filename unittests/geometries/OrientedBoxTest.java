@@ -0,0 +1,125 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link geometries.OrientedBox}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class OrientedBoxTest {
+    // Box of size 4 along x, 2 along y and 6 along z, centered at (1, 1, 1)
+    private final OrientedBox box = new OrientedBox(new Point(1, 1, 1), new Vector(0, 1, 0), new Vector(1, 0, 0),
+            6, 4, 2);
+
+    /**
+     * Test method for {@link geometries.OrientedBox#OrientedBox(primitives.Point, primitives.Vector, primitives.Vector, double, double, double)}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Box rotated around the z axis is bounded by its rotated corners
+        BoundingBox bounds = new OrientedBox(new Point(0, 0, 0), new Vector(0, 0, 1), new Vector(1, 1, 0), 2, 2, 2)
+                .getBoundingBox();
+        assertEquals(-Math.sqrt(2), bounds.getMin(0), 1e-10, "EP01: Wrong minimal x");
+        assertEquals(1, bounds.getMax(2), 1e-10, "EP01: Wrong maximal z");
+
+        // EP02: Axes are not orthogonal
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrientedBox(new Point(0, 0, 0), new Vector(0, 1, 0), new Vector(1, 1, 0), 1, 1, 1),
+                "EP02: Constructed a box with non orthogonal axes");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Zero size
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrientedBox(new Point(0, 0, 0), new Vector(0, 1, 0), new Vector(1, 0, 0), 1, 0, 1),
+                "BVA01: Constructed a flat box");
+    }
+
+    /**
+     * Test method for {@link geometries.OrientedBox#getNormal(primitives.Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Points on the faces
+        assertEquals(new Vector(1, 0, 0), box.getNormal(new Point(3, 1.5, 2)), "EP01: Wrong normal of right face");
+        assertEquals(new Vector(-1, 0, 0), box.getNormal(new Point(-1, 0.5, 0)), "EP01: Wrong normal of left face");
+        assertEquals(new Vector(0, 1, 0), box.getNormal(new Point(2, 2, 3)), "EP01: Wrong normal of top face");
+        assertEquals(new Vector(0, 0, -1), box.getNormal(new Point(0, 1, -2)), "EP01: Wrong normal of back face");
+    }
+
+    /**
+     * Test method for {@link geometries.OrientedBox#findIntersections(primitives.Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses the box
+        assertEquals(List.of(new Point(-1, 1, 1), new Point(3, 1, 1)),
+                box.findIntersections(new Ray(new Point(-5, 1, 1), new Vector(1, 0, 0))), "EP01: Wrong intersections");
+
+        // EP02: Ray starts inside the box
+        assertEquals(List.of(new Point(1, 2, 1)),
+                box.findIntersections(new Ray(new Point(1, 1, 1), new Vector(0, 1, 0))), "EP02: Wrong intersections");
+
+        // EP03: Ray misses the box
+        assertNull(box.findIntersections(new Ray(new Point(-5, 1, 1), new Vector(1, 2, 0))),
+                "EP03: Wrong intersections");
+
+        // EP04: Ray starts after the box
+        assertNull(box.findIntersections(new Ray(new Point(5, 1, 1), new Vector(1, 0, 0))),
+                "EP04: Wrong intersections");
+
+        // EP05: Rotated box
+        OrientedBox rotated = new OrientedBox(new Point(0, 0, 0), new Vector(0, 0, 1), new Vector(1, 1, 0), 2, 2, 2);
+        assertEquals(List.of(new Point(-Math.sqrt(2), 0, 0), new Point(Math.sqrt(2), 0, 0)),
+                rotated.findIntersections(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0))),
+                "EP05: Wrong intersections");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Ray parallel to a face, outside the box
+        assertNull(box.findIntersections(new Ray(new Point(-5, 2.5, 1), new Vector(1, 0, 0))),
+                "BVA01: Wrong intersections");
+
+        // BVA02: Ray starts on a face, pointing inside
+        assertEquals(List.of(new Point(3, 1, 1)),
+                box.findIntersections(new Ray(new Point(-1, 1, 1), new Vector(1, 0, 0))), "BVA02: Wrong intersections");
+
+        // BVA03: Ray starts on a face, pointing outside
+        assertNull(box.findIntersections(new Ray(new Point(3, 1, 1), new Vector(1, 0, 0))),
+                "BVA03: Wrong intersections");
+
+        // BVA04: Maximum distance between the faces
+        assertEquals(List.of(new Point(-1, 1, 1)),
+                box.findGeoIntersections(new Ray(new Point(-5, 1, 1), new Vector(1, 0, 0)), 5).stream()
+                        .map(gp -> gp.point).toList(), "BVA04: Wrong intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.OrientedBox#findClosestGeoIntersection(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses the box
+        Intersectable.GeoPoint closest = box.findClosestGeoIntersection(
+                new Ray(new Point(1, 1, 10), new Vector(0, 0, -1)));
+        assertEquals(new Point(1, 1, 4), closest.point, "EP01: Wrong point");
+        assertSame(box, closest.geometry, "EP01: Wrong geometry");
+
+        // EP02: Ray starts inside the box
+        closest = box.findClosestGeoIntersection(new Ray(new Point(1, 1, 1), new Vector(0, -1, 0)));
+        assertEquals(new Point(1, 0, 1), closest.point, "EP02: Wrong point");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance before the box
+        assertNull(box.findClosestGeoIntersection(new Ray(new Point(1, 1, 10), new Vector(0, 0, -1)), 5),
+                "BVA01: Found an intersection beyond the maximum distance");
+    }
+}
@@ -153,6 +153,17 @@ public class PolygonTests {
               new Vector(0, 0, -1)));
       assertNull(result, "EP03: Wrong number of points");
 
+      // EP04: Ray crosses a tilted pentagon, given clockwise, inside and outside of it (1 point / 0 points)
+      Polygon tilted = new Polygon(new Point(1, 0, 0),
+              new Point(1, -1, 1),
+              new Point(0, -1, 2),
+              new Point(-1, 0, 2),
+              new Point(-1, 1, 1));
+      result = tilted.findIntersections(new Ray(new Point(0, 5, 1), new Vector(0, -1, 0)));
+      assertEquals(List.of(new Point(0, 0, 1)), result, "EP04: Ray crosses tilted polygon");
+      result = tilted.findIntersections(new Ray(new Point(1.5, 5, 0.5), new Vector(0, -1, 0)));
+      assertNull(result, "EP04: Ray misses tilted polygon");
+
       // =============== Boundary Values Tests ==================
       // BVA01: Ray intersects with edge (0 points)
       result = polygon.findIntersections(new Ray(new Point(2, 1, 0.75),
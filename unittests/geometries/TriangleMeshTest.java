@@ -0,0 +1,197 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link geometries.TriangleMesh}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class TriangleMeshTest {
+    // Unit square at z = 0, split into two faces by its diagonal
+    private final TriangleMesh square = new TriangleMesh(
+            new double[] { 0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0 },
+            new int[] { 0, 1, 2, 0, 2, 3 }
+    );
+
+    /**
+     * Builds the vertices of a height field of size x size quads over [0, size] x [0, size]
+     *
+     * @param size amount of quads along each axis
+     * @param random heights generator
+     * @return coordinates of the vertices
+     */
+    private double[] heightFieldVertices(int size, Random random) {
+        double[] vertices = new double[3 * (size + 1) * (size + 1)];
+        for (int y = 0, v = 0; y <= size; y++)
+            for (int x = 0; x <= size; x++, v += 3) {
+                vertices[v] = x;
+                vertices[v + 1] = y;
+                vertices[v + 2] = random.nextDouble();
+            }
+        return vertices;
+    }
+
+    /**
+     * Builds the faces of a height field of size x size quads, 2 faces per quad
+     *
+     * @param size amount of quads along each axis
+     * @return vertex indices of the faces
+     */
+    private int[] heightFieldFaces(int size) {
+        int[] faces = new int[6 * size * size];
+        for (int y = 0, f = 0; y < size; y++)
+            for (int x = 0; x < size; x++, f += 6) {
+                int corner = y * (size + 1) + x;
+                faces[f] = corner;
+                faces[f + 1] = corner + 1;
+                faces[f + 2] = corner + size + 2;
+                faces[f + 3] = corner;
+                faces[f + 4] = corner + size + 2;
+                faces[f + 5] = corner + size + 1;
+            }
+        return faces;
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#TriangleMesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Mesh of two faces sharing vertices
+        assertEquals(4, square.getVerticesCount(), "EP01: Wrong amount of vertices");
+        assertEquals(2, square.getFacesCount(), "EP01: Wrong amount of faces");
+        assertEquals(1, square.getBoundingBox().getMax(1), "EP01: Wrong bounding box");
+
+        // EP02: Coordinates are not triples
+        assertThrows(IllegalArgumentException.class, () -> new TriangleMesh(new double[] { 0, 0 }, new int[0]),
+                "EP02: Constructed a mesh of partial vertices");
+
+        // EP03: Face refers to a missing vertex
+        assertThrows(IllegalArgumentException.class,
+                () -> new TriangleMesh(new double[] { 0, 0, 0, 1, 0, 0, 0, 1, 0 }, new int[] { 0, 1, 3 }),
+                "EP03: Constructed a mesh with a missing vertex");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Empty mesh
+        assertNull(new TriangleMesh(new double[0], new int[0])
+                .findIntersections(new Ray(new Point(0, 0, 1), new Vector(0, 0, -1))), "BVA01: Empty mesh intersected");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#getNormal(int)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Normal by the order of the vertices
+        assertEquals(new Vector(0, 0, 1), square.getNormal(1), "EP01: Wrong normal");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findGeoIntersections(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray crosses a face, which has the mesh's material and normal
+        Material material = new Material().setKd(0.3);
+        square.setMaterial(material);
+        List<Intersectable.GeoPoint> result = square.findGeoIntersections(
+                new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1)));
+        assertEquals(1, result.size(), "EP01: Wrong amount of intersections");
+        assertEquals(new Point(0.25, 0.5, 0), result.get(0).point, "EP01: Wrong point");
+        assertSame(material, result.get(0).geometry.getMaterial(), "EP01: Wrong material");
+        assertEquals(new Vector(0, 0, 1), result.get(0).geometry.getNormal(result.get(0).point),
+                "EP01: Wrong normal");
+
+        // EP02: Ray misses the mesh
+        assertNull(square.findIntersections(new Ray(new Point(2, 0.5, 1), new Vector(0, 0, -1))),
+                "EP02: Wrong intersections");
+
+        // EP03: Random rays find the same intersections as separate triangles
+        Random random = new Random(1);
+        double[] vertices = heightFieldVertices(20, random);
+        int[] faces = heightFieldFaces(20);
+        TriangleMesh mesh = new TriangleMesh(vertices, faces);
+        Geometries triangles = new Geometries();
+        for (int f = 0; f < faces.length; f += 3) {
+            Point[] points = new Point[3];
+            for (int i = 0; i < 3; i++)
+                points[i] = new Point(vertices[3 * faces[f + i]], vertices[3 * faces[f + i] + 1],
+                        vertices[3 * faces[f + i] + 2]);
+            triangles.add(new Triangle(points[0], points[1], points[2]));
+        }
+        for (int k = 0; k < 100; k++) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 20, random.nextDouble() * 20, 3),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            List<Point> expected = triangles.findIntersections(ray);
+            List<Point> actual = mesh.findIntersections(ray);
+            if (expected == null) {
+                assertNull(actual, "EP03: Wrong intersections of ray " + k);
+                continue;
+            }
+
+            assertEquals(expected.size(), actual.size(), "EP03: Wrong amount of intersections of ray " + k);
+            assertTrue(actual.containsAll(expected), "EP03: Wrong intersections of ray " + k);
+            assertEquals(triangles.findClosestGeoIntersection(ray).point, mesh.findClosestGeoIntersection(ray).point,
+                    "EP03: Wrong closest intersection of ray " + k);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Ray through the shared edge is not counted, as with separate triangles
+        assertNull(square.findIntersections(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))),
+                "BVA01: Wrong intersections");
+
+        // BVA02: Maximum distance before the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1)), 0.5),
+                "BVA02: Wrong intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findClosestGeoIntersection(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Vertical ray hits the height field below its start
+        TriangleMesh mesh = new TriangleMesh(heightFieldVertices(4, new Random(2)), heightFieldFaces(4));
+        Ray ray = new Ray(new Point(1.3, 2.6, 5), new Vector(0, 0, -1));
+        Intersectable.GeoPoint closest = mesh.findClosestGeoIntersection(ray);
+        assertNotNull(closest, "EP01: No intersection");
+        assertEquals(1.3, closest.point.getX(), 1e-10, "EP01: Wrong point");
+        assertEquals(2.6, closest.point.getY(), 1e-10, "EP01: Wrong point");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance before the mesh
+        assertNull(square.findClosestGeoIntersection(new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1)), 0.5),
+                "BVA01: Found an intersection beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findTransparency(primitives.Ray, double, double)}.
+     */
+    @Test
+    void testFindTransparency() {
+        Ray ray = new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Opaque mesh blocks the light
+        assertEquals(Double3.ZERO, square.findTransparency(ray, 5, 0.001), "EP01: Light was not blocked");
+
+        // EP02: Transparent mesh
+        square.setMaterial(new Material().setKt(0.5));
+        assertEquals(new Double3(0.5), square.findTransparency(ray, 5, 0.001), "EP02: Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Light before the mesh
+        assertEquals(Double3.ONE, square.findTransparency(ray, 0.5, 0.001), "BVA01: Wrong transparency");
+    }
+}
@@ -84,5 +84,10 @@ class TriangleTest {
         ray = new Ray(new Point(0.5, 0.75, 0), new Vector(0, 0, 1));
         result = triangle.findIntersections(ray);
         assertNull(result, "BVA04: Wrong amount of points");
+
+        // BVA05: The intersection is beyond the maximum distance
+        ray = new Ray(new Point(0.5, 0.75, -2), new Vector(0, 0, 1));
+        assertNull(triangle.findGeoIntersections(ray, 1.5), "BVA05: Wrong amount of points");
+        assertEquals(1, triangle.findGeoIntersections(ray, 2).size(), "BVA05: Wrong amount of points");
     }
 }
\ No newline at end of file
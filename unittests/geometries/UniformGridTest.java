@@ -0,0 +1,135 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link geometries.UniformGrid}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class UniformGridTest {
+    /**
+     * Builds the grid of spheres
+     *
+     * @param spheres spheres
+     * @return the grid
+     */
+    private UniformGrid build(Sphere[] spheres) {
+        BoundingBox[] boxes = new BoundingBox[spheres.length];
+        for (int i = 0; i < boxes.length; i++)
+            boxes[i] = spheres[i].getBoundingBox();
+        return new UniformGrid(boxes);
+    }
+
+    /**
+     * Test method for {@link geometries.UniformGrid#UniformGrid(geometries.BoundingBox[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Evenly distributed spheres get about 3 cells each
+        Sphere[] spheres = new Sphere[64];
+        for (int i = 0; i < spheres.length; i++)
+            spheres[i] = new Sphere(new Point(i % 4 * 3, i / 4 % 4 * 3, i / 16 * 3), 1);
+        UniformGrid grid = build(spheres);
+        for (int axis = 0; axis < 3; axis++)
+            assertEquals(6, grid.getResolution(axis), "EP01: Wrong resolution");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Flat scene gets a single cell along its flat axis
+        Polygon square = new Polygon(new Point(0, 0, 0), new Point(1, 0, 0), new Point(1, 1, 0), new Point(0, 1, 0));
+        grid = new UniformGrid(new BoundingBox[] { square.getBoundingBox(), square.getBoundingBox() });
+        assertEquals(1, grid.getResolution(2), "BVA01: Wrong resolution of flat axis");
+
+        // BVA02: No primitives
+        grid = new UniformGrid(new BoundingBox[0]);
+        assertTrue(grid.forEach(new Ray(new Point(0, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                i -> fail("BVA02: Visited a primitive") != null), "BVA02: Traversal stopped");
+    }
+
+    /**
+     * Test method for {@link geometries.UniformGrid#forEach(primitives.Ray, double, geometries.SpatialIndex.Visitor)}.
+     */
+    @Test
+    void testForEach() {
+        Sphere[] spheres = new Sphere[10];
+        for (int i = 0; i < spheres.length; i++)
+            spheres[i] = new Sphere(new Point(3 * i, 0, 0), 1);
+        UniformGrid grid = build(spheres);
+        List<Integer> visited = new ArrayList<>();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray along the row visits every sphere once, though the spheres span several cells
+        assertTrue(grid.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                visited::add), "EP01: Traversal stopped");
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), visited, "EP01: Wrong primitives visited");
+
+        // EP02: Ray across the row visits its neighbourhood only
+        visited.clear();
+        grid.forEach(new Ray(new Point(27, 0, 5), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY, visited::add);
+        assertTrue(visited.contains(9) && visited.size() <= 2, "EP02: Wrong primitives visited " + visited);
+
+        // EP03: Visitor stops the traversal
+        visited.clear();
+        assertFalse(grid.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                i -> visited.add(i) && visited.size() < 3), "EP03: Traversal was not stopped");
+        assertEquals(3, visited.size(), "EP03: Wrong amount of primitives visited");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Spheres beyond the maximum distance are not visited
+        visited.clear();
+        grid.forEach(new Ray(new Point(-5, 0, 0), new Vector(-1, 0, 0)), Double.POSITIVE_INFINITY, visited::add);
+        assertTrue(visited.isEmpty(), "BVA01: Ray pointing away visited primitives");
+        grid.forEach(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), 10, visited::add);
+        assertTrue(visited.contains(2) && !visited.contains(9), "BVA01: Wrong primitives visited " + visited);
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.UniformGrid#findClosest(primitives.Ray, double, geometries.SpatialIndex.ClosestVisitor)}.
+     */
+    @Test
+    void testFindClosest() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Random spheres and rays find the same closest hits as testing all the spheres
+        Random random = new Random(1);
+        Sphere[] spheres = new Sphere[2000];
+        for (int i = 0; i < spheres.length; i++)
+            spheres[i] = new Sphere(new Point(
+                    random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100),
+                    random.nextDouble() * 5);
+        UniformGrid grid = build(spheres);
+        for (int k = 0; k < 200; k++) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            double expected = Double.POSITIVE_INFINITY;
+            for (Sphere sphere : spheres) {
+                Intersectable.GeoPoint hit = sphere.findClosestGeoIntersection(ray);
+                if (hit != null)
+                    expected = Math.min(expected, hit.point.distance(ray.getStartPoint()));
+            }
+            double actual = grid.findClosest(ray, Double.POSITIVE_INFINITY, (i, maxDistance) -> {
+                Intersectable.GeoPoint hit = spheres[i].findClosestGeoIntersection(ray, maxDistance);
+                return hit == null ? maxDistance : hit.point.distance(ray.getStartPoint());
+            });
+            assertEquals(expected, actual, 1e-9, "EP01: Wrong closest hit of ray " + k);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Maximum distance before all the spheres
+        Ray ray = new Ray(new Point(50, 50, -10), new Vector(0, 0, 1));
+        assertEquals(5, grid.findClosest(ray, 5, (i, maxDistance) -> {
+            fail("BVA01: Visited a primitive");
+            return maxDistance;
+        }), "BVA01: Wrong distance");
+    }
+}
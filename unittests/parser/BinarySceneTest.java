@@ -0,0 +1,221 @@
+package parser;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.PointLight;
+import lighting.SpotLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+import scene.parser.BinaryScene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing BinaryScene
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class BinarySceneTest {
+    /**
+     * Builds a scene of every kind of geometry and light, sharing a material and an instanced collection
+     *
+     * @return the scene
+     */
+    private static Scene scene() {
+        Material shared = new Material().setKd(0.5).setKs(0.3).setKt(new Double3(0.1, 0.2, 0.3)).setShininess(20);
+        Geometries piece = new Geometries(
+                new Sphere(new Point(0, 0, 0), 1).setEmission(new Color(200, 0, 0)).setMaterial(shared),
+                new OrientedBox(new Point(0, -1.5, 0), new Vector(0, 1, 0), new Vector(1, 0, 1), 1, 2, 1)
+                        .setMaterial(shared)
+        );
+        TriangleMesh mesh = new TriangleMesh(
+                new double[] { 10, 0, 0, 12, 0, 0, 12, 2, 0, 10, 2, 0, 11, 1, 2 },
+                new int[] { 0, 1, 4, 1, 2, 4, 2, 3, 4, 3, 0, 4 }
+        ).setEmission(new Color(0, 50, 0));
+
+        Scene scene = new Scene("Binary scene")
+                .setBackground(new Color(10, 20, 30))
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.geometries.add(
+                new Plane(new Point(0, 0, -5), new Vector(0, 0, 1)).setMaterial(new Material().setKr(0.5)),
+                new Triangle(new Point(-5, 5, 0), new Point(-3, 5, 0), new Point(-4, 7, 0)),
+                new Polygon(new Point(5, 5, 0), new Point(7, 5, 0), new Point(7, 7, 0), new Point(5, 7, 0)),
+                new Tube(new Ray(new Point(-20, 0, 0), new Vector(0, 0, 1)), 1),
+                new Cylinder(3, new Ray(new Point(-8, -8, 0), new Vector(1, 1, 1)), 0.5),
+                mesh,
+                new Instance(piece, Transform.translation(new Vector(0, 10, 0))),
+                new Instance(piece, Transform.scaling(2, 2, 2).then(Transform.rotationZ(30)))
+        );
+        scene.setAcceleration(Geometries.Acceleration.BVH);
+        scene.geometries.add(new Sphere(new Point(0, -10, 0), 2)); // Added after the index was built
+
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(1, -1, -1)));
+        scene.lights.add(new PointLight(new Color(50, 50, 50), new Point(0, 0, 20)).setKl(0.01).setKq(0.001));
+        scene.lights.add(new SpotLight(new Color(80, 80, 0), new Point(5, 5, 20), new Vector(0, 0, -1))
+                .setNarrowBeam(8));
+        return scene;
+    }
+
+    /**
+     * Writes a scene to a temporary file and reads it back
+     *
+     * @param scene scene
+     * @return the read scene
+     * @throws IOException if the file can't be written or read
+     */
+    private static Scene roundTrip(Scene scene) throws IOException {
+        Path file = Files.createTempFile("scene", ".bin");
+        try {
+            BinaryScene.write(scene, file.toString());
+            return BinaryScene.read(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test method for {@link BinaryScene#read(String)} of a file written by {@link BinaryScene#write(Scene, String)}
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Scene attributes and lights
+        Scene scene = scene();
+        Scene read = roundTrip(scene);
+        assertEquals(scene.name, read.name, "EP01: Wrong name");
+        assertEquals(scene.background.getRgb(), read.background.getRgb(), "EP01: Wrong background");
+        assertEquals(scene.ambientLight.getIntensity().getRgb(), read.ambientLight.getIntensity().getRgb(),
+                "EP01: Wrong ambient light");
+        assertEquals(3, read.lights.size(), "EP01: Wrong amount of lights");
+        SpotLight spot = (SpotLight) read.lights.get(2);
+        assertEquals(8, spot.getNarrowBeam(), "EP01: Wrong narrow beam");
+        PointLight point = (PointLight) read.lights.get(1);
+        assertEquals(0.001, point.getKq(), "EP01: Wrong kQ");
+        Point lit = new Point(1, 2, 3);
+        for (int i = 0; i < 3; i++)
+            assertEquals(scene.lights.get(i).getIntensity(lit).getRgb(),
+                    read.lights.get(i).getIntensity(lit).getRgb(), "EP01: Wrong intensity of light " + i);
+
+        // EP02: The hierarchy of the scene is loaded as stored, and shared objects stay shared
+        BVH bvh = (BVH) scene.geometries.getIndex();
+        BVH readBVH = (BVH) read.geometries.getIndex();
+        assertArrayEquals(bvh.getBounds(), readBVH.getBounds(), "EP02: Wrong hierarchy bounds");
+        assertArrayEquals(bvh.getNodes(), readBVH.getNodes(), "EP02: Wrong hierarchy nodes");
+        assertArrayEquals(bvh.getPrimitives(), readBVH.getPrimitives(), "EP02: Wrong hierarchy primitives");
+        assertEquals(2, read.geometries.getUnbounded().size(), "EP02: Wrong unbounded geometries");
+        assertEquals(1, read.geometries.getUnindexed().size(), "EP02: Wrong geometries out of the index");
+        List<Intersectable> indexed = read.geometries.getIndexed();
+        Instance first = (Instance) indexed.stream().filter(g -> g instanceof Instance).findFirst().orElseThrow();
+        Instance second = (Instance) indexed.stream().filter(g -> g instanceof Instance && g != first)
+                .findFirst().orElseThrow();
+        assertSame(first.getObject(), second.getObject(), "EP02: Instanced collection is not shared");
+        Geometries piece = (Geometries) first.getObject();
+        assertSame(((Geometry) piece.getUnindexed().get(0)).getMaterial(),
+                ((Geometry) piece.getUnindexed().get(1)).getMaterial(), "EP02: Material is not shared");
+
+        // EP03: Rays find the same closest intersections and transparency in both scenes
+        Random random = new Random(1);
+        for (int k = 0; k < 2000; k++) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20, 10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            Intersectable.GeoPoint expected = scene.geometries.findClosestGeoIntersection(ray);
+            Intersectable.GeoPoint actual = read.geometries.findClosestGeoIntersection(ray);
+            if (expected == null) {
+                assertNull(actual, "EP03: Ray " + k + " hits the read scene only");
+                continue;
+            }
+            assertNotNull(actual, "EP03: Ray " + k + " misses the read scene");
+            assertEquals(expected.point, actual.point, "EP03: Wrong closest point of ray " + k);
+            assertEquals(expected.geometry.getEmission().getRgb(), actual.geometry.getEmission().getRgb(),
+                    "EP03: Wrong emission of ray " + k);
+            assertEquals(expected.geometry.getNormal(expected.point), actual.geometry.getNormal(actual.point),
+                    "EP03: Wrong normal of ray " + k);
+            assertEquals(scene.geometries.findTransparency(ray, 100, 0.001),
+                    read.geometries.findTransparency(ray, 100, 0.001),
+                    "EP03: Wrong transparency of ray " + k);
+        }
+
+        // EP04: Unsupported geometry is not written, and the previous file is kept without a partial file
+        Scene custom = new Scene("Custom");
+        custom.geometries.add(new Geometry() {
+            @Override
+            public Vector getNormal(Point point) {
+                return new Vector(0, 0, 1);
+            }
+
+            @Override
+            protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+                return null;
+            }
+        });
+        Path directory = Files.createTempDirectory("scenes");
+        Path file = directory.resolve("scene.bin");
+        try {
+            BinaryScene.write(scene, file.toString());
+            assertThrows(IllegalArgumentException.class, () -> BinaryScene.write(custom, file.toString()),
+                    "EP04: Wrote an unsupported geometry");
+            assertEquals(scene.name, BinaryScene.read(file.toString()).name, "EP04: Previous file was not kept");
+            try (var files = Files.list(directory)) {
+                assertEquals(List.of(file), files.toList(), "EP04: Partial file was left");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Empty scene
+        read = roundTrip(new Scene("Empty"));
+        assertTrue(read.lights.isEmpty() && read.geometries.getIndexed().isEmpty(), "BVA01: Wrong empty scene");
+        assertEquals(Geometries.Acceleration.NONE, read.geometries.getAcceleration(), "BVA01: Wrong acceleration");
+
+        // BVA02: Grid index is rebuilt over the same geometries
+        Scene grid = new Scene("Grid");
+        grid.geometries.add(new Sphere(new Point(0, 0, 0), 1), new Sphere(new Point(5, 0, 0), 1));
+        grid.setAcceleration(Geometries.Acceleration.GRID);
+        read = roundTrip(grid);
+        assertEquals(Geometries.Acceleration.GRID, read.geometries.getAcceleration(), "BVA02: Wrong acceleration");
+        assertEquals(new Point(4, 0, 0), read.geometries.findClosestGeoIntersection(
+                new Ray(new Point(2, 0, 0), new Vector(1, 0, 0))).point, "BVA02: Wrong closest point");
+    }
+
+    /**
+     * Test method for {@link BinaryScene#read(String)} of invalid files
+     */
+    @Test
+    void testReadInvalid() throws IOException {
+        Path file = Files.createTempFile("scene", ".bin");
+        try {
+            BinaryScene.write(scene(), file.toString());
+            byte[] content = Files.readAllBytes(file);
+
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Not a scene file
+            Files.write(file, "<scene/>".getBytes());
+            assertThrows(IOException.class, () -> BinaryScene.read(file.toString()), "EP01: Read an XML file");
+
+            // EP02: Truncated file
+            Files.write(file, java.util.Arrays.copyOf(content, content.length / 2));
+            assertThrows(IOException.class, () -> BinaryScene.read(file.toString()), "EP02: Read a truncated file");
+
+            // =============== Boundary Values Tests ==================
+            // BVA01: Empty file
+            Files.write(file, new byte[0]);
+            assertThrows(IOException.class, () -> BinaryScene.read(file.toString()), "BVA01: Read an empty file");
+
+            // BVA02: Extra byte after the scene
+            Files.write(file, java.util.Arrays.copyOf(content, content.length + 1));
+            assertThrows(IOException.class, () -> BinaryScene.read(file.toString()), "BVA02: Read extra content");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
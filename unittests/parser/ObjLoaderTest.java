@@ -0,0 +1,94 @@
+package parser;
+
+import geometries.TriangleMesh;
+import org.junit.jupiter.api.Test;
+import scene.parser.ObjLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing ObjLoader
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class ObjLoaderTest {
+    /**
+     * Loads OBJ content
+     *
+     * @param content OBJ content
+     * @return the mesh
+     * @throws IOException if the content is malformed
+     */
+    private static TriangleMesh load(String content) throws IOException {
+        return ObjLoader.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Test method for {@link ObjLoader#load(java.io.InputStream)}
+     */
+    @Test
+    void testLoad() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Triangle and quad faces, with texture and normal indices, comments and other statements
+        TriangleMesh mesh = load("""
+                # square and triangle
+                mtllib model.mtl
+                o model
+                v 0 0 0
+                v 1.5 0 0
+                vt 0.5 0.5
+                vn 0 0 1
+                v 1.5 2 0 1.0
+                v 0 2 0
+                usemtl white
+                f 1/1/1 2/1/1 3/1/1 4/1/1
+                f 1//1 2//1 4//1 # comment
+                """);
+        assertArrayEquals(new double[] { 0, 0, 0, 1.5, 0, 0, 1.5, 2, 0, 0, 2, 0 }, mesh.getVertices(),
+                "EP01: Wrong vertices");
+        assertArrayEquals(new int[] { 0, 1, 2, 0, 2, 3, 0, 1, 3 }, mesh.getFaces(), "EP01: Wrong faces");
+
+        // EP02: Negative indices are relative to the last vertex, and lines may end with CR LF
+        mesh = load("v 0 0 0\r\nv 1 0 0\r\nv 0 1 0\r\nf -3 -2 -1\r\n");
+        assertArrayEquals(new int[] { 0, 1, 2 }, mesh.getFaces(), "EP02: Wrong faces");
+
+        // EP03: Numbers in all forms are parsed as Double.parseDouble parses them
+        mesh = load("v -1.25e2 +.5 3.\nv 1E-3 -0 00012.5000\n");
+        assertArrayEquals(new double[] { -125, 0.5, 3, 0.001, -0.0, 12.5 }, mesh.getVertices(), "EP03: Wrong numbers");
+
+        Random random = new Random(1);
+        StringBuilder content = new StringBuilder();
+        double[] expected = new double[3000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextGaussian() * Math.pow(10, random.nextInt(10) - 5);
+            String number = i % 2 == 0 ? String.format("%.6f", expected[i]) : Double.toString(expected[i]);
+            expected[i] = Double.parseDouble(number);
+            content.append(i % 3 == 0 ? "v " : " ").append(number).append(i % 3 == 2 ? "\n" : "");
+        }
+        double[] actual = load(content.toString()).getVertices();
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], actual[i], Math.ulp(expected[i]) * 2, "EP03: Wrong number " + i);
+
+        // EP04: Malformed content
+        assertThrows(IOException.class, () -> load("v 0 0 x\n"), "EP04: Loaded a malformed number");
+        assertThrows(IOException.class, () -> load("v 0 0 0\nv 1 0 0\nf 1 2\n"), "EP04: Loaded a face of 2 vertices");
+        assertThrows(IOException.class, () -> load("v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 4\n"),
+                "EP04: Loaded a face of a missing vertex");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Empty content
+        mesh = load("");
+        assertEquals(0, mesh.getFacesCount(), "BVA01: Wrong amount of faces");
+
+        // BVA02: Last line without end, longer than the read buffer
+        content = new StringBuilder("v 0 0 0\nv 1 0 0\nv 0 1 0\nf");
+        for (int i = 0; i < 30000; i++)
+            content.append(" 1 2 3");
+        assertEquals(89998, load(content.toString()).getFacesCount(), "BVA02: Wrong amount of faces");
+    }
+}
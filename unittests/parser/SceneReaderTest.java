@@ -0,0 +1,88 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+import scene.parser.SceneReader;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing SceneReader
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class SceneReaderTest {
+    /**
+     * Reads XML content, recording the elements handed over as "kind:attributes"
+     *
+     * @param content XML content
+     * @return recorded elements
+     * @throws XMLStreamException if the content is malformed
+     */
+    private static List<String> read(String content) throws XMLStreamException {
+        List<String> elements = new ArrayList<>();
+        SceneReader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), new SceneReader.Handler() {
+            @Override
+            public void scene(Map<String, String> attributes) {
+                elements.add("scene:" + attributes);
+            }
+
+            @Override
+            public void ambientLight(Map<String, String> attributes) {
+                elements.add("ambient-light:" + attributes);
+            }
+
+            @Override
+            public void geometry(String name, Map<String, String> attributes) {
+                elements.add(name + ":" + attributes);
+            }
+        });
+        return elements;
+    }
+
+    /**
+     * Test method for {@link SceneReader#read(java.io.InputStream, SceneReader.Handler)}
+     */
+    @Test
+    void testRead() throws XMLStreamException {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Scene, ambient light and geometries in document order
+        assertEquals(List.of(
+                "scene:{background-color=75 127 190}",
+                "ambient-light:{k=1.0}",
+                "triangle:{p1=1 0 0}",
+                "sphere:{radius=50}",
+                "plane:{}"
+        ), read("""
+                <scene background-color="75 127 190">
+                    <ambient-light k="1.0"/>
+                    <geometries>
+                        <triangle p1="1 0 0"/>
+                        <sphere radius="50"/>
+                        <plane/>
+                        <cylinder radius="1"/>
+                    </geometries>
+                </scene>
+                """), "EP01: Wrong elements");
+
+        // EP02: Malformed content
+        assertThrows(XMLStreamException.class, () -> read("<scene><geometries></scene>"),
+                "EP02: Read malformed content");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Only the first geometries element is read, and geometries outside it are ignored
+        assertEquals(List.of("scene:{}", "sphere:{radius=1}"), read("""
+                <scene>
+                    <sphere radius="0"/>
+                    <geometries><sphere radius="1"/></geometries>
+                    <geometries><sphere radius="2"/></geometries>
+                </scene>
+                """), "BVA01: Wrong elements");
+    }
+}
@@ -0,0 +1,83 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link primitives.Transform}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class TransformTest {
+    /**
+     * Test method for {@link primitives.Transform#transformPoint(primitives.Point)}.
+     */
+    @Test
+    void testTransformPoint() {
+        Point point = new Point(1, 2, 3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Translation
+        assertEquals(new Point(2, 2, 1), Transform.translation(new Vector(1, 0, -2)).transformPoint(point),
+                "EP01: Wrong translated point");
+
+        // EP02: Scaling
+        assertEquals(new Point(2, -2, 9), Transform.scaling(2, -1, 3).transformPoint(point),
+                "EP02: Wrong scaled point");
+
+        // EP03: Rotations agree with the rotations of vectors
+        Vector vector = new Vector(1, 2, 3);
+        assertEquals(vector.rotateX(30), Transform.rotationX(30).transformVector(vector),
+                "EP03: Wrong rotation around x");
+        assertEquals(vector.rotateY(30), Transform.rotationY(30).transformVector(vector),
+                "EP03: Wrong rotation around y");
+        assertEquals(vector.rotateZ(30), Transform.rotationZ(30).transformVector(vector),
+                "EP03: Wrong rotation around z");
+
+        // EP04: Combined transformations apply in order
+        Transform transform = Transform.scaling(2, 2, 2).then(Transform.translation(new Vector(1, 0, 0)));
+        assertEquals(new Point(3, 4, 6), transform.transformPoint(point), "EP04: Wrong combined transformation");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Identity
+        assertEquals(point, Transform.IDENTITY.transformPoint(point), "BVA01: Identity moved the point");
+
+        // BVA02: Scaling by zero
+        assertThrows(IllegalArgumentException.class, () -> Transform.scaling(1, 0, 1), "BVA02: Scaled by zero");
+    }
+
+    /**
+     * Test method for {@link primitives.Transform#inverse()}.
+     */
+    @Test
+    void testInverse() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Inverse of a combined transformation restores points and vectors
+        Transform transform = Transform.rotationZ(40)
+                .then(Transform.scaling(1, 3, 0.5))
+                .then(Transform.rotationX(-70))
+                .then(Transform.translation(new Vector(4, -1, 2)));
+        Point point = new Point(1, -2, 5);
+        Vector vector = new Vector(-1, 2, 2);
+        assertEquals(point, transform.inverse().transformPoint(transform.transformPoint(point)),
+                "EP01: Wrong restored point");
+        assertEquals(vector, transform.inverse().transformVector(transform.transformVector(vector)),
+                "EP01: Wrong restored vector");
+    }
+
+    /**
+     * Test method for {@link primitives.Transform#transformNormal(primitives.Vector)}.
+     */
+    @Test
+    void testTransformNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Normal of a sheared-by-scaling plane stays orthogonal to it
+        Transform transform = Transform.rotationZ(45).then(Transform.scaling(1, 4, 1));
+        Vector inPlane = new Vector(1, -1, 0);
+        Vector normal = new Vector(1, 1, 0).normalize();
+        assertEquals(0, transform.transformNormal(normal).dotProduct(transform.transformVector(inPlane)), 1e-10,
+                "EP01: Normal is not orthogonal to the transformed plane");
+        assertEquals(1, transform.transformNormal(normal).length(), 1e-10, "EP01: Normal is not normalized");
+    }
+}
@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import geometries.Sphere;
 import primitives.*;
+import scene.Scene;
 
 /**
  * Testing Camera Class
@@ -83,4 +85,39 @@ class CameraTest {
 
 	}
 
+	/**
+	 * Test method for {@link renderer.Camera#renderImage()} with
+	 * {@link renderer.Camera.RenderMode#INTERSECTION_TESTS}.
+	 */
+	@Test
+	void testRenderHeatmap() {
+		Scene scene = new Scene("Heatmap");
+		scene.geometries.add(new Sphere(new Point(0, 0, -100), 10));
+		RayTracerBasic tracer = new RayTracerBasic(scene).setCountIntersections(true);
+		ImageWriter imageWriter = new ImageWriter("heatmap", 10, 10);
+		Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+				.setVPSize(10, 10).setVPDistance(10).setThreadsCount(2)
+				.setRenderMode(Camera.RenderMode.INTERSECTION_TESTS)
+				.setImageWriter(imageWriter).setRayTracer(tracer);
+
+		try {
+			// ============ Equivalence Partitions Tests ==============
+			// EP01: Pixels which test the sphere are the hottest, the others are cold
+			camera.renderImage();
+			assertEquals(0xFFFFFF, imageWriter.getImage().getRGB(4, 5) & 0xFFFFFF, "EP01: Bad color of a hot pixel");
+			assertEquals(0, imageWriter.getImage().getRGB(0, 0) & 0xFFFFFF, "EP01: Bad color of a cold pixel");
+
+			// EP02: Tests are still counted by the ray tracer which counts them, inside the heatmap's counter
+			assertTrue(tracer.getStatistics().getIntersectionTests().get("Sphere") > 0,
+					"EP02: Tests were not counted by the ray tracer");
+			tracer.setCountIntersections(false);
+
+			// =============== Boundary Values Tests ==================
+			// BVA01: Scene without geometries is cold
+			camera.setRayTracer(new RayTracerBasic(new Scene("Empty"))).renderImage();
+			assertEquals(0, imageWriter.getImage().getRGB(4, 5) & 0xFFFFFF, "BVA01: Bad color of an empty scene");
+		} finally {
+			tracer.setCountIntersections(false);
+		}
+	}
 }
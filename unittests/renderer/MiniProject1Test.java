@@ -18,20 +18,18 @@ public class MiniProject1Test {
         boolean is_white;
         Geometries result = new Geometries();
 
+        // Every slot is an instance of one of two shared boxes, centered at the origin
+        Geometries whiteSlot = constructBoardSlot(new Color(WHITE));
+        Geometries blackSlot = constructBoardSlot(Color.BLACK);
+
         for (int y = 0; y < 8; y++) {
             is_white = y % 2 != 0;
             for (int x = 0; x < 8; x++) {
                 result.add(
-                        new Box(
-                                new Point(-3.5 + x, -3.5 + y, 1),
-                                1,
-                                1,
-                                0.5,
-                                new Vector(0, 0, 1),
-                                new Vector(-1, 0, 0),
-                                is_white ? new Color(WHITE) : Color.BLACK,
-                                new Material().setShininess(80).setKd(0.05).setKs(0.1) // Play with these values
-                        ).getBox()
+                        new Instance(
+                                is_white ? whiteSlot : blackSlot,
+                                Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1))
+                        )
                 );
 
                 is_white = !is_white;
@@ -41,36 +39,49 @@ public class MiniProject1Test {
         return result;
     }
 
+    private Geometries constructBoardSlot(Color emission) {
+        return new Box(
+                new Point(0, 0, 0),
+                1,
+                1,
+                0.5,
+                new Vector(0, 0, 1),
+                new Vector(-1, 0, 0),
+                emission,
+                new Material().setShininess(80).setKd(0.05).setKs(0.1) // Play with these values
+        ).getBox();
+    }
+
     private Geometries constructSoldiers() {
         Geometries result = new Geometries();
 
+        // Every soldier is an instance of one of two shared spheres, centered at the origin
+        Geometry whiteSoldier = new Sphere(new Point(0, 0, 0), 0.25)
+                .setEmission(new Color(247, 241, 227))
+                .setMaterial(
+                        new Material()
+                                .setKd(0.2)
+                                .setKs(0.5)
+                                .setShininess(60)
+                );
+        Geometry redSoldier = new Sphere(new Point(0, 0, 0), 0.25)
+                .setEmission(new Color(RED))
+                .setMaterial(
+                        new Material()
+                                .setKd(0.2)
+                                .setKs(0.5)
+                                .setShininess(60)
+                );
+
         // First Player (White)
         for (int y = 0; y < 3; y++)
             for (int x = y % 2; x < 8; x += 2)
-                result.add(
-                        new Sphere(new Point(-3.5 + x, -3.5 + y, 1.25), 0.25)
-                                .setEmission(new Color(247, 241, 227))
-                                .setMaterial(
-                                        new Material()
-                                                .setKd(0.2)
-                                                .setKs(0.5)
-                                                .setShininess(60)
-                                )
-                );
+                result.add(new Instance(whiteSoldier, Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1.25))));
 
         // Second Player (Red)
         for (int y = 7; y >= 5; y--)
             for (int x = y % 2; x < 8; x += 2)
-                result.add(
-                        new Sphere(new Point(-3.5 + x, -3.5 + y, 1.25), 0.25)
-                                .setEmission(new Color(RED))
-                                .setMaterial(
-                                        new Material()
-                                                .setKd(0.2)
-                                                .setKs(0.5)
-                                                .setShininess(60)
-                                )
-                );
+                result.add(new Instance(redSoldier, Transform.translation(new Vector(-3.5 + x, -3.5 + y, 1.25))));
 
         return result;
     }
@@ -87,6 +98,7 @@ public class MiniProject1Test {
                 .setAntiAliasing(10);
 
         scene.geometries.add(constructBoardSlots(), constructSoldiers());
+        scene.setAcceleration(Geometries.Acceleration.GRID);
 
         scene.lights.add(
                 new SpotLight(new Color(WHITE), new Point(0, 0, 6), new Vector(0, 0, -1))
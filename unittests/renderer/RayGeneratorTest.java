@@ -0,0 +1,71 @@
+package renderer;
+
+import primitives.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link renderer.RayGenerator}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class RayGeneratorTest {
+    static final Point ZERO_POINT = new Point(0, 0, 0);
+
+    /**
+     * Test method for {@link renderer.RayGenerator#constructRay(double, double)}.
+     */
+    @Test
+    void testConstructRay() {
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPDistance(10)
+                .setVPSize(6, 6);
+        RayGenerator rays = new RayGenerator(camera, 3, 3, new double[] { 0, 0 });
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Ray through a pixel is the ray of the camera through the pixel
+        assertEquals(new Ray(ZERO_POINT, new Vector(2, 0, -10)), rays.constructRay(0, 1),
+                "EP01: Bad ray through pixel");
+
+        // EP02: Ray through the top left corner of a pixel
+        assertEquals(new Ray(ZERO_POINT, new Vector(1, -1, -10)), rays.constructRay(0.5, 0.5),
+                "EP02: Bad ray through corner");
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Ray through the center of the View Plane
+        assertEquals(new Ray(ZERO_POINT, new Vector(0, 0, -10)), rays.constructRay(1, 1),
+                "BVA01: Bad ray through center");
+    }
+
+    /**
+     * Test method for {@link renderer.RayGenerator#tracePixel(renderer.RayTracerBase, int, int)}.
+     */
+    @Test
+    void testTracePixel() {
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(1)
+                .setVPSize(4, 4)
+                .setAntiAliasing(2);
+        SuperSampling superSampling = new SuperSampling().setSize(2);
+        RayGenerator rays = new RayGenerator(camera, 2, 2, superSampling.getOffsets());
+        List<Ray> expected = superSampling.constructRaysThroughGrid(2, 2, ZERO_POINT, new Point(1, 1, -1),
+                camera.getVUp(), camera.getVRight());
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: The pixel is sampled by the rays of the anti aliasing grid, in order
+        List<Ray> traced = new ArrayList<>();
+        Color color = rays.tracePixel(new RayTracerBase(null) {
+            @Override
+            public Color traceRay(Ray ray) {
+                traced.add(ray);
+                return new Color(traced.size(), 0, 0);
+            }
+        }, 1, 0);
+        assertEquals(expected, traced, "EP01: Wrong sample rays");
+        assertEquals(new Color(2.5, 0, 0).getRgb(), color.getRgb(), "EP01: Wrong average color");
+    }
+}
@@ -0,0 +1,83 @@
+package renderer;
+
+import geometries.Plane;
+import geometries.Sphere;
+import lighting.PointLight;
+import primitives.*;
+import scene.Scene;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link renderer.RayTracerBasic}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class RayTracerBasicTest {
+    /**
+     * Test method for {@link renderer.RayTracerBasic#getStatistics()}.
+     */
+    @Test
+    void testGetStatistics() {
+        Scene scene = new Scene("Statistics");
+        // The plane is unbounded, so every ray is tested against both geometries
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -10), 1).setMaterial(new Material().setKd(0.5).setKr(0.5)),
+                new Plane(new Point(0, 0, -20), new Vector(0, 0, 1)).setMaterial(new Material().setKd(0.5)));
+        scene.lights.add(new PointLight(new Color(100, 100, 100), new Point(0, 0, 5)));
+        RayTracerBasic tracer = new RayTracerBasic(scene).setCountIntersections(true);
+        Ray hit = new Ray(new Point(0, 0, 0), new Vector(0, 0, -1));
+        Ray floor = new Ray(new Point(0, 0, 0), new Vector(0, 1, -1));
+
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Ray which hits a reflecting sphere traces a shadow ray and a reflected ray
+            tracer.traceRay(hit);
+            TracingStatistics first = tracer.getStatistics();
+            assertEquals(1, first.getPrimaryRays(), "EP01: Wrong primary rays");
+            assertEquals(1, first.getShadowRays(), "EP01: Wrong shadow rays");
+            assertEquals(1, first.getReflectionRays(), "EP01: Wrong reflection rays");
+            assertEquals(0, first.getRefractionRays(), "EP01: Wrong refraction rays");
+            assertEquals(3, first.getTotalRays(), "EP01: Wrong total rays");
+            assertEquals(1, first.getDepths()[0], "EP01: Wrong depth of the hit");
+            assertEquals(Map.of("Plane", 3L, "Sphere", 3L), first.getIntersectionTests(),
+                    "EP01: Wrong intersection tests");
+
+            // EP02: Statistics since a snapshot count only the later rays, of a ray which hits a matte plane
+            tracer.traceRay(floor);
+            TracingStatistics second = tracer.getStatistics().since(first);
+            assertEquals(1, second.getPrimaryRays(), "EP02: Wrong primary rays");
+            assertEquals(1, second.getShadowRays(), "EP02: Wrong shadow rays");
+            assertEquals(0, second.getReflectionRays(), "EP02: Wrong reflection rays");
+            assertEquals(1, Arrays.stream(second.getDepths()).sum(), "EP02: Wrong depths");
+            assertEquals(Map.of("Plane", 2L, "Sphere", 2L), second.getIntersectionTests(),
+                    "EP02: Wrong intersection tests");
+
+            // =============== Boundary Values Tests ==================
+            // BVA01: Tests of another counting tracer are counted by that tracer only, and don't stop this one
+            RayTracerBasic other = new RayTracerBasic(scene).setCountIntersections(true);
+            other.traceRay(floor);
+            assertEquals(Map.of("Plane", 2L, "Sphere", 2L), other.getStatistics().getIntersectionTests(),
+                    "BVA01: Wrong intersection tests of the other tracer");
+            assertEquals(Map.of("Plane", 5L, "Sphere", 5L), tracer.getStatistics().getIntersectionTests(),
+                    "BVA01: Tests of the other tracer were counted");
+            tracer.traceRay(floor);
+            assertEquals(Map.of("Plane", 7L, "Sphere", 7L), tracer.getStatistics().getIntersectionTests(),
+                    "BVA01: Tracer stopped counting");
+            other.setCountIntersections(false);
+
+            // BVA02: Intersection tests are not counted after the tracer stops counting them
+            tracer.setCountIntersections(false);
+            tracer.traceRay(hit);
+            assertEquals(Map.of("Plane", 7L, "Sphere", 7L), tracer.getStatistics().getIntersectionTests(),
+                    "BVA02: Intersection tests were counted");
+            assertEquals(4, tracer.getStatistics().getPrimaryRays(), "BVA02: Wrong primary rays");
+        } finally {
+            tracer.setCountIntersections(false);
+        }
+    }
+}
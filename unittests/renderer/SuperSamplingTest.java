@@ -3,6 +3,7 @@ package renderer;
 import primitives.*;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,4 +62,51 @@ class SuperSamplingTest {
         List<Ray> actual2 = superSampling.constructRaysThroughGrid(width, height, source, gridCenter, vUp, vRight);
         assertEquals(expected2,actual2, "EP02: Wrong rays");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link renderer.SuperSampling#traceAdaptive(renderer.SuperSampling.Sampler, primitives.Color[])}
+     */
+    @Test
+    void testTraceAdaptive() {
+        Color white = new Color(255, 255, 255);
+        SuperSampling adaptive = new SuperSampling().setSize(4).setAdaptive(true).setThreshold(1);
+        AtomicInteger rays = new AtomicInteger();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Flat grid is sampled only at its center
+        Color flat = new Color(100, 100, 100);
+        Color actual = adaptive.traceAdaptive((x, y) -> {
+            rays.incrementAndGet();
+            return flat;
+        }, new Color[] { flat, flat, flat, flat });
+        assertEquals(1, rays.get(), "EP01: Flat grid was subdivided");
+        assertEquals(flat.getRgb(), actual.getRgb(), "EP01: Wrong color");
+
+        // EP02: Grid crossed by an edge (white on the right half) is subdivided along the edge only
+        rays.set(0);
+        actual = adaptive.traceAdaptive((x, y) -> {
+            rays.incrementAndGet();
+            return x > 0 ? white : Color.BLACK;
+        }, new Color[] { Color.BLACK, white, Color.BLACK, white });
+        assertTrue(rays.get() > 5 && rays.get() < 45, "EP02: Wrong amount of rays " + rays.get());
+        assertTrue(actual.isSimilar(white.scale(0.5), 255 * 0.25), "EP02: Wrong color " + actual);
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Grid of a single cell is never subdivided
+        rays.set(0);
+        new SuperSampling().setAdaptive(true).setThreshold(1).traceAdaptive((x, y) -> {
+            rays.incrementAndGet();
+            return x > 0 ? white : Color.BLACK;
+        }, new Color[] { Color.BLACK, white, Color.BLACK, white });
+        assertEquals(1, rays.get(), "BVA01: Single cell grid was subdivided");
+
+        // BVA02: Grid size which is not a power of two is subdivided only to 8x8 cells for a size of 10, so an edge
+        //        costs fewer rays than the full grid
+        rays.set(0);
+        new SuperSampling().setSize(10).setAdaptive(true).setThreshold(1).traceAdaptive((x, y) -> {
+            rays.incrementAndGet();
+            return x > 0.15 ? white : Color.BLACK;
+        }, new Color[] { Color.BLACK, white, Color.BLACK, white });
+        assertEquals(57, rays.get(), "BVA02: Wrong amount of rays");
+    }
+}
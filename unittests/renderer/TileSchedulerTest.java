@@ -0,0 +1,163 @@
+package renderer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link renderer.TileScheduler}.
+ *
+ * @author Benjamin Mamistvalov, Eyal Nathan
+ */
+class TileSchedulerTest {
+    /**
+     * Renders an image with a scheduler and checks every pixel was rendered exactly once
+     *
+     * @param scheduler scheduler
+     * @param nX amount of columns
+     * @param nY amount of rows
+     * @param threadsCount amount of threads
+     * @param message assertion message
+     */
+    private void assertRendersAllPixelsOnce(TileScheduler scheduler, int nX, int nY, int threadsCount, String message) {
+        AtomicIntegerArray counts = new AtomicIntegerArray(nX * nY);
+        scheduler.render(threadsCount, (j, i) -> counts.incrementAndGet(i * nX + j));
+
+        for (int k = 0; k < counts.length(); k++)
+            assertEquals(1, counts.get(k), message + " (pixel " + k % nX + "," + k / nX + ")");
+    }
+
+    /**
+     * Test method for {@link renderer.TileScheduler#render(int, renderer.TileScheduler.PixelRenderer)}.
+     */
+    @Test
+    void testRender() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Every order renders every pixel once, tiles not dividing the image, several threads
+        for (TileScheduler.Order order : TileScheduler.Order.values())
+            assertRendersAllPixelsOnce(new TileScheduler(37, 23, 8, order), 37, 23, 3, "EP01: " + order);
+
+        // EP02: Single thread renders every pixel once
+        assertRendersAllPixelsOnce(
+                new TileScheduler(20, 20, 4, TileScheduler.Order.HILBERT), 20, 20, 1, "EP02: Single thread");
+
+        // EP03: An exception in a pixel is thrown to the caller
+        TileScheduler scheduler = new TileScheduler(10, 10, 4, TileScheduler.Order.SCANLINE);
+        assertThrows(ArithmeticException.class, () -> scheduler.render(2, (j, i) -> {
+            if (j == 5 && i == 5)
+                throw new ArithmeticException();
+        }), "EP03: Exception was not thrown to the caller");
+
+        // EP04: Once a pixel fails, the other threads take no more tiles, and have stopped when it is thrown
+        AtomicInteger rendered = new AtomicInteger();
+        assertThrows(ArithmeticException.class,
+                () -> new TileScheduler(20, 20, 1, TileScheduler.Order.SCANLINE).render(4, (j, i) -> {
+                    if (j == 0 && i == 0)
+                        throw new ArithmeticException();
+                    rendered.incrementAndGet();
+                    LockSupport.parkNanos(100_000);
+                }), "EP04: Exception was not thrown to the caller");
+        int renderedWhenThrown = rendered.get();
+        LockSupport.parkNanos(20_000_000);
+        assertEquals(renderedWhenThrown, rendered.get(), "EP04: Threads still render after the failure");
+        assertTrue(renderedWhenThrown < 100, "EP04: Threads took tiles after the failure " + renderedWhenThrown);
+
+        // =============== Boundary Values Tests ==================
+        // BVA01: Tile bigger than the image
+        assertRendersAllPixelsOnce(
+                new TileScheduler(5, 3, 16, TileScheduler.Order.SPIRAL), 5, 3, 2, "BVA01: Single tile");
+
+        // BVA02: Non-positive tile size or threads count
+        assertThrows(IllegalArgumentException.class,
+                () -> new TileScheduler(5, 5, 0, TileScheduler.Order.SCANLINE), "BVA02: Zero tile size");
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduler.render(0, (j, i) -> {}), "BVA02: Zero threads");
+    }
+
+    /**
+     * Test method for {@link renderer.TileScheduler#TileScheduler(int, int, int, renderer.TileScheduler.Order)}.
+     */
+    @Test
+    void testOrder() {
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: Spiral starts at the center tile
+        TileScheduler spiral = new TileScheduler(50, 50, 10, TileScheduler.Order.SPIRAL);
+        assertEquals(20, spiral.getTileColumn(0), "EP01: Spiral does not start at the center column");
+        assertEquals(20, spiral.getTileRow(0), "EP01: Spiral does not start at the center row");
+
+        // EP02: Consecutive tiles along a Hilbert curve are neighbours
+        TileScheduler hilbert = new TileScheduler(64, 64, 8, TileScheduler.Order.HILBERT);
+        assertEquals(64, hilbert.getTilesCount(), "EP02: Wrong amount of tiles");
+        for (int k = 1; k < hilbert.getTilesCount(); k++)
+            assertEquals(8,
+                    Math.abs(hilbert.getTileColumn(k) - hilbert.getTileColumn(k - 1))
+                            + Math.abs(hilbert.getTileRow(k) - hilbert.getTileRow(k - 1)),
+                    "EP02: Tiles " + (k - 1) + " and " + k + " are not neighbours");
+
+        // EP03: Scanline goes along the first row of tiles first
+        TileScheduler scanline = new TileScheduler(30, 30, 10, TileScheduler.Order.SCANLINE);
+        assertEquals(10, scanline.getTileColumn(1), "EP03: Wrong second tile column");
+        assertEquals(0, scanline.getTileRow(1), "EP03: Wrong second tile row");
+    }
+
+    /**
+     * Test method for {@link renderer.TileScheduler#render(int, TileScheduler.PixelRenderer, LongSupplier)}.
+     */
+    @Test
+    void testRenderEvents() throws IOException {
+        TileScheduler scheduler = new TileScheduler(25, 20, 10, TileScheduler.Order.HILBERT);
+        ThreadLocal<long[]> rays = ThreadLocal.withInitial(() -> new long[1]);
+        Path file = Files.createTempFile("render", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("raytracer.RenderTile");
+            recording.start();
+            // Every pixel traces as many rays as its column
+            scheduler.render(2, (j, i) -> rays.get()[0] += j, () -> rays.get()[0]);
+            scheduler.render(1, (j, i) -> {});
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            // ============ Equivalence Partitions Tests ==============
+            // EP01: Every tile of both renders is recorded once, with its pixels and rays
+            assertEquals(2 * scheduler.getTilesCount(), events.size(), "EP01: Wrong amount of tile events");
+            int pixels = 0;
+            for (RecordedEvent event : events) {
+                if (event.getLong("raysTraced") < 0)
+                    continue;
+                int tile = event.getInt("tile");
+                int firstColumn = event.getInt("firstColumn");
+                int lastColumn = event.getInt("lastColumn");
+                int rows = event.getInt("lastRow") - event.getInt("firstRow");
+                assertEquals(scheduler.getTileColumn(tile), firstColumn, "EP01: Wrong first column");
+                assertEquals(scheduler.getTileRow(tile), event.getInt("firstRow"), "EP01: Wrong first row");
+                assertEquals(rows * (firstColumn + lastColumn - 1) * (lastColumn - firstColumn) / 2,
+                        event.getLong("raysTraced"), "EP01: Wrong rays of tile " + tile);
+                pixels += rows * (lastColumn - firstColumn);
+            }
+            assertEquals(25 * 20, pixels, "EP01: Wrong pixels of the tiles");
+
+            // =============== Boundary Values Tests ==================
+            // BVA01: Rays of a render which doesn't count them are unknown
+            assertEquals(scheduler.getTilesCount(),
+                    events.stream().filter(event -> event.getLong("raysTraced") == -1).count(),
+                    "BVA01: Wrong amount of tiles without rays");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}